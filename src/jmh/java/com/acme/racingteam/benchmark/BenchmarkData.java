@@ -0,0 +1,134 @@
+package com.acme.racingteam.benchmark;
+
+import com.acme.racingteam.entity.Driver;
+import com.acme.racingteam.entity.Homebase;
+import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.kunde.entity.Adresse;
+import com.acme.racingteam.kunde.entity.FamilienstandType;
+import com.acme.racingteam.kunde.entity.GeschlechtType;
+import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.kunde.entity.Rechnung;
+import com.acme.racingteam.kunde.repository.KundeBuilder;
+import com.acme.racingteam.kunde.repository.KundeRepository;
+import com.acme.racingteam.repository.TeamRepository;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Locale.GERMANY;
+
+// Testdaten fuer die Benchmarks: Datensatz i ist immer gleich, damit die Ergebnisse vergleichbar sind.
+// Die Datenhaltung ist statisch, d.h. jeder Benchmark ersetzt beim Setup den Bestand vollstaendig.
+public final class BenchmarkData {
+    public static final String[] NACHNAMEN = {
+        "Alpha", "Beta", "Gamma", "Delta", "Epsilon", "Zeta", "Eta", "Theta", "Iota", "Kappa",
+        "Lambda", "Mueller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker", "Schulz",
+    };
+    public static final String[] ORTE = {"Aachen", "Augsburg", "Berlin", "Bremen", "Dresden", "Karlsruhe", "Koeln"};
+    public static final String[] LAENDER = {"Austria", "Germany", "Italy", "Switzerland", "United Kingdom"};
+    private static final int BATCH_SIZE = 10_000;
+    private static final Currency EUR = Currency.getInstance(GERMANY);
+
+    private BenchmarkData() {
+    }
+
+    public static TeamRepository teamRepository() {
+        return newInstance(TeamRepository.class);
+    }
+
+    public static KundeRepository kundeRepository() {
+        return newInstance(KundeRepository.class);
+    }
+
+    public static Team team(final int i) {
+        return new Team(
+            null,
+            "Team " + i,
+            NACHNAMEN[i % NACHNAMEN.length] + ' ' + NACHNAMEN[i / NACHNAMEN.length % NACHNAMEN.length],
+            new Homebase(ORTE[i % ORTE.length], LAENDER[i % LAENDER.length]),
+            List.of(new Driver("Fahrer " + (2 * i), 20 + i % 20), new Driver("Fahrer " + (2 * i + 1), 20 + i % 17))
+        );
+    }
+
+    @SuppressWarnings("MagicNumber")
+    public static Kunde kunde(final int i) {
+        final var geschlechter = GeschlechtType.values();
+        final var interessen = InteresseType.values();
+        return KundeBuilder.getBuilder()
+            .setNachname(NACHNAMEN[i % NACHNAMEN.length])
+            .setEmail("kunde" + i + "@acme.de")
+            .setKategorie(i % 10)
+            .setHasNewsletter(i % 2 == 0)
+            .setGeburtsdatum(LocalDate.of(1950, 1, 1).plusDays(i % 20_000))
+            .setHomepage(url("https://www.acme.de/" + i))
+            .setGeschlecht(geschlechter[i % geschlechter.length])
+            .setFamilienstand(FamilienstandType.values()[i % FamilienstandType.values().length])
+            .setAdresse(new Adresse(String.format("%05d", i % 100_000), ORTE[i % ORTE.length]))
+            .setRechnungen(new ArrayList<>(List.of(new Rechnung(BigDecimal.valueOf(i % 1_000), EUR))))
+            // unabhaengig vom Geschlecht, damit kombinierte Suchkriterien Treffer haben
+            .setInteressen(new ArrayList<>(List.of(interessen[i / geschlechter.length % interessen.length])))
+            .build();
+    }
+
+    // vorhandene Teams loeschen und size Teams anlegen; Rueckgabe: die IDs in der Reihenfolge von i
+    public static UUID[] fillTeams(final TeamRepository repo, final int size) {
+        repo.streamAll().map(Team::getId).toList().forEach(repo::deleteById);
+        final var ids = new UUID[size];
+        for (var i = 0; i < size; i++) {
+            final var team = repo.create(team(i));
+            if (team == null) {
+                throw new IllegalStateException("Team " + i + " existiert bereits");
+            }
+            ids[i] = team.getId();
+        }
+        return ids;
+    }
+
+    // vorhandene Kunden loeschen und size Kunden in Batches anlegen; Rueckgabe: die IDs in der Reihenfolge von i
+    public static UUID[] fillKunden(final KundeRepository repo, final int size) {
+        repo.streamAll().map(Kunde::getId).toList().forEach(repo::deleteById);
+        final var ids = new UUID[size];
+        for (var start = 0; start < size; start += BATCH_SIZE) {
+            final var end = Math.min(start + BATCH_SIZE, size);
+            final List<Kunde> batch = new ArrayList<>(end - start);
+            for (var i = start; i < end; i++) {
+                batch.add(kunde(i));
+            }
+            final var results = repo.createAll(batch);
+            for (var i = start; i < end; i++) {
+                if (results.get(i - start) != KundeRepository.BatchResult.CREATED) {
+                    throw new IllegalStateException("Kunde " + i + ": " + results.get(i - start));
+                }
+                ids[i] = batch.get(i - start).getId();
+            }
+        }
+        return ids;
+    }
+
+    private static <T> T newInstance(final Class<T> clazz) {
+        final var constructor = clazz.getDeclaredConstructors()[0];
+        constructor.setAccessible(true);
+        try {
+            return clazz.cast(constructor.newInstance());
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static URL url(final String url) {
+        try {
+            return URI.create(url).toURL();
+        } catch (final MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.acme.racingteam.controller;
+
+import com.acme.racingteam.entity.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// der von MapStruct generierte TeamMapper, jeweils mit 1 und 4 Threads
+// ./mvnw -P jmh test-compile exec:exec -D'jmh.args=TeamMapperBenchmark'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class TeamMapperBenchmark {
+    private final TeamMapper mapper = new TeamMapperImpl();
+    private final TeamDTO dto = new TeamDTO(
+        "Benchmark Racing",
+        "Alpha Beta",
+        new HomebaseDTO("Karlsruhe", "Germany"),
+        List.of(new DriverDTO("Fahrer 1", 21), new DriverDTO("Fahrer 2", 22))
+    );
+
+    @Benchmark
+    public Team toTeam() {
+        return mapper.toTeam(dto);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Team toTeamThreads() {
+        return mapper.toTeam(dto);
+    }
+}
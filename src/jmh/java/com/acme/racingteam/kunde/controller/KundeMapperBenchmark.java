@@ -0,0 +1,67 @@
+package com.acme.racingteam.kunde.controller;
+
+import com.acme.racingteam.kunde.entity.FamilienstandType;
+import com.acme.racingteam.kunde.entity.GeschlechtType;
+import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Kunde;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Locale.GERMANY;
+
+// der von MapStruct generierte KundeMapper, jeweils mit 1 und 4 Threads
+// ./mvnw -P jmh test-compile exec:exec -D'jmh.args=KundeMapperBenchmark'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class KundeMapperBenchmark {
+    private final KundeMapper mapper = new KundeMapperImpl();
+    private final KundeDTO dto;
+
+    public KundeMapperBenchmark() throws MalformedURLException {
+        final var eur = Currency.getInstance(GERMANY);
+        dto = new KundeDTO(
+            "Benchmark",
+            "benchmark@acme.de",
+            1,
+            true,
+            LocalDate.of(2000, 1, 1),
+            URI.create("https://www.acme.de").toURL(),
+            GeschlechtType.WEIBLICH,
+            FamilienstandType.LEDIG,
+            new AdresseDTO("76133", "Karlsruhe"),
+            List.of(new RechnungDTO(BigDecimal.TEN, eur), new RechnungDTO(BigDecimal.ONE, eur)),
+            List.of(InteresseType.SPORT, InteresseType.LESEN)
+        );
+    }
+
+    @Benchmark
+    public Kunde toKunde() {
+        return mapper.toKunde(dto);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Kunde toKundeThreads() {
+        return mapper.toKunde(dto);
+    }
+}
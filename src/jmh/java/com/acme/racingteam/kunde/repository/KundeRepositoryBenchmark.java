@@ -0,0 +1,103 @@
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.benchmark.BenchmarkData;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.store.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Lesezugriffe auf KundeRepository mit 1k bis 1M Kunden, jeweils mit 1 und 4 Threads
+// ./mvnw -P jmh test-compile exec:exec -D'jmh.args=KundeRepositoryBenchmark -p size=1000'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx8g"})
+public class KundeRepositoryBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final int LIMIT = 10;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private KundeRepository repo;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        repo = BenchmarkData.kundeRepository();
+        ids = BenchmarkData.fillKunden(repo, size);
+    }
+
+    @Benchmark
+    public Kunde findById() {
+        return repo.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Kunde findByIdThreads() {
+        return repo.findById(randomId());
+    }
+
+    // Teilstring im Nachnamen, erste Seite
+    @Benchmark
+    public Page<Kunde> findByNachname() {
+        return repo.find(Map.of("nachname", List.of(randomNachname())), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Page<Kunde> findByNachnameThreads() {
+        return repo.find(Map.of("nachname", List.of(randomNachname())), null, PAGE_SIZE);
+    }
+
+    // Kombination aus Bitmap-Index (Interesse) und Enum-Index (Geschlecht)
+    @Benchmark
+    public Page<Kunde> findByInteresseGeschlecht() {
+        return repo.find(Map.of("interesse", List.of("S"), "geschlecht", List.of("W")), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<Kunde> findByEmail() {
+        final var email = "kunde" + ThreadLocalRandom.current().nextInt(size) + "@acme.de";
+        return repo.find(Map.of("email", List.of(email)), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Collection<String> findNachnamenByPrefix() {
+        return repo.findNachnamenByPrefix(randomNachname().substring(0, 1), LIMIT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Collection<String> findNachnamenByPrefixThreads() {
+        return repo.findNachnamenByPrefix(randomNachname().substring(0, 1), LIMIT);
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    private static String randomNachname() {
+        return BenchmarkData.NACHNAMEN[ThreadLocalRandom.current().nextInt(BenchmarkData.NACHNAMEN.length)];
+    }
+}
@@ -0,0 +1,122 @@
+package com.acme.racingteam.kunde.repository;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.acme.racingteam.benchmark.BenchmarkData;
+import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.repository.TeamRepository;
+import com.acme.racingteam.store.Page;
+import com.acme.racingteam.store.Versioned;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.acme.racingteam.kunde.repository.MockDB.KUNDEN;
+import static org.slf4j.Logger.ROOT_LOGGER_NAME;
+
+// Allokationen durch Logging in den Repositorys bei Log-Level INFO bzw. DEBUG, nur mit dem GC-Profiler aussagekraeftig:
+// ./mvnw -P jmh test-compile exec:exec -D'jmh.args=LoggingBenchmark -prof gc'
+// level=OFF ist die Baseline ohne Logging fuer jeden Benchmark, d.h. gleicher Aufruf mit Metriken und JFR-Event.
+// Erwartung fuer gc.alloc.rate.norm (Bytes pro Aufruf):
+// - level=INFO: bei jedem Benchmark gleich level=OFF, d.h. keine Allokation durch Logging, auch kein Boxing
+// - level=DEBUG: die Differenz zu OFF sind LoggingEvent, Varargs-Array und geboxte Argumente
+// - streamAll: gegenueber streamAllBaseline nur die zusaetzliche Stufe fuer die Kopien der Kunden
+// Die Appender werden entfernt, damit bei DEBUG nur die Log-Aufrufe selbst und nicht die Ausgabe gemessen werden.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx2g"})
+public class LoggingBenchmark {
+    private static final int SIZE = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int LIMIT = 10;
+
+    @Param({"OFF", "INFO", "DEBUG"})
+    private String level;
+
+    private KundeRepository kundeRepo;
+    private TeamRepository teamRepo;
+    private UUID[] kundeIds;
+    private UUID[] teamIds;
+
+    @Setup
+    public void setUp() {
+        final var root = (Logger) LoggerFactory.getLogger(ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(Level.toLevel(level));
+
+        kundeRepo = BenchmarkData.kundeRepository();
+        kundeIds = BenchmarkData.fillKunden(kundeRepo, SIZE);
+        teamRepo = BenchmarkData.teamRepository();
+        teamIds = BenchmarkData.fillTeams(teamRepo, SIZE);
+    }
+
+    // ohne Metriken und JFR-Event, daher direkt vergleichbar mit dem Stream der Datenhaltung
+    @Benchmark
+    public Stream<Kunde> streamAll() {
+        return kundeRepo.streamAll();
+    }
+
+    @Benchmark
+    public Stream<Kunde> streamAllBaseline() {
+        return KUNDEN.stream();
+    }
+
+    @Benchmark
+    public Kunde findById() {
+        return kundeRepo.findById(kundeIds[randomIndex()]);
+    }
+
+    @Benchmark
+    public Page<Kunde> findByNachname() {
+        final var nachname = BenchmarkData.NACHNAMEN[randomIndex() % BenchmarkData.NACHNAMEN.length];
+        return kundeRepo.find(Map.of("nachname", List.of(nachname)), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Collection<String> findNachnamenByPrefix() {
+        return kundeRepo.findNachnamenByPrefix("M", LIMIT);
+    }
+
+    // unveraenderte Emailadresse, d.h. kein Umtragen im eindeutigen Index
+    @Benchmark
+    public KundeRepository.UpdateResult updateKunde() {
+        final var i = randomIndex();
+        final var kunde = BenchmarkData.kunde(i);
+        kunde.setId(kundeIds[i]);
+        return kundeRepo.update(kunde, Versioned.ANY);
+    }
+
+    // unveraenderter Name; frueher wurde bei DEBUG das ganze Team mit Fahrern und Homebase protokolliert
+    @Benchmark
+    public TeamRepository.UpdateResult updateTeam() {
+        final var i = randomIndex();
+        final Team team = BenchmarkData.team(i);
+        team.setId(teamIds[i]);
+        return teamRepo.update(team, Versioned.ANY);
+    }
+
+    private static int randomIndex() {
+        return ThreadLocalRandom.current().nextInt(SIZE);
+    }
+}
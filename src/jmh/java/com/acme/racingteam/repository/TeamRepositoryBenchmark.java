@@ -0,0 +1,88 @@
+package com.acme.racingteam.repository;
+
+import com.acme.racingteam.benchmark.BenchmarkData;
+import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.store.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Lesezugriffe auf TeamRepository mit 10 bis 1M Teams, jeweils mit 1 und 4 Threads
+// ./mvnw -P jmh test-compile exec:exec -D'jmh.args=TeamRepositoryBenchmark -p size=1000'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx8g"})
+public class TeamRepositoryBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private TeamRepository repo;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        repo = BenchmarkData.teamRepository();
+        ids = BenchmarkData.fillTeams(repo, size);
+    }
+
+    @Benchmark
+    public Team findById() {
+        return repo.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Team findByIdThreads() {
+        return repo.findById(randomId());
+    }
+
+    // Teilstring im Namen ueber den Trigramm-Index, erste Seite
+    @Benchmark
+    public Page<Team> findByName() {
+        return repo.find(Map.of("name", randomName()), null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Page<Team> findByNameThreads() {
+        return repo.find(Map.of("name", randomName()), null, PAGE_SIZE);
+    }
+
+    // Keyset Pagination ohne Suchkriterien ab einer zufaelligen ID
+    @Benchmark
+    public Page<Team> findPage() {
+        return repo.find(Map.of(), randomId(), PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Team findVersionedById() {
+        return repo.findVersionedById(randomId()).value();
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    private String randomName() {
+        return "Team " + ThreadLocalRandom.current().nextInt(size);
+    }
+}
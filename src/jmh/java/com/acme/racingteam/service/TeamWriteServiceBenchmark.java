@@ -0,0 +1,75 @@
+package com.acme.racingteam.service;
+
+import com.acme.racingteam.benchmark.BenchmarkData;
+import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.repository.TeamRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Neuanlegen von Teams bei 1k bis 1M vorhandenen Teams, jeweils mit 1 und 4 Threads.
+// Die neuen Teams werden nach jeder Iteration geloescht, damit der Bestand nicht waechst.
+// ./mvnw -P jmh test-compile exec:exec -D'jmh.args=TeamWriteServiceBenchmark -p size=1000'
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx8g"})
+public class TeamWriteServiceBenchmark {
+    private static final String PREFIX = "Neu ";
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private TeamRepository repo;
+    private TeamWriteService service;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        repo = BenchmarkData.teamRepository();
+        BenchmarkData.fillTeams(repo, size);
+        service = new TeamWriteService(repo);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteCreated() {
+        repo.streamAll()
+            .filter(team -> team.getName().startsWith(PREFIX))
+            .map(Team::getId)
+            .toList()
+            .forEach(repo::deleteById);
+    }
+
+    @Benchmark
+    public Team create() {
+        return service.create(newTeam());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Team createThreads() {
+        return service.create(newTeam());
+    }
+
+    private Team newTeam() {
+        final var team = BenchmarkData.team(0);
+        team.setName(PREFIX + counter.incrementAndGet());
+        return team;
+    }
+}
@@ -0,0 +1,150 @@
+package com.acme.racingteam.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/// Lastgenerator nach dem _offenen Modell_: Jedes Szenario startet seine Aufrufe mit konstanter Rate, unabhaengig
+/// davon, wie schnell der Server antwortet. Jeder Aufruf laeuft in einem eigenen virtuellen Thread.
+///
+/// Die Antwortzeit wird ab dem _geplanten_ Startzeitpunkt gemessen. Staut sich die Last, gehen die Wartezeiten damit
+/// in die Perzentile ein, statt wie bei einem geschlossenen Modell unterschlagen zu werden (_Coordinated Omission_).
+/// Die Servicezeit ab dem tatsaechlichen Senden wird zusaetzlich erfasst.
+final class LoadGenerator {
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+    private static final int SIGNIFICANT_DIGITS = 3;
+    // Statuscode fuer Aufrufe, die mit einer Exception abgebrochen wurden
+    static final int FAILED = 0;
+
+    private final Duration warmup;
+    private final Duration duration;
+
+    /// @param warmup Dauer der Aufwaermphase, deren Messwerte verworfen werden.
+    /// @param duration Dauer der Messphase.
+    LoadGenerator(final Duration warmup, final Duration duration) {
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    /// Alle Szenarien gleichzeitig ausfuehren.
+    ///
+    /// @param scenarios Die Szenarien.
+    /// @return Die Messwerte pro Szenario in derselben Reihenfolge.
+    List<Result> run(final List<Scenario> scenarios) {
+        final var stats = scenarios.stream().map(Stats::new).toList();
+        final var start = System.nanoTime();
+        final var measureFrom = start + warmup.toNanos();
+        final var end = measureFrom + duration.toNanos();
+
+        // erst warten, bis alle Aufrufe geplant sind, dann bis alle Responses da sind
+        try (var requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            try (var drivers = Executors.newVirtualThreadPerTaskExecutor()) {
+                stats.forEach(s -> drivers.submit(() -> drive(s, start, measureFrom, end, requests)));
+            }
+        }
+        final var seconds = (double) duration.toNanos() / NANOS_PER_SECOND;
+        return stats.stream().map(s -> s.result(seconds)).toList();
+    }
+
+    private static void drive(
+        final Stats stats,
+        final long start,
+        final long measureFrom,
+        final long end,
+        final ExecutorService requests
+    ) {
+        final var interval = NANOS_PER_SECOND / stats.scenario.rate();
+        for (long i = 0; ; i++) {
+            final var intended = start + i * interval;
+            if (intended >= end) {
+                return;
+            }
+            final var delay = intended - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            final var n = i;
+            final var measured = intended >= measureFrom;
+            requests.submit(() -> stats.call(n, intended, measured));
+        }
+    }
+
+    /// Messwerte eines Szenarios.
+    ///
+    /// @param scenario Das Szenario.
+    /// @param throughput Abgeschlossene Aufrufe pro Sekunde in der Messphase.
+    /// @param statuses Anzahl der Aufrufe pro Statuscode; `0` fuer abgebrochene Aufrufe.
+    /// @param responseTime Antwortzeiten in Nanosekunden ab dem geplanten Start.
+    /// @param serviceTime Antwortzeiten in Nanosekunden ab dem tatsaechlichen Senden.
+    record Result(
+        Scenario scenario,
+        double throughput,
+        Map<Integer, Long> statuses,
+        Histogram responseTime,
+        Histogram serviceTime
+    ) {
+        /// @return Anzahl der abgebrochenen Aufrufe und der Aufrufe mit Statuscode `5xx`.
+        long errors() {
+            return statuses.entrySet()
+                .stream()
+                .filter(e -> e.getKey() == FAILED || e.getKey() >= 500)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        }
+    }
+
+    private static final class Stats {
+        private final Scenario scenario;
+        // Recorder: wartefreies Aufzeichnen aus beliebig vielen Threads
+        private final Recorder responseTime = new Recorder(SIGNIFICANT_DIGITS);
+        private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        Stats(final Scenario scenario) {
+            this.scenario = scenario;
+        }
+
+        void call(final long i, final long intended, final boolean measured) {
+            final var sent = System.nanoTime();
+            int status;
+            try {
+                status = scenario.action().call(i);
+            } catch (final IOException | RuntimeException _) {
+                status = FAILED;
+            } catch (final InterruptedException _) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!measured) {
+                return;
+            }
+            final var done = System.nanoTime();
+            responseTime.recordValue(done - intended);
+            serviceTime.recordValue(done - sent);
+            statuses.computeIfAbsent(status, _ -> new LongAdder()).increment();
+        }
+
+        Result result(final double seconds) {
+            final Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            final var histogram = responseTime.getIntervalHistogram();
+            return new Result(
+                scenario,
+                histogram.getTotalCount() / seconds,
+                counts,
+                histogram,
+                serviceTime.getIntervalHistogram()
+            );
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.acme.racingteam.loadtest;
+
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/// Bericht eines Lasttests im Verzeichnis `target/loadtest` (bzw. `-Dloadtest.report-dir=...`):
+/// - `report.json` zum Vergleichen zweier Branches, z.B. mit `jq` oder `diff`
+/// - `report.html` als Tabelle fuer den Browser
+/// - `<szenario>.hgrm` mit der vollstaendigen Verteilung der Antwortzeiten fuer den HdrHistogram-Plotter
+///   https://hdrhistogram.github.io/HdrHistogram/plotFiles.html
+final class LoadReport {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final Map<String, Double> PERCENTILES = percentiles();
+    private static final int PERCENTILE_TICKS = 5;
+
+    private LoadReport() {
+    }
+
+    /// Den Bericht schreiben.
+    ///
+    /// @param directory Zielverzeichnis.
+    /// @param label Bezeichnung des Laufs, z.B. der Name des Branches.
+    /// @param duration Dauer der Messphase.
+    /// @param results Die Messwerte pro Szenario.
+    static void write(
+        final Path directory,
+        final String label,
+        final Duration duration,
+        final List<LoadGenerator.Result> results
+    ) throws IOException {
+        Files.createDirectories(directory);
+        final var report = new Report(
+            label,
+            Instant.now().toString(),
+            duration.toSeconds(),
+            results.stream().map(LoadReport::summary).toList()
+        );
+        JsonMapper.builder()
+            .build()
+            .writerWithDefaultPrettyPrinter()
+            .writeValue(directory.resolve("report.json").toFile(), report);
+        Files.writeString(directory.resolve("report.html"), html(report));
+        for (final var result : results) {
+            final var file = directory.resolve(result.scenario().name() + ".hgrm");
+            try (var out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                // Ausgabe in Millisekunden
+                result.responseTime().outputPercentileDistribution(out, PERCENTILE_TICKS, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    private static Summary summary(final LoadGenerator.Result result) {
+        final var statuses = result.statuses()
+            .entrySet()
+            .stream()
+            .collect(Collectors.toMap(
+                e -> e.getKey() == LoadGenerator.FAILED ? "failed" : e.getKey().toString(),
+                Map.Entry::getValue,
+                Long::sum,
+                LinkedHashMap::new
+            ));
+        return new Summary(
+            result.scenario().name(),
+            result.scenario().rate(),
+            Math.round(result.throughput() * 10) / 10.0,
+            result.responseTime().getTotalCount(),
+            result.errors(),
+            statuses,
+            millis(result.responseTime()),
+            millis(result.serviceTime())
+        );
+    }
+
+    // Perzentile in Millisekunden mit 3 Nachkommastellen
+    private static Map<String, Double> millis(final Histogram histogram) {
+        final Map<String, Double> millis = new LinkedHashMap<>();
+        PERCENTILES.forEach((name, percentile) -> {
+            final var nanos = percentile > 100
+                ? histogram.getMaxValue()
+                : histogram.getValueAtPercentile(percentile);
+            millis.put(name, Math.round(nanos / 1_000.0) / 1_000.0);
+        });
+        return millis;
+    }
+
+    @SuppressWarnings("MagicNumber")
+    private static Map<String, Double> percentiles() {
+        final Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", 50.0);
+        percentiles.put("p90", 90.0);
+        percentiles.put("p99", 99.0);
+        percentiles.put("p99.9", 99.9);
+        percentiles.put("p99.99", 99.99);
+        // groesser als 100: Maximum
+        percentiles.put("max", 101.0);
+        return percentiles;
+    }
+
+    private static String html(final Report report) {
+        final var header = PERCENTILES.keySet()
+            .stream()
+            .map(name -> "<th>" + name + "</th>")
+            .collect(Collectors.joining());
+        final var rows = report.scenarios()
+            .stream()
+            .map(s -> String.format(
+                Locale.ROOT,
+                "<tr><td>%s</td><td>%d</td><td>%.1f</td><td>%d</td><td class=\"%s\">%d</td><td>%s</td>%s</tr>",
+                s.name(),
+                s.rate(),
+                s.throughput(),
+                s.requests(),
+                s.errors() == 0 ? "ok" : "error",
+                s.errors(),
+                s.statuses(),
+                s.responseTimeMillis()
+                    .values()
+                    .stream()
+                    .map(v -> String.format(Locale.ROOT, "<td>%.3f</td>", v))
+                    .collect(Collectors.joining())
+            ))
+            .collect(Collectors.joining("\n"));
+        return """
+            <!DOCTYPE html>
+            <html lang="de">
+            <head>
+            <meta charset="UTF-8">
+            <title>Lasttest %1$s</title>
+            <style>
+            body { font-family: sans-serif; }
+            table { border-collapse: collapse; }
+            th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }
+            td:first-child { text-align: left; }
+            .error { color: #c00; font-weight: bold; }
+            </style>
+            </head>
+            <body>
+            <h1>Lasttest %1$s</h1>
+            <p>%2$s, Messphase %3$d s, Antwortzeiten in ms ab dem geplanten Start</p>
+            <table>
+            <tr><th>Szenario</th><th>Rate/s</th><th>Durchsatz/s</th><th>Requests</th><th>Fehler</th>\
+            <th>Statuscodes</th>%4$s</tr>
+            %5$s
+            </table>
+            </body>
+            </html>
+            """.formatted(report.label(), report.timestamp(), report.durationSeconds(), header, rows);
+    }
+
+    /// Inhalt von `report.json`.
+    ///
+    /// @param label Bezeichnung des Laufs.
+    /// @param timestamp Zeitpunkt des Berichts.
+    /// @param durationSeconds Dauer der Messphase in Sekunden.
+    /// @param scenarios Messwerte pro Szenario.
+    record Report(String label, String timestamp, long durationSeconds, List<Summary> scenarios) {
+    }
+
+    /// Messwerte eines Szenarios in `report.json`.
+    ///
+    /// @param name Name des Szenarios.
+    /// @param rate Geplante Aufrufe pro Sekunde.
+    /// @param throughput Abgeschlossene Aufrufe pro Sekunde.
+    /// @param requests Anzahl der Aufrufe in der Messphase.
+    /// @param errors Abgebrochene Aufrufe und Statuscodes `5xx`.
+    /// @param statuses Anzahl der Aufrufe pro Statuscode.
+    /// @param responseTimeMillis Perzentile der Antwortzeit ab dem geplanten Start.
+    /// @param serviceTimeMillis Perzentile der Antwortzeit ab dem tatsaechlichen Senden.
+    record Summary(
+        String name,
+        int rate,
+        double throughput,
+        long requests,
+        long errors,
+        Map<String, Long> statuses,
+        Map<String, Double> responseTimeMillis,
+        Map<String, Double> serviceTimeMillis
+    ) {
+    }
+}
@@ -0,0 +1,233 @@
+package com.acme.racingteam.loadtest;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+// Lasttest gegen die laufende Anwendung, siehe Profil "loadtest" in pom.xml:
+// ./mvnw -P loadtest test -D'loadtest.rate=200' -D'loadtest.label=main'
+// Die Anwendung laeuft ohne TLS, damit die Messwerte nicht vom Handshake des selbst-signierten Zertifikats abhaengen.
+@Tag("loadtest")
+@DisplayName("Lasttest fuer die REST-Schnittstellen /teams und /api")
+@SpringBootTest(
+    webEnvironment = RANDOM_PORT,
+    properties = {
+        "server.ssl.enabled=false",
+        "app.generator.enabled=true",
+        "app.generator.teams=${loadtest.teams:1000}",
+        "app.generator.kunden=${loadtest.kunden:100000}"
+    }
+)
+@ExtendWith(SoftAssertionsExtension.class)
+class LoadTest {
+
+    private static final String X_VERSION = "X-Version";
+    private static final String VERSION = "1.0.0";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String JSON = "application/json";
+    private static final String IF_MATCH = "If-Match";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final List<String> TEAM_NAMEN = List.of("Apex", "Nova", "Racing", "Vector");
+    private static final List<String> NACHNAMEN = List.of("Müller", "Koch", "Huber", "Zimmermann");
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 50);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration", 30));
+    private static final int ENTITIES = Integer.getInteger("loadtest.entities", 100);
+    private static final Pattern SCENARIOS = Pattern.compile(System.getProperty("loadtest.scenarios", ".*"));
+    private static final String LABEL = System.getProperty("loadtest.label", "local");
+    private static final Path REPORT_DIR = Path.of(System.getProperty("loadtest.report-dir", "target/loadtest"));
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(TIMEOUT)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    // in der Vorbereitung angelegte Datensaetze fuer GET und PUT; Name bzw. Email ergibt sich aus dem Index
+    private final List<UUID> teamIds = new ArrayList<>();
+    private final List<UUID> kundeIds = new ArrayList<>();
+
+    @BeforeEach
+    void anlegen() throws IOException, InterruptedException {
+        for (int i = 0; i < ENTITIES; i++) {
+            teamIds.add(created(send(post("/teams", team("Lasttest " + i, 0)))));
+            kundeIds.add(created(send(post("/api", kunde("lasttest." + i, 0)).header(X_VERSION, VERSION))));
+        }
+    }
+
+    @Test
+    @DisplayName("Konstante Last auf GET, Suche, POST und PUT")
+    void last() throws IOException {
+        // arrange
+        final var scenarios = scenarios().stream()
+            .filter(scenario -> SCENARIOS.matcher(scenario.name()).matches())
+            .toList();
+
+        // act
+        final var results = new LoadGenerator(WARMUP, DURATION).run(scenarios);
+        LoadReport.write(REPORT_DIR, LABEL, DURATION, results);
+
+        // assert
+        results.forEach(result -> {
+            softly.assertThat(result.responseTime().getTotalCount())
+                .as(result.scenario().name())
+                .isPositive();
+            softly.assertThat(result.errors())
+                .as(result.scenario().name() + ": " + result.statuses())
+                .isZero();
+        });
+    }
+
+    private List<Scenario> scenarios() {
+        return List.of(
+            new Scenario("team-get", RATE, i -> status(get("/teams/" + teamId(i)))),
+            new Scenario("team-search", RATE, i -> status(get("/teams?name=" + pick(TEAM_NAMEN, i)))),
+            new Scenario("team-post", RATE, i -> status(post("/teams", team("Lastpost " + i, i)))),
+            new Scenario("team-put", RATE, i -> {
+                final var n = index(teamIds, i);
+                return status(put("/teams/" + teamIds.get(n), team("Lasttest " + n, i)));
+            }),
+            // Lesen und Aendern mit Versionsnummer: 412, falls ein anderes Szenario dazwischen geaendert hat
+            new Scenario("team-put-if-match", RATE, i -> {
+                final var n = index(teamIds, i);
+                final var path = "/teams/" + teamIds.get(n);
+                final var eTag = eTag(send(get(path)));
+                return status(put(path, team("Lasttest " + n, i)).header(IF_MATCH, eTag));
+            }),
+            new Scenario("kunde-get", RATE, i -> status(get("/api/" + kundeId(i)).header(X_VERSION, VERSION))),
+            new Scenario("kunde-search", RATE, i -> status(
+                get("/api?nachname=" + URLEncoder.encode(pick(NACHNAMEN, i), StandardCharsets.UTF_8))
+                    .header(X_VERSION, VERSION)
+            )),
+            new Scenario("kunde-post", RATE, i -> status(
+                post("/api", kunde("lastpost." + i, i)).header(X_VERSION, VERSION)
+            )),
+            // ohne Header X-Version: Default-Version aus application.yml
+            new Scenario("kunde-put", RATE, i -> {
+                final var n = index(kundeIds, i);
+                return status(put("/api/" + kundeIds.get(n), kunde("lasttest." + n, i)));
+            }),
+            new Scenario("kunde-put-x-version", RATE, i -> {
+                final var n = index(kundeIds, i);
+                return status(put("/api/" + kundeIds.get(n), kunde("lasttest." + n, i)).header(X_VERSION, VERSION));
+            }),
+            new Scenario("kunde-put-if-match", RATE, i -> {
+                final var n = index(kundeIds, i);
+                final var path = "/api/" + kundeIds.get(n);
+                final var eTag = eTag(send(get(path).header(X_VERSION, VERSION)));
+                return status(put(path, kunde("lasttest." + n, i)).header(X_VERSION, VERSION).header(IF_MATCH, eTag));
+            })
+        );
+    }
+
+    private UUID teamId(final long i) {
+        return teamIds.get(index(teamIds, i));
+    }
+
+    private UUID kundeId(final long i) {
+        return kundeIds.get(index(kundeIds, i));
+    }
+
+    private static int index(final List<?> list, final long i) {
+        return (int) (i % list.size());
+    }
+
+    private static String pick(final List<String> values, final long i) {
+        return values.get(index(values, i));
+    }
+
+    private HttpRequest.Builder get(final String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder post(final String path, final String body) {
+        return request(path).header(CONTENT_TYPE, JSON).POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest.Builder put(final String path, final String body) {
+        return request(path).header(CONTENT_TYPE, JSON).PUT(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest.Builder request(final String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(TIMEOUT);
+    }
+
+    private HttpResponse<Void> send(final HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private int status(final HttpRequest.Builder request) throws IOException, InterruptedException {
+        return send(request).statusCode();
+    }
+
+    private static UUID created(final HttpResponse<Void> response) {
+        final var location = response.headers()
+            .firstValue("Location")
+            .orElseThrow(() -> new IllegalStateException("Status " + response.statusCode() + " ohne Location"));
+        return UUID.fromString(location.substring(location.lastIndexOf('/') + 1));
+    }
+
+    private static String eTag(final HttpResponse<Void> response) {
+        return response.headers().firstValue("ETag").orElse("*");
+    }
+
+    private static String team(final String name, final long i) {
+        return """
+            {
+              "name": "%s",
+              "teamPrincipal": "Principal %d",
+              "homebase": { "location": "Karlsruhe", "country": "Germany" },
+              "drivers": [ { "name": "Driver %d", "age": %d } ]
+            }
+            """.formatted(name, i, i, 18 + i % 20);
+    }
+
+    private static String kunde(final String email, final long i) {
+        return """
+            {
+              "nachname": "Lasttest",
+              "email": "%s@acme.de",
+              "kategorie": %d,
+              "hasNewsletter": true,
+              "geburtsdatum": "1990-01-01",
+              "geschlecht": "W",
+              "familienstand": "L",
+              "adresse": { "plz": "76133", "ort": "Karlsruhe" },
+              "rechnungen": [ { "betrag": "%d.50", "waehrung": "EUR" } ],
+              "interessen": [ "S", "R" ]
+            }
+            """.formatted(email, i % 10, i % 1000);
+    }
+}
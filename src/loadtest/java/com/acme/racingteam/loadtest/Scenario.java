@@ -0,0 +1,18 @@
+package com.acme.racingteam.loadtest;
+
+import java.io.IOException;
+
+/// Ein Szenario des Lasttests: eine Aktion, die mit konstanter Rate gestartet wird.
+///
+/// @param name Name des Szenarios, z.B. `team-get`.
+/// @param rate Anzahl der Aufrufe pro Sekunde.
+/// @param action Die Aktion, typischerweise ein HTTP-Request.
+record Scenario(String name, int rate, Action action) {
+    /// Eine Aktion mit laufender Nummer, z.B. fuer eindeutige Namen beim Neuanlegen.
+    @FunctionalInterface
+    interface Action {
+        /// @param i Laufende Nummer des Aufrufs innerhalb des Szenarios.
+        /// @return Statuscode der (letzten) HTTP-Response.
+        int call(long i) throws IOException, InterruptedException;
+    }
+}
@@ -20,6 +20,7 @@ import com.acme.racingteam.config.DevConfig;
 import com.acme.racingteam.config.WebConfig;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.ImportRuntimeHints;
 import static com.acme.racingteam.Banner.TEXT;
@@ -29,6 +30,7 @@ import static com.acme.racingteam.Banner.TEXT;
 /// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
 @SpringBootApplication(proxyBeanMethods = false)
 @Import({WebConfig.class, DevConfig.class})
+@ConfigurationPropertiesScan
 @SuppressWarnings({"ImplicitSubclassInspection", "ClassUnconnectedToPackage"})
 public final class Application {
     private Application() {
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/// Konfiguration für die Batch-Verarbeitung mehrerer Datensätze in einem Request, d.h. `POST /api/batch` für Kunden
+/// und `POST /teams/batch` für Teams.
+///
+/// @param maxSize Maximale Anzahl der Datensätze in einem Request-Body. Bei mehr Datensätzen wird das Lesen
+/// abgebrochen und mit `413` geantwortet, ohne dass Datensätze geschrieben werden.
+/// @param parallelism Anzahl der Threads, mit denen die Datensätze eines Request-Body bei den Kunden validiert werden.
+/// Die Threads werden von allen Requests gemeinsam genutzt, so dass die Validierung nicht mit dem _Common Pool_
+/// konkurriert.
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@ConfigurationProperties("app.batch")
+public record BatchProperties(@DefaultValue("1000") int maxSize, @DefaultValue("4") int parallelism) {
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/// Konfiguration für die Event-Streams mit den Änderungen an Teams und Kunden, d.h. `/teams/changes` und
+/// `/api/changes`.
+///
+/// @param heartbeat Maximale Zeit ohne gesendete Daten, danach wird ein Kommentar gesendet.
+/// @param maxDuration Maximale Dauer eines Streams, danach verbindet sich der Client mit `Last-Event-ID` neu. Muss
+/// kürzer als `spring.mvc.async.request-timeout` sein.
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@ConfigurationProperties("app.changes")
+public record ChangeFeedProperties(
+    @DefaultValue("15s") Duration heartbeat,
+    @DefaultValue("5m") Duration maxDuration
+) {
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/// Konfiguration für die spaltenorientierte Kopie der Kunden in einer per `mmap` eingeblendeten Datei.
+///
+/// @param enabled true, um Suchanfragen über die spaltenorientierte Kopie auszuführen.
+/// @param file Die Datei für die Kopie.
+/// @param refreshInterval Intervall, in dem geprüft wird, ob die Kopie neu geschrieben wird.
+/// @param maxChanges Anzahl der seit dem Schreiben geänderten Kunden, ab der die Kopie neu geschrieben wird. Bis dahin
+/// werden die geänderten Kunden bei einer Suche vom Heap gelesen.
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@ConfigurationProperties("app.columns")
+public record ColumnStoreProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("./data/kunden.columns") Path file,
+    @DefaultValue("1s") Duration refreshInterval,
+    @DefaultValue("1000") int maxChanges
+) {
+}
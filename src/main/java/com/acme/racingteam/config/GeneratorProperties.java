@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/// Konfiguration für synthetische Testdaten, die beim Start zusätzlich zu den Daten aus `MockDB` erzeugt werden, z.B.
+/// für Lasttests mit dem Profil `generator`.
+///
+/// @param enabled true, um beim Start Testdaten zu erzeugen.
+/// @param seed Startwert für die Zufallszahlen. Gleicher Seed und gleiche Anzahl ergeben dieselben Daten.
+/// @param teams Anzahl der zu erzeugenden Teams.
+/// @param kunden Anzahl der zu erzeugenden Kunden.
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@ConfigurationProperties("app.generator")
+public record GeneratorProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("42") long seed,
+    @DefaultValue("1000") int teams,
+    @DefaultValue("100000") int kunden
+) {
+}
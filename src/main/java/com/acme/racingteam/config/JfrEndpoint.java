@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.config;
+
+import com.acme.racingteam.store.QueryEvent;
+import com.acme.racingteam.store.WriteEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Pattern;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/// Actuator-Endpoint, um eine Aufzeichnung mit _Java Flight Recorder_ bei Bedarf zu starten und zu sichern. Die
+/// Aufzeichnung enthält u.a. die Ereignisse [QueryEvent] und [WriteEvent] der Repositorys.
+///
+/// - `GET /actuator/jfr`: Status der Aufzeichnung
+/// - `POST /actuator/jfr` mit z.B. `{"settings": "profile", "maxAge": "5m"}`: Aufzeichnung starten
+/// - `POST /actuator/jfr/<name>`: Aufzeichnung nach `<directory>/<name>.jfr` sichern, sie läuft weiter
+/// - `DELETE /actuator/jfr`: Aufzeichnung beenden
+///
+/// Auswertung z.B. mit `jfr summary` bzw. `jfr print --events com.acme.racingteam.Query` oder mit
+/// _JDK Mission Control_.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String SUFFIX = ".jfr";
+
+    private final JfrProperties props;
+    private final StableValue<Logger> logger = StableValue.of();
+    private @Nullable Recording recording;
+
+    /// Konstruktor mit `package private` für _Spring_.
+    ///
+    /// @param props Die Konfiguration mit Verzeichnis und Vorgaben.
+    JfrEndpoint(final JfrProperties props) {
+        this.props = props;
+    }
+
+    /// Status der Aufzeichnung ermitteln.
+    ///
+    /// @return Der Status, auch ohne laufende Aufzeichnung.
+    @ReadOperation
+    public synchronized Status status() {
+        final var current = recording;
+        if (current == null) {
+            return new Status(RecordingState.CLOSED.name(), null, null, null, 0L, props.directory().toString());
+        }
+        return new Status(
+            current.getState().name(),
+            current.getName(),
+            current.getStartTime(),
+            current.getMaxAge(),
+            current.getSize(),
+            props.directory().toString()
+        );
+    }
+
+    /// Eine Aufzeichnung starten. Eine bereits laufende Aufzeichnung wird zuvor beendet.
+    ///
+    /// @param settings Name der JFR-Konfiguration, z.B. `default` oder `profile`, sonst die Vorgabe.
+    /// @param maxAge Aufbewahrung der Ereignisse, sonst die Vorgabe.
+    /// @return Der Status der neuen Aufzeichnung.
+    @WriteOperation
+    public synchronized Status start(final @Nullable String settings, final @Nullable Duration maxAge) {
+        final var name = settings == null ? props.settings() : settings;
+        final Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (final IOException | ParseException ex) {
+            throw new InvalidEndpointRequestException(
+                "Ungueltige JFR-Konfiguration: " + name,
+                "Unbekannte JFR-Konfiguration"
+            );
+        }
+        close();
+        final var newRecording = new Recording(configuration);
+        newRecording.setName("racingteam-" + name);
+        newRecording.setMaxAge(maxAge == null ? props.maxAge() : maxAge);
+        newRecording.setToDisk(true);
+        newRecording.enable(QueryEvent.class);
+        newRecording.enable(WriteEvent.class);
+        newRecording.start();
+        recording = newRecording;
+        getLogger().info("start: settings={}, maxAge={}", name, newRecording.getMaxAge());
+        return status();
+    }
+
+    /// Die laufende Aufzeichnung in eine Datei sichern. Die Aufzeichnung läuft danach weiter.
+    ///
+    /// @param file Der Dateiname ohne Endung, nur Buchstaben, Ziffern, `_` und `-`.
+    /// @return Pfad und Größe der Datei oder null, falls keine Aufzeichnung läuft.
+    /// @throws IOException Falls die Datei nicht geschrieben werden kann.
+    @WriteOperation
+    public synchronized @Nullable Dump dump(@Selector final String file) throws IOException {
+        if (!FILE_NAME.matcher(file).matches()) {
+            throw new InvalidEndpointRequestException(
+                "Ungueltiger Dateiname: " + file,
+                "Nur Buchstaben, Ziffern, _ und - sind zulaessig"
+            );
+        }
+        final var current = recording;
+        if (current == null || current.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        Files.createDirectories(props.directory());
+        final var path = props.directory().resolve(file + SUFFIX).toAbsolutePath();
+        current.dump(path);
+        final var dump = new Dump(path.toString(), Files.size(path));
+        getLogger().info("dump: {}", dump);
+        return dump;
+    }
+
+    /// Die laufende Aufzeichnung beenden und verwerfen. Sie sollte zuvor mit [#dump] gesichert werden.
+    @DeleteOperation
+    @PreDestroy
+    public synchronized void close() {
+        final var current = recording;
+        if (current != null) {
+            current.close();
+            recording = null;
+            getLogger().info("close: {}", current.getName());
+        }
+    }
+
+    private Logger getLogger() {
+        return logger.orElseSet(() -> LoggerFactory.getLogger(JfrEndpoint.class));
+    }
+
+    /// Status einer Aufzeichnung.
+    ///
+    /// @param state Zustand, z.B. `RUNNING` oder `CLOSED` ohne Aufzeichnung.
+    /// @param name Name der Aufzeichnung.
+    /// @param start Beginn der Aufzeichnung.
+    /// @param maxAge Aufbewahrung der Ereignisse.
+    /// @param size Bisherige Größe in Bytes.
+    /// @param directory Verzeichnis für die Dateien.
+    public record Status(
+        String state,
+        @Nullable String name,
+        @Nullable Instant start,
+        @Nullable Duration maxAge,
+        long size,
+        String directory
+    ) {
+    }
+
+    /// Eine gesicherte Aufzeichnung.
+    ///
+    /// @param path Absoluter Pfad der Datei.
+    /// @param size Größe in Bytes.
+    public record Dump(String path, long size) {
+    }
+}
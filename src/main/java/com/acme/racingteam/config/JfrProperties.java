@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/// Konfiguration für Aufzeichnungen mit _Java Flight Recorder_ über den Actuator-Endpoint `/actuator/jfr`.
+///
+/// @param directory Verzeichnis für die Dateien `<name>.jfr`.
+/// @param settings Vorgabe für die JFR-Konfiguration, z.B. `default` mit geringem Overhead oder `profile`.
+/// @param maxAge Vorgabe, wie lange Ereignisse in einer laufenden Aufzeichnung aufbewahrt werden.
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@ConfigurationProperties("app.jfr")
+public record JfrProperties(
+    @DefaultValue("./data/jfr") Path directory,
+    @DefaultValue("profile") String settings,
+    @DefaultValue("10m") Duration maxAge
+) {
+}
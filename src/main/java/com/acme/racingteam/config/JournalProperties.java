@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/// Konfiguration für die dauerhafte Speicherung der In-Memory-Daten durch Snapshots und Write-Ahead-Log.
+///
+/// @param enabled true, um die Daten zu speichern und beim Start wiederherzustellen.
+/// @param directory Verzeichnis für Snapshots und WAL-Segmente.
+/// @param syncInterval Intervall für `fsync` des WAL. Bei einem Absturz gehen höchstens die Änderungen dieses
+/// Intervalls verloren.
+/// @param snapshotInterval Intervall für Snapshots, danach werden ältere WAL-Segmente gelöscht.
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@ConfigurationProperties("app.journal")
+public record JournalProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("./data") Path directory,
+    @DefaultValue("100ms") Duration syncInterval,
+    @DefaultValue("10m") Duration snapshotInterval
+) {
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/// Konfiguration für die Caches mit bereits serialisiertem JSON einzelner Teams und Kunden.
+///
+/// @param maxSize Maximale Größe des JSON und der gzip-Fassungen je Cache.
+/// @param gzipMinSize Mindestgröße in Bytes, ab der zusätzlich die gzip-Fassung gespeichert wird, oder `-1`, um
+/// keine gzip-Fassung zu speichern.
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@ConfigurationProperties("app.json-cache")
+public record JsonCacheProperties(
+    @DefaultValue("64MB") DataSize maxSize,
+    @DefaultValue("1024") int gzipMinSize
+) {
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ */
+package com.acme.racingteam.controller;
+
+import org.jspecify.annotations.Nullable;
+
+import java.net.URI;
+
+// Ergebnis pro Team bei POST /teams/batch
+record TeamBatchResultDTO(
+    int index,
+    int status,
+    @Nullable URI location,
+    @Nullable String detail
+) {}
@@ -1,32 +1,187 @@
 package com.acme.racingteam.controller;
 
+import com.acme.racingteam.config.ChangeFeedProperties;
+import com.acme.racingteam.config.JsonCacheProperties;
+import com.acme.racingteam.config.QueryCacheProperties;
 import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.repository.TeamFields;
 import com.acme.racingteam.service.TeamService;
+import com.acme.racingteam.store.ChangeFeed;
+import com.acme.racingteam.store.ETags;
+import com.acme.racingteam.store.JsonCache;
+import com.acme.racingteam.store.JsonExport;
+import com.acme.racingteam.store.Page;
+import com.acme.racingteam.store.QueryCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import java.util.Collection;
 
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.LINK;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
 @RestController
 @RequestMapping(TeamController.API_PATH)
 class TeamController {
     static final String API_PATH = "/teams";
+    private static final String SIZE = "size";
+    private static final String CURSOR = "cursor";
+    private static final String DEFAULT_SIZE = "20";
+    private static final int MAX_SIZE = 100;
+    private static final String EXPORT_PATH = "export";
+    private static final String CHANGES_PATH = "changes";
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
     private final TeamService service;
+    private final JsonMapper jsonMapper;
+    private final JsonCache cache;
+    private final QueryCache<Team, TeamFields> queryCache;
+    private final ChangeFeedProperties feedProps;
 
-    TeamController(final TeamService service) {
+    TeamController(
+        final TeamService service,
+        final JsonMapper jsonMapper,
+        final JsonCacheProperties cacheProps,
+        final QueryCacheProperties queryCacheProps,
+        final ChangeFeedProperties feedProps,
+        final MeterRegistry meterRegistry
+    ) {
         this.service = service;
+        this.jsonMapper = jsonMapper;
+        this.feedProps = feedProps;
+        cache = new JsonCache("teams", cacheProps.maxSize().toKilobytes(), cacheProps.gzipMinSize());
+        cache.bindTo(meterRegistry);
+        service.onChangeId(cache::invalidate);
+        queryCache = new QueryCache<>("teams.query", queryCacheProps.maxWeight(), queryCacheProps.ttl());
+        queryCache.bindTo(meterRegistry);
+        service.onChange(queryCache);
     }
 
+    // ETag mit der Version des Teams: bei passendem If-None-Match 304 ohne Team und ohne JSON
+    // sonst das JSON aus dem Cache, bei "Accept-Encoding: gzip" ggf. bereits komprimiert
+    // komprimiert mit eigenem ETag, z.B. "3-gzip", damit Caches die beiden Darstellungen unterscheiden
     @GetMapping(path = "{id}")
-    Team getById(@PathVariable final UUID id) {
-        return service.findById(id);
+    ResponseEntity<byte[]> getById(
+        @PathVariable final UUID id,
+        @RequestHeader(value = IF_NONE_MATCH, required = false) @Nullable final String ifNoneMatch,
+        @RequestHeader(value = ACCEPT_ENCODING, required = false) @Nullable final String acceptEncoding
+    ) {
+        final var version = service.findVersionById(id);
+        final var notModified = ETags.match(ifNoneMatch, version);
+        if (notModified != null) {
+            return ResponseEntity.status(NOT_MODIFIED).eTag(notModified).build();
+        }
+        var entry = cache.get(id, version);
+        if (entry == null) {
+            final var team = service.findVersionedById(id);
+            entry = cache.put(id, team.version(), jsonMapper.writeValueAsBytes(team.value()));
+        }
+
+        final var gzip = JsonCache.acceptsGzip(acceptEncoding);
+        final var compressed = entry.isGzip(gzip);
+        final var response = ResponseEntity.ok()
+            .contentType(APPLICATION_JSON)
+            .eTag(ETags.of(entry.version(), compressed))
+            .varyBy(ACCEPT_ENCODING);
+        if (compressed) {
+            response.header(CONTENT_ENCODING, "gzip");
+        }
+        return response.body(entry.body(gzip));
     }
 
+    // Keyset Pagination: Folgeseite als Link-Header mit undurchsichtigem Cursor
     @GetMapping
-    Collection<Team> get(@RequestParam final Map<String, String> queryparam) {
-        return service.find(queryparam);
+    ResponseEntity<Collection<Team>> get(
+        @RequestParam final Map<String, String> queryparam,
+        @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE) final int size,
+        @RequestParam(name = CURSOR, required = false) @Nullable final String cursor,
+        final HttpServletRequest request
+    ) {
+        final var suchkriterien = new HashMap<>(queryparam);
+        suchkriterien.remove(SIZE);
+        suchkriterien.remove(CURSOR);
+        final var after = cursor == null ? null : Page.decode(cursor);
+        if (cursor != null && after == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Ungueltiger Cursor");
+        }
+
+        final var pageSize = Math.clamp(size, 1, MAX_SIZE);
+        // gleiche Suchkriterien, Cursor und Seitengroesse: Seite aus dem Cache
+        final Map<String, List<String>> params = new HashMap<>();
+        suchkriterien.forEach((key, value) -> params.put(key, List.of(value)));
+        final var page = queryCache.get(
+            params,
+            after,
+            pageSize,
+            () -> service.filter(suchkriterien),
+            () -> service.find(suchkriterien, after, pageSize)
+        );
+        final var next = page.cursor();
+        if (next == null) {
+            return ResponseEntity.ok(page.content());
+        }
+        final var nextUri = ServletUriComponentsBuilder.fromRequest(request)
+            .replaceQueryParam(CURSOR, next)
+            .replaceQueryParam(SIZE, pageSize)
+            .build()
+            .toUriString();
+        return ResponseEntity.ok()
+            .header(LINK, "<" + nextUri + ">; rel=\"next\"")
+            .body(page.content());
+    }
+
+    // Export aller Teams: ein JSON-Objekt pro Zeile, direkt in den Response geschrieben
+    @GetMapping(path = EXPORT_PATH, produces = APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> exportNdjson() {
+        return ResponseEntity.ok()
+            .contentType(APPLICATION_NDJSON)
+            .body(out -> JsonExport.ndjson(jsonMapper.writer(), service.streamAll(), out));
+    }
+
+    // Export aller Teams als JSON-Array, das schrittweise geschrieben wird
+    @GetMapping(path = EXPORT_PATH, produces = APPLICATION_JSON_VALUE)
+    ResponseEntity<StreamingResponseBody> exportJson() {
+        return ResponseEntity.ok()
+            .contentType(APPLICATION_JSON)
+            .body(out -> JsonExport.array(jsonMapper.writer(), service.streamAll(), out));
     }
 
+    // Server-Sent Events mit jeder Aenderung (created, updated, deleted) mit ID und Version statt periodischer
+    // Abfragen; mit Last-Event-ID wird nach dieser Aenderung fortgesetzt, bei "event: reset" neu lesen
+    @GetMapping(path = CHANGES_PATH, produces = TEXT_EVENT_STREAM_VALUE)
+    ResponseEntity<StreamingResponseBody> changes(
+        @RequestHeader(value = LAST_EVENT_ID, required = false) @Nullable final String lastEventId
+    ) {
+        final var after = lastEventId == null ? null : ChangeFeed.decode(lastEventId);
+        if (lastEventId != null && after == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Ungueltige Last-Event-ID");
+        }
+        final var changes = service.changes();
+        return ResponseEntity.ok()
+            .contentType(TEXT_EVENT_STREAM)
+            .cacheControl(CacheControl.noCache())
+            .body(out -> ChangeFeed.write(changes, after, out, feedProps.heartbeat(), feedProps.maxDuration()));
+    }
 }
@@ -4,11 +4,16 @@
  */
 package com.acme.racingteam.controller;
 
+import com.acme.racingteam.config.BatchProperties;
+import com.acme.racingteam.entity.Team;
 import com.acme.racingteam.service.NameExistsException;
 import com.acme.racingteam.service.TeamWriteService;
+import com.acme.racingteam.store.ETags;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.groups.Default;
+import org.jspecify.annotations.Nullable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.stereotype.Controller;
@@ -16,10 +21,20 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.HttpStatus.*;
 import static org.springframework.http.ResponseEntity.created;
 
@@ -30,10 +45,22 @@ class TeamWriteController {
 
     private final TeamWriteService service;
     private final TeamMapper mapper;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final BatchProperties batchProps;
 
-    TeamWriteController(final TeamWriteService service, final TeamMapper mapper) {
+    TeamWriteController(
+        final TeamWriteService service,
+        final TeamMapper mapper,
+        final Validator validator,
+        final JsonMapper jsonMapper,
+        final BatchProperties batchProps
+    ) {
         this.service = service;
         this.mapper = mapper;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.batchProps = batchProps;
     }
 
     @PostMapping
@@ -48,14 +75,74 @@ class TeamWriteController {
         return created(location).build();
     }
 
+    // Upsert ueber den Teamnamen, z.B. fuer den Import zu Saisonbeginn: 207 mit einem Status pro Team.
+    // Die Teams werden einzeln gelesen und geprueft, bei mehr als app.batch.max-size Teams 413 ohne Aenderung.
+    @PostMapping("batch")
+    ResponseEntity<List<TeamBatchResultDTO>> postBatch(final InputStream body, final HttpServletRequest request) {
+        final var maxSize = batchProps.maxSize();
+        final List<TeamBatchResultDTO> results = new ArrayList<>();
+        final List<Team> teams = new ArrayList<>();
+        final List<Integer> indexes = new ArrayList<>();
+        var count = 0;
+        try (MappingIterator<@Nullable TeamDTO> iterator = jsonMapper.readerFor(TeamDTO.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (count == maxSize) {
+                    throw new ResponseStatusException(
+                        CONTENT_TOO_LARGE, "Mehr als " + maxSize + " Teams im Request-Body"
+                    );
+                }
+                final var i = count++;
+                final var teamDTO = iterator.nextValue();
+                if (teamDTO == null) {
+                    results.add(new TeamBatchResultDTO(i, UNPROCESSABLE_CONTENT.value(), null, "Kein Team"));
+                    continue;
+                }
+                final var violations = validator.validate(teamDTO, Default.class, TeamDTO.OnCreate.class);
+                if (violations.isEmpty()) {
+                    teams.add(mapper.toTeam(teamDTO));
+                    indexes.add(i);
+                } else {
+                    final var detail = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .toList()
+                        .toString();
+                    results.add(new TeamBatchResultDTO(i, UNPROCESSABLE_CONTENT.value(), null, detail));
+                }
+            }
+        }
+
+        final var upserts = service.upsertAll(teams);
+        final var location = ServletUriComponentsBuilder.fromContextPath(request)
+            .path(TeamController.API_PATH + "/{id}");
+        for (var j = 0; j < upserts.size(); j++) {
+            final int i = indexes.get(j);
+            final var team = teams.get(j);
+            results.add(switch (upserts.get(j)) {
+                case CREATED -> new TeamBatchResultDTO(
+                    i, CREATED.value(), location.buildAndExpand(team.getId()).toUri(), null
+                );
+                case UPDATED -> new TeamBatchResultDTO(
+                    i, OK.value(), location.buildAndExpand(team.getId()).toUri(), null
+                );
+                case NAME_EXISTS -> new TeamBatchResultDTO(
+                    i, UNPROCESSABLE_CONTENT.value(), null, "Name existiert bereits: " + team.getName()
+                );
+            });
+        }
+        results.sort(Comparator.comparingInt(TeamBatchResultDTO::index));
+        return ResponseEntity.status(MULTI_STATUS).body(results);
+    }
+
+    // Optimistische Synchronisation: ein If-Match mit veralteter Version fuehrt zu 412
     @PutMapping("{id}")
     @ResponseStatus(NO_CONTENT)
     void put(
         @PathVariable final UUID id,
-        @RequestBody @Valid final TeamDTO teamDTO
+        @RequestBody @Valid final TeamDTO teamDTO,
+        @RequestHeader(value = IF_MATCH, required = false) @Nullable final String ifMatch
     ) {
         final var teamInput = mapper.toTeam(teamDTO);
-        service.update(teamInput, id);
+        service.update(teamInput, id, ETags.version(ifMatch));
     }
 
     @ExceptionHandler
@@ -63,6 +150,12 @@ class TeamWriteController {
         return ErrorResponse.create(ex, UNPROCESSABLE_CONTENT, ex.getMessage());
     }
 
+    // syntaktisch falscher Request-Body bei POST /teams/batch
+    @ExceptionHandler
+    ErrorResponse onJacksonException(final JacksonException ex) {
+        return ErrorResponse.create(ex, BAD_REQUEST, ex.getOriginalMessage());
+    }
+
     @ExceptionHandler
     ErrorResponse onMessageNotReadable(final HttpMessageNotReadableException ex) {
         final var msg = ex.getMessage() == null ? "Invalid JSON" : ex.getMessage();
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2022 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.controller;
+
+import java.net.URI;
+import org.jspecify.annotations.Nullable;
+
+/// ValueObject für das Ergebnis eines einzelnen Datensatzes bei einer Batch-Verarbeitung.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+/// @param index Die Position des Datensatzes im Request-Body, beginnend bei 0.
+/// @param status Der Statuscode für diesen Datensatz, z.B. `201` oder `422`.
+/// @param location Die URI des neu angelegten Datensatzes oder null bei einem Fehler.
+/// @param detail Die Fehlermeldung oder null bei Erfolg.
+record BatchResultDTO(int index, int status, @Nullable URI location, @Nullable String detail) {
+}
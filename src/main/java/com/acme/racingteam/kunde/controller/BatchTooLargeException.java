@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.controller;
+
+import java.io.Serial;
+
+/// Exception, falls ein Request-Body bei der Batch-Verarbeitung mehr Datensätze als erlaubt enthält.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+final class BatchTooLargeException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 4473290618731554920L;
+
+    /// Konstruktor mit der maximalen Anzahl der Datensätze.
+    ///
+    /// @param maxSize Die maximale Anzahl der Datensätze in einem Request-Body.
+    BatchTooLargeException(final int maxSize) {
+        super("Mehr als " + maxSize + " Datensaetze im Request-Body");
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.controller;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/// ValueObject für einen Datensatz beim Aktualisieren mehrerer Kunden in einem Request. [KundeDTO] enthält keine ID,
+/// deshalb werden ID und erwartete Version zusammen mit den neuen Daten übergeben.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+/// @param id Die ID des zu aktualisierenden Kunden.
+/// @param ifMatch Das ETag aus einem früheren Response wie bei `If-Match` oder null, um ohne Prüfung zu aktualisieren.
+/// @param kunde Die neuen Daten des Kunden.
+record BatchUpdateDTO(
+    @NotNull
+    UUID id,
+
+    @Nullable
+    String ifMatch,
+
+    @Valid
+    @NotNull
+    KundeDTO kunde
+) {
+}
@@ -17,12 +17,14 @@
 package com.acme.racingteam.kunde.controller;
 
 import com.acme.racingteam.kunde.service.NotFoundException;
+import com.acme.racingteam.store.StoreUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 /// Handler für allgemeine Exceptions.
 ///
@@ -45,6 +47,16 @@ class GlobalExceptionHandler {
         getLogger().debug("onNotFound: {}", ex.getMessage());
     }
 
+    /// [ExceptionHandler], wenn Teams oder Kunden nicht mehr geändert werden können, z.B. weil das Write-Ahead-Log
+    /// nicht mehr geschrieben werden kann.
+    ///
+    /// @param ex Die zugehörige [StoreUnavailableException].
+    @ExceptionHandler
+    @ResponseStatus(SERVICE_UNAVAILABLE)
+    void onStoreUnavailable(final StoreUnavailableException ex) {
+        getLogger().warn("onStoreUnavailable: {}", ex.getMessage());
+    }
+
     private Logger getLogger() {
         return logger.orElseSet(() -> LoggerFactory.getLogger(GlobalExceptionHandler.class));
     }
@@ -16,30 +16,62 @@
  */
 package com.acme.racingteam.kunde.controller;
 
+import com.acme.racingteam.config.ChangeFeedProperties;
+import com.acme.racingteam.config.JsonCacheProperties;
+import com.acme.racingteam.config.QueryCacheProperties;
 import com.acme.racingteam.kunde.entity.Kunde;
 import com.acme.racingteam.kunde.service.KundeService;
+import com.acme.racingteam.store.ChangeFeed;
+import com.acme.racingteam.store.ETags;
+import com.acme.racingteam.store.JsonCache;
+import com.acme.racingteam.store.JsonExport;
+import com.acme.racingteam.store.Page;
+import com.acme.racingteam.store.QueryCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.json.JsonMapper;
 import static com.acme.racingteam.kunde.controller.Constants.API_PATH;
 import static com.acme.racingteam.kunde.controller.Constants.ID_PATTERN;
 import static com.acme.racingteam.kunde.controller.Constants.VERSION_1;
 import static com.acme.racingteam.kunde.controller.Constants.VERSION_1_EXAMPLE;
 import static com.acme.racingteam.kunde.controller.Constants.X_VERSION;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpHeaders.LINK;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
 /// Eine Controller-Klasse bildet die REST-Schnittstelle, wobei die HTTP-Methoden, Pfade und MIME-Typen auf die
 /// Methoden der Klasse abgebildet werden.
@@ -56,55 +88,176 @@ class KundeController {
     private static final String NACHNAME_PATH = "/nachname";
     private static final String SUCHEN_TAG = "Suchen";
 
+    /// Pfad für den Export aller Kunden.
+    private static final String EXPORT_PATH = "/export";
+
+    /// Pfad für den Event-Stream mit den Änderungen.
+    private static final String CHANGES_PATH = "/changes";
+
+    /// Header, mit dem ein Event-Stream nach der zuletzt empfangenen Änderung fortgesetzt wird.
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    /// Voreingestellte Anzahl an Nachnamen für die Autovervollständigung.
+    private static final String DEFAULT_LIMIT = "20";
+
+    /// Maximale Anzahl an Nachnamen für die Autovervollständigung.
+    private static final int MAX_LIMIT = 100;
+
+    /// Query-Parameter für die Seitengröße.
+    private static final String SIZE = "size";
+
+    /// Query-Parameter für den Cursor der Folgeseite.
+    private static final String CURSOR = "cursor";
+
+    /// Voreingestellte Seitengröße.
+    private static final String DEFAULT_SIZE = "20";
+
+    /// Maximale Seitengröße.
+    private static final int MAX_SIZE = 100;
+
     /// Pfad, um Nachnamen abzufragen.
     private final KundeService service;
+    private final JsonMapper jsonMapper;
+    private final JsonCache cache;
+    private final QueryCache<Kunde, Kunde> queryCache;
+    private final ChangeFeedProperties feedProps;
     private final StableValue<Logger> logger = StableValue.of();
 
-    /// Konstruktor mit _package private_ für _Spring_.
+    /// Konstruktor mit _package private_ für _Spring_. Der Cache für das JSON einzelner Kunden wird bei jeder
+    /// Änderung eines Kunden invalidiert, der Cache für Suchergebnisse nur bei betroffenen Seiten.
     ///
     /// @param service Injiziertes Service-Objekt.
-    KundeController(final KundeService service) {
+    /// @param jsonMapper Injiziertes Objekt für die JSON-Serialisierung.
+    /// @param cacheProps Injizierte Konfiguration für den Cache.
+    /// @param queryCacheProps Injizierte Konfiguration für den Cache der Suchergebnisse.
+    /// @param feedProps Injizierte Konfiguration für den Event-Stream mit den Änderungen.
+    /// @param meterRegistry Injizierte Registry für die Metriken der Caches.
+    KundeController(
+        final KundeService service,
+        final JsonMapper jsonMapper,
+        final JsonCacheProperties cacheProps,
+        final QueryCacheProperties queryCacheProps,
+        final ChangeFeedProperties feedProps,
+        final MeterRegistry meterRegistry
+    ) {
         this.service = service;
+        this.jsonMapper = jsonMapper;
+        this.feedProps = feedProps;
+        cache = new JsonCache("kunden", cacheProps.maxSize().toKilobytes(), cacheProps.gzipMinSize());
+        cache.bindTo(meterRegistry);
+        service.onChange((id, _, _) -> cache.invalidate(id));
+        queryCache = new QueryCache<>("kunden.query", queryCacheProps.maxWeight(), queryCacheProps.ttl());
+        queryCache.bindTo(meterRegistry);
+        service.onChange(queryCache);
     }
 
     // https://docs.spring.io/spring-framework/docs/current/reference/html/web-reactive.html#webflux-ann-methods
     // https://localhost:8443/swagger-ui.html
-    /// Suche anhand der Kunde-ID als Pfad-Parameter.
+    /// Suche anhand der Kunde-ID als Pfad-Parameter. Der Response enthält die Version des Kunden als `ETag`. Passt
+    /// der Header `If-None-Match` zur aktuellen Version, wird ohne Kunde und ohne JSON-Serialisierung mit dem
+    /// Statuscode `304` geantwortet. Ansonsten wird das JSON aus dem Cache geschrieben, bei `Accept-Encoding: gzip`
+    /// ggf. bereits komprimiert. Die komprimierte Darstellung hat ein eigenes `ETag`, z.B. `"3-gzip"`.
     ///
     /// @param id ID des zu suchenden Kunden
-    /// @return Gefundener Kunde.
+    /// @param ifNoneMatch ETag aus einem früheren Response oder null.
+    /// @param acceptEncoding Der Header `Accept-Encoding` oder null.
+    /// @return Gefundener Kunde als JSON mit `ETag` oder `304`.
     @GetMapping(path = "{id:" + ID_PATTERN + "}", version = VERSION_1)
     @Operation(summary = "Suche mit der Kunde-ID", tags = SUCHEN_TAG)
     @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
     @ApiResponse(responseCode = "200", description = "Kunde gefunden")
+    @ApiResponse(responseCode = "304", description = "Kunde unverändert")
     @ApiResponse(responseCode = "404", description = "Kunde nicht gefunden")
-    Kunde getById(@PathVariable final UUID id) {
+    ResponseEntity<byte[]> getById(
+        @PathVariable final UUID id,
+        @RequestHeader(value = IF_NONE_MATCH, required = false) final @Nullable String ifNoneMatch,
+        @RequestHeader(value = ACCEPT_ENCODING, required = false) final @Nullable String acceptEncoding
+    ) {
         getLogger().debug("getById: id={}, Thread={}", id, Thread.currentThread().getName());
 
-        // Geschaeftslogik
-        final var kunde = service.findById(id);
+        final var version = service.findVersionById(id);
+        final var notModified = ETags.match(ifNoneMatch, version);
+        if (notModified != null) {
+            getLogger().debug("getById: unveraendert, version={}", version);
+            return ResponseEntity.status(NOT_MODIFIED).eTag(notModified).build();
+        }
 
-        getLogger().debug("getById: kunde={}", kunde);
-        return kunde;
+        var entry = cache.get(id, version);
+        if (entry == null) {
+            // Geschaeftslogik
+            final var kunde = service.findVersionedById(id);
+            getLogger().debug("getById: kunde={}", kunde);
+            entry = cache.put(id, kunde.version(), jsonMapper.writeValueAsBytes(kunde.value()));
+        }
+
+        final var gzip = JsonCache.acceptsGzip(acceptEncoding);
+        final var compressed = entry.isGzip(gzip);
+        final var response = ResponseEntity.ok()
+            .contentType(APPLICATION_JSON)
+            .eTag(ETags.of(entry.version(), compressed))
+            .varyBy(ACCEPT_ENCODING);
+        if (compressed) {
+            response.header(CONTENT_ENCODING, "gzip");
+        }
+        return response.body(entry.body(gzip));
     }
 
-    /// Suche mit diversen Query-Parameter.
+    /// Suche mit diversen Query-Parameter. Das Ergebnis wird seitenweise nach der ID sortiert geliefert (_Keyset
+    /// Pagination_). Falls es eine Folgeseite gibt, enthält der Header `Link` mit `rel="next"` deren URI mit einem
+    /// undurchsichtigen Cursor. Seiten zu gleichen Suchparametern werden aus einem Cache gelesen.
     ///
     /// @param queryparam Query-Parameter als Map .
+    /// @param size Seitengröße, höchstens 100.
+    /// @param cursor Cursor aus dem `Link`-Header der vorherigen Seite.
+    /// @param request Das Request-Objekt, um den Link zur Folgeseite zu bilden.
     /// @return Gefundenen Kunden als [Collection].
     @GetMapping(version = VERSION_1)
     @Operation(summary = "Suche mit Query-Parameter", tags = SUCHEN_TAG)
     @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
     @ApiResponse(responseCode = "200", description = "Collection mit den Kunden")
+    @ApiResponse(responseCode = "400", description = "Ungueltiger Cursor")
     @ApiResponse(responseCode = "404", description = "Keine Kunden gefunden")
-    Collection<Kunde> get(@RequestParam final MultiValueMap<String, String> queryparam) {
+    ResponseEntity<Collection<Kunde>> get(
+        @RequestParam final MultiValueMap<String, String> queryparam,
+        @RequestParam(name = SIZE, defaultValue = DEFAULT_SIZE) final int size,
+        @RequestParam(name = CURSOR, required = false) @Nullable final String cursor,
+        final HttpServletRequest request
+    ) {
         getLogger().debug("get: queryparam={}", queryparam);
 
-        // Geschaeftslogik
-        final var kunden = service.find(queryparam);
+        final var suchparameter = new LinkedMultiValueMap<>(queryparam);
+        suchparameter.remove(SIZE);
+        suchparameter.remove(CURSOR);
+        final var after = cursor == null ? null : Page.decode(cursor);
+        if (cursor != null && after == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Ungueltiger Cursor");
+        }
+
+        // Geschaeftslogik, bei gueltigen Suchparametern ueber den Cache
+        final var pageSize = Math.clamp(size, 1, MAX_SIZE);
+        final var page = queryCache.get(
+            suchparameter,
+            after,
+            pageSize,
+            () -> service.filter(suchparameter),
+            () -> service.find(suchparameter, after, pageSize)
+        );
 
-        getLogger().debug("get: kunden={}", kunden);
-        return kunden;
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("get: #kunden={}, next={}", page.content().size(), page.next());
+        }
+        final var next = page.cursor();
+        if (next == null) {
+            return ResponseEntity.ok(page.content());
+        }
+        final var nextUri = ServletUriComponentsBuilder.fromRequest(request)
+            .replaceQueryParam(CURSOR, next)
+            .replaceQueryParam(SIZE, pageSize)
+            .build()
+            .toUriString();
+        return ResponseEntity.ok()
+            .header(LINK, "<" + nextUri + ">; rel=\"next\"")
+            .body(page.content());
     }
 
     /// Beispiel für Deprecation.
@@ -122,17 +275,81 @@ class KundeController {
     /// Abfrage, welche Nachnamen es zu einem Präfix gibt.
     ///
     /// @param prefix Nachname-Präfix als Pfadvariable.
+    /// @param limit Maximale Anzahl der Nachnamen als Query-Parameter, höchstens 100.
     /// @return Die passenden Nachnamen oder Statuscode `404`, falls es keine gibt.
     @GetMapping(path = NACHNAME_PATH + "/{prefix}", version = VERSION_1)
     @Operation(summary = "Suche Nachnamen mit Praefix", tags = SUCHEN_TAG)
     @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
-    Map<String, Collection<String>> getNachnamenByPrefix(@PathVariable final String prefix) {
-        getLogger().debug("getNachnamenByPrefix: {}", prefix);
-        final var nachnamen = service.findNachnamenByPrefix(prefix);
-        getLogger().debug("getNachnamenByPrefix: {}", nachnamen);
+    Map<String, Collection<String>> getNachnamenByPrefix(
+        @PathVariable final String prefix,
+        @RequestParam(defaultValue = DEFAULT_LIMIT) final int limit
+    ) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("getNachnamenByPrefix: prefix={}, limit={}", prefix, limit);
+        }
+        final var nachnamen = service.findNachnamenByPrefix(prefix, Math.clamp(limit, 1, MAX_LIMIT));
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("getNachnamenByPrefix: #nachnamen={}", nachnamen.size());
+        }
         return Map.of("nachnamen", nachnamen);
     }
 
+    /// Export aller Kunden als _Newline Delimited JSON_. Die Kunden werden einzeln in den Response geschrieben, so
+    /// dass der Speicherbedarf konstant bleibt und der Client sofort die ersten Bytes erhält.
+    ///
+    /// @return Ein JSON-Objekt pro Zeile.
+    @GetMapping(path = EXPORT_PATH, version = VERSION_1, produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export aller Kunden als NDJSON", tags = SUCHEN_TAG)
+    @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
+    @ApiResponse(responseCode = "200", description = "Ein Kunde pro Zeile")
+    ResponseEntity<StreamingResponseBody> exportNdjson() {
+        getLogger().debug("exportNdjson");
+        return ResponseEntity.ok()
+            .contentType(APPLICATION_NDJSON)
+            .body(out -> JsonExport.ndjson(jsonMapper.writer(), service.streamAll(), out));
+    }
+
+    /// Export aller Kunden als JSON-Array, das schrittweise in den Response geschrieben wird.
+    ///
+    /// @return Die Kunden als JSON-Array.
+    @GetMapping(path = EXPORT_PATH, version = VERSION_1, produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Export aller Kunden als JSON-Array", tags = SUCHEN_TAG)
+    @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
+    @ApiResponse(responseCode = "200", description = "JSON-Array mit allen Kunden")
+    ResponseEntity<StreamingResponseBody> exportJson() {
+        getLogger().debug("exportJson");
+        return ResponseEntity.ok()
+            .contentType(APPLICATION_JSON)
+            .body(out -> JsonExport.array(jsonMapper.writer(), service.streamAll(), out));
+    }
+
+    /// Event-Stream mit jeder Änderung eines Kunden als _Server-Sent Events_, damit Clients nicht periodisch mit
+    /// `GET /api` abfragen müssen. Ein Event enthält Art (`created`, `updated`, `deleted`), ID und Version wie im
+    /// `ETag`. Mit `Last-Event-ID` wird nach der zuletzt empfangenen Änderung fortgesetzt. Bei `event: reset` sind
+    /// Änderungen überschrieben, und der Client muss den Bestand neu lesen.
+    ///
+    /// @param lastEventId Der Header `Last-Event-ID` oder null, um ab der aktuellen Änderung zu beginnen.
+    /// @return Die Änderungen als `text/event-stream`.
+    @GetMapping(path = CHANGES_PATH, version = VERSION_1, produces = TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Event-Stream mit den Aenderungen", tags = SUCHEN_TAG)
+    @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
+    @ApiResponse(responseCode = "200", description = "Server-Sent Events")
+    @ApiResponse(responseCode = "400", description = "Ungueltige Last-Event-ID")
+    ResponseEntity<StreamingResponseBody> changes(
+        @RequestHeader(value = LAST_EVENT_ID, required = false) final @Nullable String lastEventId
+    ) {
+        getLogger().debug("changes: lastEventId={}", lastEventId);
+        final var after = lastEventId == null ? null : ChangeFeed.decode(lastEventId);
+        if (lastEventId != null && after == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "Ungueltige Last-Event-ID");
+        }
+        final var changes = service.changes();
+        return ResponseEntity.ok()
+            .contentType(TEXT_EVENT_STREAM)
+            .cacheControl(CacheControl.noCache())
+            .body(out -> ChangeFeed.write(changes, after, out, feedProps.heartbeat(), feedProps.maxDuration()));
+    }
+
     private Logger getLogger() {
         return logger.orElseSet(() -> LoggerFactory.getLogger(KundeController.class));
     }
@@ -16,17 +16,37 @@
  */
 package com.acme.racingteam.kunde.controller;
 
+import com.acme.racingteam.config.BatchProperties;
 import com.acme.racingteam.kunde.controller.KundeDTO.OnCreate;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.kunde.repository.KundeRepository.BatchResult;
 import com.acme.racingteam.kunde.service.EmailExistsException;
 import com.acme.racingteam.kunde.service.KundeWriteService;
+import com.acme.racingteam.kunde.service.VersionOutdatedException;
+import com.acme.racingteam.store.ETags;
+import com.acme.racingteam.store.Versioned;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.annotation.PreDestroy;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import jakarta.validation.groups.Default;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -41,16 +61,29 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
 import static com.acme.racingteam.kunde.controller.Constants.API_PATH;
 import static com.acme.racingteam.kunde.controller.Constants.ID_PATTERN;
 import static com.acme.racingteam.kunde.controller.Constants.VERSION_1;
 import static com.acme.racingteam.kunde.controller.Constants.VERSION_1_EXAMPLE;
 import static com.acme.racingteam.kunde.controller.Constants.X_VERSION;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONTENT_TOO_LARGE;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.MULTI_STATUS;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_CONTENT;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.ResponseEntity.created;
 
 /// Eine Controller-Klasse bildet die REST-Schnittstelle, wobei die HTTP-Methoden, Pfade und MIME-Typen auf die
@@ -64,9 +97,19 @@ import static org.springframework.http.ResponseEntity.created;
 @RequestMapping(API_PATH)
 @SuppressWarnings({"ClassFanOutComplexity", "java:S1075"})
 class KundeWriteController {
+    /// Pfad für das Neuanlegen, Aktualisieren und Löschen mehrerer Kunden in einem Request.
+    private static final String BATCH_PATH = "/batch";
+
+    /// Fehlermeldung für einen Datensatz `null` bei der Batch-Verarbeitung.
+    private static final String NULL_DETAIL = "Kein Datensatz";
+
     private final KundeWriteService service;
     private final KundeMapper mapper;
     private final UriHelper uriHelper;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final BatchProperties batchProps;
+    private final ExecutorService validation;
     private final StableValue<Logger> logger = StableValue.of();
 
     /// Konstruktor mit _package private_ für _Spring_.
@@ -74,10 +117,29 @@ class KundeWriteController {
     /// @param service Injiziertes Service-Objekt.
     /// @param mapper Injiziertes Mapper-Objekt für das Mapping von DTO-Objekten auf Entity-Objekte.
     /// @param uriHelper Injiziertes Helper-Objekt, um URIs für z.B. den Header _Location_ zu bauen.
-    KundeWriteController(final KundeWriteService service, final KundeMapper mapper, final UriHelper uriHelper) {
+    /// @param validator Injiziertes Objekt für _Jakarta Validation_ bei der Batch-Verarbeitung.
+    /// @param jsonMapper Injiziertes Objekt, um den Request-Body bei der Batch-Verarbeitung zu lesen.
+    /// @param batchProps Injizierte Konfiguration mit der maximalen Anzahl der Datensätze und der Anzahl der Threads
+    /// für die Validierung bei der Batch-Verarbeitung.
+    @SuppressWarnings("ParameterNumber")
+    KundeWriteController(
+        final KundeWriteService service,
+        final KundeMapper mapper,
+        final UriHelper uriHelper,
+        final Validator validator,
+        final JsonMapper jsonMapper,
+        final BatchProperties batchProps
+    ) {
         this.service = service;
         this.mapper = mapper;
         this.uriHelper = uriHelper;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.batchProps = batchProps;
+        validation = Executors.newFixedThreadPool(
+            batchProps.parallelism(),
+            Thread.ofPlatform().name("kunde-batch-", 0).daemon().factory()
+        );
     }
 
     /// Einen neuen Kunde-Datensatz anlegen.
@@ -106,10 +168,162 @@ class KundeWriteController {
         return created(location).build();
     }
 
-    /// Einen vorhandenen Kunde-Datensatz überschreiben.
+    /// Mehrere neue Kunde-Datensätze in einem Request anlegen, z.B. für die Synchronisation mit einem CRM-System.
+    /// Der Request-Body ist ein JSON-Array oder _Newline Delimited JSON_ mit einem Kunden pro Zeile.
+    ///
+    /// Der Request-Body wird Datensatz für Datensatz gelesen. Enthält er mehr als `app.batch.max-size` Datensätze,
+    /// wird das Lesen abgebrochen, ohne dass Kunden angelegt werden. Die Datensätze werden anschließend parallel mit
+    /// `app.batch.parallelism` Threads validiert. Die Emailadressen aller gültigen Datensätze werden in einem Durchlauf
+    /// reserviert und die neuen Kunden anschließend in einem Schritt eingefügt. Das Ergebnis enthält für jeden
+    /// Datensatz einen eigenen Statuscode.
+    ///
+    /// @param body Der Request-Body als Stream.
+    /// @param request Das Request-Objekt, um die URIs der neuen Kunden zu erstellen.
+    /// @return Response mit Statuscode `207` und dem Ergebnis pro Datensatz: `201` einschließlich URI, `422`, falls
+    /// der Datensatz `null` ist, Constraints verletzt sind oder die Emailadresse bereits existiert, oder `503`, falls
+    /// die Datenhaltung keine Änderungen mehr annimmt.
+    @PostMapping(
+        path = BATCH_PATH,
+        version = VERSION_1,
+        consumes = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(summary = "Mehrere neue Kunden anlegen", tags = "Neuanlegen")
+    @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
+    @ApiResponse(responseCode = "207", description = "Ergebnis pro Kunde")
+    @ApiResponse(responseCode = "400", description = "Syntaktische Fehler im Request-Body")
+    @ApiResponse(responseCode = "413", description = "Zu viele Kunden im Request-Body")
+    ResponseEntity<List<BatchResultDTO>> postBatch(final InputStream body, final HttpServletRequest request) {
+        final var kundeDTOs = readAll(body, KundeDTO.class);
+        final var details = validateAll(kundeDTOs, Default.class, OnCreate.class);
+        final List<BatchResultDTO> results = new ArrayList<>(kundeDTOs.size());
+        final List<Kunde> kunden = new ArrayList<>(kundeDTOs.size());
+        final List<Integer> indexes = new ArrayList<>(kundeDTOs.size());
+        for (var i = 0; i < kundeDTOs.size(); i++) {
+            final var kundeDTO = kundeDTOs.get(i);
+            final var detail = details.get(i);
+            if (kundeDTO == null || detail != null) {
+                results.add(new BatchResultDTO(i, UNPROCESSABLE_CONTENT.value(), null, detail));
+            } else {
+                kunden.add(mapper.toKunde(kundeDTO));
+                indexes.add(i);
+            }
+        }
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("postBatch: #kundeDTOs={}, #gueltig={}", kundeDTOs.size(), kunden.size());
+        }
+
+        final var batchResults = service.createAll(kunden);
+        final var baseUri = uriHelper.getBaseUri(request).toString();
+        for (var j = 0; j < batchResults.size(); j++) {
+            final var result = batchResults.get(j);
+            final var location = result == BatchResult.CREATED
+                ? URI.create(baseUri + '/' + kunden.get(j).getId())
+                : null;
+            results.add(toResultDTO(indexes.get(j), result, location));
+        }
+        results.sort(Comparator.comparingInt(BatchResultDTO::index));
+        return ResponseEntity.status(MULTI_STATUS).body(results);
+    }
+
+    /// Mehrere vorhandene Kunde-Datensätze in einem Request überschreiben. Der Request-Body ist ein JSON-Array oder
+    /// _Newline Delimited JSON_ mit einem Datensatz pro Zeile, der jeweils die ID, optional das ETag wie bei
+    /// `If-Match` und die neuen Daten des Kunden enthält.
+    ///
+    /// Gelesen und validiert wird wie beim Neuanlegen mehrerer Kunden; alle gültigen Datensätze werden anschließend
+    /// in einem Schritt aktualisiert.
+    ///
+    /// @param body Der Request-Body als Stream.
+    /// @return Response mit Statuscode `207` und dem Ergebnis pro Datensatz: `204`, `404`, falls es keinen Kunden mit
+    /// der ID gibt, `412`, falls die Version aus dem ETag veraltet ist, `422`, falls der Datensatz `null` ist,
+    /// Constraints verletzt sind oder die Emailadresse bereits existiert, oder `503`, falls die Datenhaltung keine
+    /// Änderungen mehr annimmt.
+    @PutMapping(
+        path = BATCH_PATH,
+        version = VERSION_1,
+        consumes = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(summary = "Mehrere Kunden mit neuen Werten aktualisieren", tags = "Aktualisieren")
+    @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
+    @ApiResponse(responseCode = "207", description = "Ergebnis pro Kunde")
+    @ApiResponse(responseCode = "400", description = "Syntaktische Fehler im Request-Body")
+    @ApiResponse(responseCode = "413", description = "Zu viele Kunden im Request-Body")
+    ResponseEntity<List<BatchResultDTO>> putBatch(final InputStream body) {
+        final var updateDTOs = readAll(body, BatchUpdateDTO.class);
+        final var details = validateAll(updateDTOs, Default.class);
+        final List<BatchResultDTO> results = new ArrayList<>(updateDTOs.size());
+        final List<Versioned<Kunde>> kunden = new ArrayList<>(updateDTOs.size());
+        final List<Integer> indexes = new ArrayList<>(updateDTOs.size());
+        for (var i = 0; i < updateDTOs.size(); i++) {
+            final var updateDTO = updateDTOs.get(i);
+            final var detail = details.get(i);
+            if (updateDTO == null || detail != null) {
+                results.add(new BatchResultDTO(i, UNPROCESSABLE_CONTENT.value(), null, detail));
+            } else {
+                final var kunde = mapper.toKunde(updateDTO.kunde());
+                kunde.setId(updateDTO.id());
+                kunden.add(new Versioned<>(kunde, ETags.version(updateDTO.ifMatch())));
+                indexes.add(i);
+            }
+        }
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("putBatch: #updateDTOs={}, #gueltig={}", updateDTOs.size(), kunden.size());
+        }
+
+        final var batchResults = service.updateAll(kunden);
+        for (var j = 0; j < batchResults.size(); j++) {
+            results.add(toResultDTO(indexes.get(j), batchResults.get(j), null));
+        }
+        results.sort(Comparator.comparingInt(BatchResultDTO::index));
+        return ResponseEntity.status(MULTI_STATUS).body(results);
+    }
+
+    /// Mehrere Kunden anhand ihrer ID in einem Request löschen. Der Request-Body ist ein JSON-Array oder _Newline
+    /// Delimited JSON_ mit einer ID pro Zeile. Statt `DELETE` wird `POST` verwendet, weil ein Request-Body bei
+    /// `DELETE` keine definierte Semantik hat.
+    ///
+    /// @param body Der Request-Body als Stream.
+    /// @return Response mit Statuscode `207` und dem Ergebnis pro ID: `204`, `404`, falls es keinen Kunden mit der ID
+    /// gibt, `422`, falls die ID `null` ist, oder `503`, falls die Datenhaltung keine Änderungen mehr annimmt.
+    @PostMapping(
+        path = BATCH_PATH + "/delete",
+        version = VERSION_1,
+        consumes = {APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(summary = "Mehrere Kunden anhand der ID loeschen", tags = "Loeschen")
+    @Parameter(name = X_VERSION, in = ParameterIn.HEADER, example = VERSION_1_EXAMPLE)
+    @ApiResponse(responseCode = "207", description = "Ergebnis pro ID")
+    @ApiResponse(responseCode = "400", description = "Syntaktische Fehler im Request-Body")
+    @ApiResponse(responseCode = "413", description = "Zu viele IDs im Request-Body")
+    ResponseEntity<List<BatchResultDTO>> deleteBatch(final InputStream body) {
+        final var nullableIds = readAll(body, UUID.class);
+        final List<BatchResultDTO> results = new ArrayList<>(nullableIds.size());
+        final List<UUID> ids = new ArrayList<>(nullableIds.size());
+        final List<Integer> indexes = new ArrayList<>(nullableIds.size());
+        for (var i = 0; i < nullableIds.size(); i++) {
+            final var id = nullableIds.get(i);
+            if (id == null) {
+                results.add(new BatchResultDTO(i, UNPROCESSABLE_CONTENT.value(), null, NULL_DETAIL));
+            } else {
+                ids.add(id);
+                indexes.add(i);
+            }
+        }
+        getLogger().debug("deleteBatch: #ids={}", ids.size());
+
+        final var batchResults = service.deleteAll(ids);
+        for (var j = 0; j < batchResults.size(); j++) {
+            results.add(toResultDTO(indexes.get(j), batchResults.get(j), null));
+        }
+        results.sort(Comparator.comparingInt(BatchResultDTO::index));
+        return ResponseEntity.status(MULTI_STATUS).body(results);
+    }
+
+    /// Einen vorhandenen Kunde-Datensatz überschreiben. Mit dem Header `If-Match` wird optimistisch synchronisiert:
+    /// Ist die Version daraus nicht mehr aktuell, wird mit dem Statuscode `412` geantwortet.
     ///
     /// @param id ID des zu aktualisierenden Kunden.
     /// @param kundeDTO Das Kundenobjekt aus dem eingegangenen Request-Body.
+    /// @param ifMatch ETag aus einem früheren Response oder null, um ohne Prüfung zu aktualisieren.
     @PutMapping(path = "{id:" + ID_PATTERN + "}", version = VERSION_1)
     @ResponseStatus(NO_CONTENT)
     @Operation(summary = "Einen Kunden mit neuen Werten aktualisieren", tags = "Aktualisieren")
@@ -117,14 +331,18 @@ class KundeWriteController {
     @ApiResponse(responseCode = "204", description = "Aktualisiert")
     @ApiResponse(responseCode = "400", description = "Syntaktische Fehler im Request-Body")
     @ApiResponse(responseCode = "404", description = "Kunde nicht vorhanden")
+    @ApiResponse(responseCode = "412", description = "Version aus If-Match veraltet")
     @ApiResponse(responseCode = "422", description = "Ungültige Werte oder Email vorhanden")
     void put(
         @PathVariable final UUID id,
-        @RequestBody @Validated final KundeDTO kundeDTO
+        @RequestBody @Validated final KundeDTO kundeDTO,
+        @RequestHeader(value = IF_MATCH, required = false) final @Nullable String ifMatch
     ) {
-        getLogger().debug("put: id={}, {}", id, kundeDTO);
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("put: id={}, {}, ifMatch={}", id, kundeDTO, ifMatch);
+        }
         final var kundeInput = mapper.toKunde(kundeDTO);
-        service.update(kundeInput, id);
+        service.update(kundeInput, id, ETags.version(ifMatch));
     }
 
     /// Einen vorhandenen Kunden anhand seiner ID löschen.
@@ -165,6 +383,36 @@ class KundeWriteController {
         return ErrorResponse.create(ex, UNPROCESSABLE_CONTENT, ex.getMessage());
     }
 
+    /// [ExceptionHandler] für [VersionOutdatedException]
+    ///
+    /// @param ex Exception für eine veraltete Version aus `If-Match`.
+    /// @return ErrorResponse mit `ProblemDetail` gemäß _RFC 9457_.
+    @ExceptionHandler
+    ErrorResponse onVersionOutdated(final VersionOutdatedException ex) {
+        getLogger().debug("onVersionOutdated: {}", ex.getMessage());
+        return ErrorResponse.create(ex, PRECONDITION_FAILED, ex.getMessage());
+    }
+
+    /// [ExceptionHandler] für [JacksonException]
+    ///
+    /// @param ex Exception für den syntaktisch falschen Request-Body bei der Batch-Verarbeitung.
+    /// @return ErrorResponse mit `ProblemDetail` gemäß _RFC 9457_.
+    @ExceptionHandler
+    ErrorResponse onJacksonException(final JacksonException ex) {
+        getLogger().debug("onJacksonException: {}", ex.getOriginalMessage());
+        return ErrorResponse.create(ex, BAD_REQUEST, ex.getOriginalMessage());
+    }
+
+    /// [ExceptionHandler] für [BatchTooLargeException]
+    ///
+    /// @param ex Exception für zu viele Datensätze im Request-Body bei der Batch-Verarbeitung.
+    /// @return ErrorResponse mit `ProblemDetail` gemäß _RFC 9457_.
+    @ExceptionHandler
+    ErrorResponse onBatchTooLarge(final BatchTooLargeException ex) {
+        getLogger().debug("onBatchTooLarge: {}", ex.getMessage());
+        return ErrorResponse.create(ex, CONTENT_TOO_LARGE, ex.getMessage());
+    }
+
     /// [ExceptionHandler] für [HttpMessageNotReadableException]
     ///
     /// @param ex Exception für den syntaktisch falschen Request-Body bei `POST` oder `PUT`.
@@ -176,6 +424,70 @@ class KundeWriteController {
         return ErrorResponse.create(ex, BAD_REQUEST, msg);
     }
 
+    /// Die Threads für die Validierung beim Herunterfahren beenden.
+    @PreDestroy
+    void close() {
+        validation.shutdown();
+    }
+
+    // Datensatz fuer Datensatz lesen, damit bei zu vielen Datensaetzen nicht der ganze Request-Body gelesen wird
+    private <D> List<@Nullable D> readAll(final InputStream body, final Class<D> type) {
+        final var maxSize = batchProps.maxSize();
+        final List<@Nullable D> dtos = new ArrayList<>();
+        try (MappingIterator<@Nullable D> iterator = jsonMapper.readerFor(type).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (dtos.size() == maxSize) {
+                    throw new BatchTooLargeException(maxSize);
+                }
+                dtos.add(iterator.nextValue());
+            }
+        }
+        return dtos;
+    }
+
+    // Fehlermeldung pro Datensatz oder null, falls er gueltig ist; parallel mit den Threads fuer die Validierung
+    private List<@Nullable String> validateAll(final List<?> dtos, final Class<?>... groups) {
+        final List<Callable<@Nullable String>> tasks = new ArrayList<>(dtos.size());
+        for (final var dto : dtos) {
+            tasks.add(() -> dto == null ? NULL_DETAIL : toDetail(validator.validate(dto, groups)));
+        }
+        try {
+            final List<@Nullable String> details = new ArrayList<>(tasks.size());
+            for (final var future : validation.invokeAll(tasks)) {
+                details.add(future.get());
+            }
+            return details;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Validierung unterbrochen", ex);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException("Validierung fehlgeschlagen", ex.getCause());
+        }
+    }
+
+    private static BatchResultDTO toResultDTO(final int index, final BatchResult result, final @Nullable URI location) {
+        return switch (result) {
+            case CREATED -> new BatchResultDTO(index, CREATED.value(), location, null);
+            case UPDATED, DELETED -> new BatchResultDTO(index, NO_CONTENT.value(), null, null);
+            case NOT_FOUND -> new BatchResultDTO(index, NOT_FOUND.value(), null, "Kein Kunde mit der ID");
+            case EMAIL_EXISTS ->
+                new BatchResultDTO(index, UNPROCESSABLE_CONTENT.value(), null, "Email existiert bereits");
+            case VERSION_OUTDATED -> new BatchResultDTO(index, PRECONDITION_FAILED.value(), null, "Version veraltet");
+            case UNAVAILABLE ->
+                new BatchResultDTO(index, SERVICE_UNAVAILABLE.value(), null, "Keine Aenderungen moeglich");
+        };
+    }
+
+    private static @Nullable String toDetail(final Collection<? extends ConstraintViolation<?>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
     private Logger getLogger() {
         return logger.orElseSet(() -> LoggerFactory.getLogger(KundeWriteController.class));
     }
@@ -18,7 +18,11 @@ package com.acme.racingteam.kunde.entity;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Collection;
+import java.util.Map;
 import java.util.stream.Stream;
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.toUnmodifiableMap;
 
 /// Enum für Interessen. Dazu können auf der Clientseite z.B. Checkboxen realisiert werden.
 ///
@@ -33,6 +37,9 @@ public enum InteresseType {
     /// _Reisen_ mit dem internen Wert `R` für z.B. das Mapping in einem JSON-Datensatz.
     REISEN("R");
 
+    private static final Map<String, InteresseType> BY_VALUE = Stream.of(values())
+        .collect(toUnmodifiableMap(interesse -> interesse.value.toUpperCase(ROOT), interesse -> interesse));
+
     private final String value;
 
     InteresseType(final String value) {
@@ -55,9 +62,28 @@ public enum InteresseType {
     /// @return Passender Enum-Wert oder null.
     @JsonCreator
     public static InteresseType of(final String value) {
-        return Stream.of(values())
-            .filter(interesse -> interesse.value.equalsIgnoreCase(value))
-            .findFirst()
-            .orElse(null);
+        return value == null ? null : BY_VALUE.get(value.toUpperCase(ROOT));
+    }
+
+    /// Das Bit dieses Enum-Werts für eine Bitmaske ermitteln.
+    ///
+    /// @return Die Bitmaske mit genau einem gesetzten Bit.
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    /// Interessen in eine Bitmaske umwandeln.
+    ///
+    /// @param interessen Die Interessen oder null.
+    /// @return Die Bitmaske mit einem Bit pro enthaltenem Interesse.
+    public static int mask(final Collection<InteresseType> interessen) {
+        if (interessen == null) {
+            return 0;
+        }
+        var mask = 0;
+        for (final var interesse : interessen) {
+            mask |= interesse.getMask();
+        }
+        return mask;
     }
 }
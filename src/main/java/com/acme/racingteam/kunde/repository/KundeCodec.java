@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.kunde.entity.Adresse;
+import com.acme.racingteam.kunde.entity.FamilienstandType;
+import com.acme.racingteam.kunde.entity.GeschlechtType;
+import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.kunde.entity.Rechnung;
+import com.acme.racingteam.store.Codec;
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import static com.acme.racingteam.store.Codec.getEnum;
+import static com.acme.racingteam.store.Codec.getString;
+import static com.acme.racingteam.store.Codec.putEnum;
+import static com.acme.racingteam.store.Codec.putString;
+
+/// Binäre Kodierung eines Kunden für Snapshot und Write-Ahead-Log. Fehlende Listen werden mit der Länge `-1` und
+/// ein fehlendes Geburtsdatum mit [Long#MIN_VALUE] kodiert.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+final class KundeCodec implements Codec<Kunde> {
+    private static final GeschlechtType[] GESCHLECHT = GeschlechtType.values();
+    private static final FamilienstandType[] FAMILIENSTAND = FamilienstandType.values();
+    private static final InteresseType[] INTERESSEN = InteresseType.values();
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    @Override
+    public void encode(final Kunde kunde, final ByteBuffer buffer) {
+        putString(buffer, kunde.getNachname());
+        putString(buffer, kunde.getEmail());
+        buffer.putInt(kunde.getKategorie());
+        buffer.put(kunde.isHasNewsletter() ? (byte) 1 : (byte) 0);
+        final @Nullable LocalDate geburtsdatum = kunde.getGeburtsdatum();
+        buffer.putLong(geburtsdatum == null ? NO_DATE : geburtsdatum.toEpochDay());
+        final @Nullable URL homepage = kunde.getHomepage();
+        putString(buffer, homepage == null ? null : homepage.toString());
+        putEnum(buffer, kunde.getGeschlecht());
+        putEnum(buffer, kunde.getFamilienstand());
+
+        final @Nullable Adresse adresse = kunde.getAdresse();
+        buffer.put(adresse == null ? (byte) 0 : (byte) 1);
+        if (adresse != null) {
+            putString(buffer, adresse.getPlz());
+            putString(buffer, adresse.getOrt());
+        }
+
+        final @Nullable List<Rechnung> rechnungen = kunde.getRechnungen();
+        buffer.putInt(rechnungen == null ? -1 : rechnungen.size());
+        if (rechnungen != null) {
+            for (final var rechnung : rechnungen) {
+                final @Nullable BigDecimal betrag = rechnung.getBetrag();
+                final @Nullable Currency waehrung = rechnung.getWaehrung();
+                putString(buffer, betrag == null ? null : betrag.toString());
+                putString(buffer, waehrung == null ? null : waehrung.getCurrencyCode());
+            }
+        }
+
+        final @Nullable List<InteresseType> interessen = kunde.getInteressen();
+        buffer.putInt(interessen == null ? -1 : interessen.size());
+        if (interessen != null) {
+            interessen.forEach(interesse -> putEnum(buffer, interesse));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("NullAway")
+    public Kunde decode(final UUID id, final ByteBuffer buffer) {
+        final var nachname = getString(buffer);
+        final var email = getString(buffer);
+        final var kategorie = buffer.getInt();
+        final var hasNewsletter = buffer.get() != 0;
+        final var epochDay = buffer.getLong();
+        final var geburtsdatum = epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+        final var homepage = toURL(getString(buffer));
+        final var geschlecht = getEnum(buffer, GESCHLECHT);
+        final var familienstand = getEnum(buffer, FAMILIENSTAND);
+        final var adresse = buffer.get() == 0 ? null : new Adresse(getString(buffer), getString(buffer));
+
+        final var anzahlRechnungen = buffer.getInt();
+        List<Rechnung> rechnungen = null;
+        if (anzahlRechnungen >= 0) {
+            rechnungen = new ArrayList<>(anzahlRechnungen);
+            for (var i = 0; i < anzahlRechnungen; i++) {
+                final var betrag = getString(buffer);
+                final var waehrung = getString(buffer);
+                rechnungen.add(new Rechnung(
+                    betrag == null ? null : new BigDecimal(betrag),
+                    waehrung == null ? null : Currency.getInstance(waehrung)
+                ));
+            }
+        }
+
+        final var anzahlInteressen = buffer.getInt();
+        List<InteresseType> interessen = null;
+        if (anzahlInteressen >= 0) {
+            interessen = new ArrayList<>(anzahlInteressen);
+            for (var i = 0; i < anzahlInteressen; i++) {
+                interessen.add(getEnum(buffer, INTERESSEN));
+            }
+        }
+
+        return new Kunde(
+            id,
+            nachname,
+            email,
+            kategorie,
+            hasNewsletter,
+            geburtsdatum,
+            homepage,
+            geschlecht,
+            familienstand,
+            adresse,
+            rechnungen,
+            interessen
+        );
+    }
+
+    private static @Nullable URL toURL(final @Nullable String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            return URI.create(url).toURL();
+        } catch (final MalformedURLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
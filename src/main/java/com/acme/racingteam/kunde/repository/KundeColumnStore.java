@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.store.QueryEvent;
+import com.acme.racingteam.store.StoreListener;
+import com.acme.racingteam.store.VersionedStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/// Verwaltung der spaltenorientierten Kopie [KundeColumns]. Die IDs der seit dem Schreiben der Kopie geänderten
+/// Kunden werden mitgeführt: bei einer Suche werden die unveränderten Zeilen aus der Kopie gelesen und die geänderten
+/// Kunden aus der Datenhaltung auf dem Heap, beides aufsteigend nach der ID zusammengeführt. Die Kopie wird erst neu
+/// geschrieben, wenn die Anzahl der geänderten Kunden eine Schwelle erreicht.
+///
+/// Für eine neue Kopie werden die Änderungen bereits vor dem Lesen der Kunden gesammelt. Eine Änderung während des
+/// Schreibens wird deshalb anschließend ebenfalls vom Heap gelesen.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+final class KundeColumnStore implements StoreListener<Kunde> {
+    private final StableValue<Logger> logger = StableValue.of();
+    private volatile @Nullable Snapshot snapshot;
+    private volatile @Nullable Changes pending;
+
+    @Override
+    public void changed(final UUID id, final @Nullable Kunde previous, final @Nullable Kunde current) {
+        // zuerst pending lesen: ist es bereits null, dann ist der neue Snapshot schon sichtbar
+        final var next = pending;
+        if (next != null) {
+            next.add(id);
+        }
+        final var columns = snapshot;
+        if (columns != null) {
+            columns.changes().add(id);
+        }
+    }
+
+    /// Kunden über die spaltenorientierte Kopie suchen, ergänzt um die seither geänderten Kunden vom Heap.
+    ///
+    /// @param store Die Kunden, aus denen die geänderten Kunden gelesen werden.
+    /// @param query Der Abfrageplan zu den Suchparametern, um die geänderten Kunden zu prüfen.
+    /// @param suchparameter Die Suchparameter.
+    /// @param after Die ID, nach der begonnen wird, oder null für den Anfang.
+    /// @param event JFR-Event, in dem die gelesenen Zeilen gezählt werden.
+    /// @return Die gefundenen Kunden aufsteigend sortiert nach der ID oder null, falls es keine Kopie gibt.
+    @Nullable Stream<Kunde> find(
+        final VersionedStore<Kunde> store,
+        final KundeQuery query,
+        final Map<String, ? extends List<String>> suchparameter,
+        final @Nullable UUID after,
+        final QueryEvent event
+    ) {
+        final var current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        final var changed = current.changes().ids();
+        final var unchanged = current.columns().find(suchparameter, after, changed, event);
+        if (unchanged == null) {
+            return null;
+        }
+        if (changed.isEmpty()) {
+            return unchanged;
+        }
+        final var heap = event.scan((after == null ? changed : changed.tailSet(after, false)).stream())
+            .map(store::get)
+            .filter(Objects::nonNull)
+            .filter(query::matches);
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                new MergingIterator(unchanged.iterator(), heap.iterator()),
+                Spliterator.ORDERED
+            ),
+            false
+        );
+    }
+
+    /// Die Anzahl der Kunden, die seit dem Schreiben der Kopie geändert wurden und deshalb vom Heap gelesen werden.
+    ///
+    /// @return Die Anzahl oder -1, falls es keine Kopie gibt.
+    int changes() {
+        final var current = snapshot;
+        return current == null ? -1 : current.changes().count();
+    }
+
+    /// Die Kopie neu schreiben, falls es keine gibt oder mindestens `maxChanges` Kunden seither geändert wurden.
+    ///
+    /// @param store Die Kunden.
+    /// @param file Die Datei für die Kopie.
+    /// @param maxChanges Die Anzahl geänderter Kunden, ab der die Kopie neu geschrieben wird.
+    /// @throws IOException Falls die Datei nicht geschrieben werden kann.
+    synchronized void refresh(final VersionedStore<Kunde> store, final Path file, final int maxChanges)
+        throws IOException {
+        final var current = snapshot;
+        if (current != null && current.changes().count() < maxChanges) {
+            return;
+        }
+        final var changes = new Changes();
+        pending = changes;
+        try {
+            final var columns = KundeColumns.write(store, file);
+            snapshot = new Snapshot(columns, changes);
+            getLogger().debug("refresh: {} Zeilen, {} Aenderungen waehrend des Schreibens", columns.rows(),
+                changes.count());
+        } finally {
+            pending = null;
+        }
+    }
+
+    private Logger getLogger() {
+        return logger.orElseSet(() -> LoggerFactory.getLogger(KundeColumnStore.class));
+    }
+
+    /// Eine eingeblendete Kopie mit den IDs der seither geänderten Kunden.
+    private record Snapshot(KundeColumns columns, Changes changes) {
+    }
+
+    /// Die IDs der geänderten Kunden, aufsteigend sortiert, mit ihrer Anzahl in O(1).
+    private static final class Changes {
+        private final NavigableSet<UUID> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger count = new AtomicInteger();
+
+        void add(final UUID id) {
+            if (ids.add(id)) {
+                count.incrementAndGet();
+            }
+        }
+
+        NavigableSet<UUID> ids() {
+            return ids;
+        }
+
+        int count() {
+            return count.get();
+        }
+    }
+
+    /// Zusammenführen zweier nach der ID sortierter, disjunkter Folgen von Kunden.
+    private static final class MergingIterator implements Iterator<Kunde> {
+        private final Iterator<Kunde> first;
+        private final Iterator<Kunde> second;
+        private @Nullable Kunde nextFirst;
+        private @Nullable Kunde nextSecond;
+
+        MergingIterator(final Iterator<Kunde> first, final Iterator<Kunde> second) {
+            this.first = first;
+            this.second = second;
+            nextFirst = first.hasNext() ? first.next() : null;
+            nextSecond = second.hasNext() ? second.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextFirst != null || nextSecond != null;
+        }
+
+        @Override
+        public Kunde next() {
+            final var a = nextFirst;
+            final var b = nextSecond;
+            if (a != null && (b == null || a.getId().compareTo(b.getId()) < 0)) {
+                nextFirst = first.hasNext() ? first.next() : null;
+                return a;
+            }
+            if (b == null) {
+                throw new NoSuchElementException();
+            }
+            nextSecond = second.hasNext() ? second.next() : null;
+            return b;
+        }
+    }
+}
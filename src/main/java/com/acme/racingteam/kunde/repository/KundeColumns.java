@@ -0,0 +1,585 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.kunde.entity.Adresse;
+import com.acme.racingteam.kunde.entity.FamilienstandType;
+import com.acme.racingteam.kunde.entity.GeschlechtType;
+import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.kunde.entity.Rechnung;
+import com.acme.racingteam.store.Codec;
+import com.acme.racingteam.store.QueryEvent;
+import com.acme.racingteam.store.VersionedStore;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/// Spaltenorientierte, unveränderliche Kopie der Kunden in einer per `mmap` eingeblendeten Datei. Die Daten liegen
+/// außerhalb des Heap, d.h. sie verursachen keine Last für die Garbage Collection.
+///
+/// - Feste Breite pro Zeile: ID, Kategorie, Geschlecht, Familienstand, Flags, Geburtsdatum als Epochentag und die
+///   Interessen als Bitmaske.
+/// - Strings werden pro Spalte über ein sortiertes Wörterbuch kodiert, d.h. eine Zeile enthält nur den Code. Ein
+///   Präfix entspricht deshalb einem zusammenhängenden Bereich von Codes.
+/// - Rechnungen stehen in einem Bereich variabler Länge, auf den die Zeile per Offset verweist. Die Offsets folgen
+///   nach diesem Bereich, damit die Rechnungen beim Schreiben direkt in die Datei kodiert werden können.
+///
+/// Die Zeilen sind aufsteigend nach der ID sortiert. Eine Suche prüft nur die Spalten der Suchparameter und erzeugt
+/// Kunde-Objekte erst für die gelesenen Treffer.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@SuppressWarnings({"ClassWithTooManyFields", "ClassWithTooManyMethods"})
+final class KundeColumns {
+    private static final int MAGIC = 0x4B434F4C;
+    private static final int FORMAT = 2;
+    private static final int NULL = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int ID_BYTES = 2 * Long.BYTES;
+    private static final int OUTPUT_BUFFER = 1 << 20;
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int INITIAL_RECHNUNGEN_BUFFER = 1024;
+
+    private static final byte NEWSLETTER = 1;
+    private static final byte ADRESSE = 1 << 1;
+    private static final byte RECHNUNGEN = 1 << 2;
+    private static final byte INTERESSEN = 1 << 3;
+
+    private static final GeschlechtType[] GESCHLECHT = GeschlechtType.values();
+    private static final FamilienstandType[] FAMILIENSTAND = FamilienstandType.values();
+    private static final InteresseType[] INTERESSE = InteresseType.values();
+
+    private final int rows;
+    private final ByteBuffer ids;
+    private final ByteBuffer kategorie;
+    private final ByteBuffer geschlecht;
+    private final ByteBuffer familienstand;
+    private final ByteBuffer flags;
+    private final ByteBuffer geburtsdatum;
+    private final ByteBuffer interessen;
+    private final ByteBuffer rechnungen;
+    private final Dictionary nachname;
+    private final Dictionary email;
+    private final Dictionary homepage;
+    private final Dictionary plz;
+    private final Dictionary ort;
+    private final ByteBuffer rechnungenData;
+
+    private KundeColumns(final ByteBuffer file) {
+        if (file.getInt() != MAGIC || file.getInt() != FORMAT) {
+            throw new IllegalStateException("Ungueltige Spaltendatei");
+        }
+        rows = file.getInt();
+        ids = section(file, rows * ID_BYTES);
+        kategorie = section(file, rows);
+        geschlecht = section(file, rows);
+        familienstand = section(file, rows);
+        flags = section(file, rows);
+        geburtsdatum = section(file, rows * Integer.BYTES);
+        interessen = section(file, rows * Integer.BYTES);
+        nachname = new Dictionary(file, rows);
+        email = new Dictionary(file, rows);
+        homepage = new Dictionary(file, rows);
+        plz = new Dictionary(file, rows);
+        ort = new Dictionary(file, rows);
+        rechnungenData = section(file, file.getInt());
+        rechnungen = section(file, rows * Integer.BYTES);
+    }
+
+    /// Die Kunden spaltenweise in eine Datei schreiben und diese anschließend einblenden. Die Datei wird zunächst
+    /// unter einem temporären Namen geschrieben und danach atomar umbenannt, so dass eine bereits eingeblendete
+    /// ältere Version gültig bleibt.
+    ///
+    /// Auf dem Heap liegen dabei nur die Referenzen auf die Kunden, damit alle Spalten dieselben Zeilen enthalten, die
+    /// verschiedenen Einträge der Wörterbücher und die Offsets der Rechnungen. Die Rechnungen werden zeilenweise in
+    /// einen wiederverwendeten Puffer kodiert und direkt geschrieben.
+    ///
+    /// @param store Die Kunden.
+    /// @param file Die Zieldatei.
+    /// @return Die eingeblendete Spaltendatei.
+    /// @throws IOException Falls die Datei nicht geschrieben werden kann.
+    static KundeColumns write(final VersionedStore<Kunde> store, final Path file) throws IOException {
+        final List<Kunde> kunden = new ArrayList<>(store.size());
+        store.forEach((_, kunde) -> kunden.add(kunde));
+        final var rows = kunden.size();
+
+        final var nachnamen = new DictionaryBuilder(kunden, Kunde::getNachname);
+        final var emails = new DictionaryBuilder(kunden, Kunde::getEmail);
+        final var homepages = new DictionaryBuilder(kunden, kunde -> {
+            final @Nullable URL url = kunde.getHomepage();
+            return url == null ? null : url.toString();
+        });
+        final var plzs = new DictionaryBuilder(kunden, kunde -> {
+            final @Nullable Adresse adresse = kunde.getAdresse();
+            return adresse == null ? null : adresse.getPlz();
+        });
+        final var orte = new DictionaryBuilder(kunden, kunde -> {
+            final @Nullable Adresse adresse = kunde.getAdresse();
+            return adresse == null ? null : adresse.getOrt();
+        });
+
+        final var tmp = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (var channel = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING);
+             var out = new DataOutputStream(
+                 new BufferedOutputStream(Channels.newOutputStream(channel), OUTPUT_BUFFER)
+             )) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeInt(rows);
+            for (final var kunde : kunden) {
+                out.writeLong(kunde.getId().getMostSignificantBits());
+                out.writeLong(kunde.getId().getLeastSignificantBits());
+            }
+            for (final var kunde : kunden) {
+                out.writeByte(kunde.getKategorie());
+            }
+            for (final var kunde : kunden) {
+                out.writeByte(ordinal(kunde.getGeschlecht()));
+            }
+            for (final var kunde : kunden) {
+                out.writeByte(ordinal(kunde.getFamilienstand()));
+            }
+            for (final var kunde : kunden) {
+                out.writeByte(flags(kunde));
+            }
+            for (final var kunde : kunden) {
+                final @Nullable LocalDate datum = kunde.getGeburtsdatum();
+                out.writeInt(datum == null ? NO_DATE : Math.toIntExact(datum.toEpochDay()));
+            }
+            for (final var kunde : kunden) {
+                final @Nullable List<InteresseType> liste = kunde.getInteressen();
+                out.writeInt(liste == null ? 0 : InteresseType.mask(liste));
+            }
+            nachnamen.write(out);
+            emails.write(out);
+            homepages.write(out);
+            plzs.write(out);
+            orte.write(out);
+
+            // Laenge des Bereichs erst nach dem Schreiben bekannt: Platzhalter, der anschliessend ersetzt wird
+            final var lengthPosition = out.size();
+            out.writeInt(0);
+            final var dataStart = out.size();
+            final var rechnungenOffsets = new int[rows];
+            var buffer = ByteBuffer.allocate(INITIAL_RECHNUNGEN_BUFFER);
+            for (var row = 0; row < rows; row++) {
+                rechnungenOffsets[row] = out.size() - dataStart;
+                buffer = encodeRechnungen(buffer.clear(), kunden.get(row).getRechnungen());
+                out.write(buffer.array(), 0, buffer.position());
+            }
+            final var dataLength = out.size() - dataStart;
+            for (final var offset : rechnungenOffsets) {
+                out.writeInt(offset);
+            }
+            out.flush();
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, dataLength), lengthPosition);
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Spaltendatei zu gross fuer mmap: " + channel.size());
+            }
+        }
+        Files.move(tmp, file, ATOMIC_MOVE, REPLACE_EXISTING);
+        return open(file);
+    }
+
+    /// Eine vorhandene Spaltendatei einblenden.
+    ///
+    /// @param file Die Datei.
+    /// @return Die eingeblendete Spaltendatei.
+    /// @throws IOException Falls die Datei nicht gelesen werden kann.
+    static KundeColumns open(final Path file) throws IOException {
+        try (var channel = FileChannel.open(file, READ)) {
+            return new KundeColumns(channel.map(READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /// Die Anzahl der Zeilen.
+    ///
+    /// @return Die Anzahl der Kunden.
+    int rows() {
+        return rows;
+    }
+
+    /// Kunden anhand von Suchparametern ermitteln, mit denselben Suchparametern wie [KundeQuery].
+    ///
+    /// @param suchparameter Die Suchparameter; mehrere Werte zu einem Parameter werden UND-verknüpft.
+    /// @param after Die ID, nach der begonnen wird, oder null für den Anfang.
+    /// @param skip Die IDs der Zeilen, die übersprungen werden, z.B. weil die Kunden inzwischen geändert wurden.
+    /// @param event JFR-Event, in dem die gelesenen Zeilen gezählt werden.
+    /// @return Die gefundenen Kunden aufsteigend sortiert nach der ID oder null bei ungültigen Suchparametern.
+    @Nullable Stream<Kunde> find(
+        final Map<String, ? extends List<String>> suchparameter,
+        final @Nullable UUID after,
+        final Set<UUID> skip,
+        final QueryEvent event
+    ) {
+        var filter = filter(suchparameter);
+        if (filter == null) {
+            return null;
+        }
+        if (!skip.isEmpty()) {
+            // erst nach den Spalten der Suchparameter, weil dafuer die ID der Zeile erzeugt wird
+            filter = filter.and(row -> !skip.contains(id(row)));
+        }
+        return event.scan(IntStream.range(firstRowAfter(after), rows))
+            .filter(filter)
+            .mapToObj(this::materialize);
+    }
+
+    /// Einen Kunden aus den Spalten einer Zeile erzeugen.
+    ///
+    /// @param row Die Zeile.
+    /// @return Der neu erzeugte Kunde.
+    @SuppressWarnings("NullAway")
+    Kunde materialize(final int row) {
+        final var rowFlags = flags.get(row);
+        final var epochDay = geburtsdatum.getInt(row * Integer.BYTES);
+        final var url = homepage.get(homepage.code(row));
+        final var adresse = (rowFlags & ADRESSE) == 0
+            ? null
+            : new Adresse(plz.get(plz.code(row)), ort.get(ort.code(row)));
+        final var mask = interessen.getInt(row * Integer.BYTES);
+        final List<InteresseType> interessenListe = (rowFlags & INTERESSEN) == 0
+            ? null
+            : new ArrayList<>(Arrays.stream(INTERESSE).filter(interesse -> (mask & interesse.getMask()) != 0).toList());
+        return new Kunde(
+            id(row),
+            nachname.get(nachname.code(row)),
+            email.get(email.code(row)),
+            kategorie.get(row),
+            (rowFlags & NEWSLETTER) != 0,
+            epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay),
+            url == null ? null : toURL(url),
+            enumValue(geschlecht.get(row), GESCHLECHT),
+            enumValue(familienstand.get(row), FAMILIENSTAND),
+            adresse,
+            (rowFlags & RECHNUNGEN) == 0 ? null : decodeRechnungen(rechnungen.getInt(row * Integer.BYTES)),
+            interessenListe
+        );
+    }
+
+    private @Nullable IntPredicate filter(final Map<String, ? extends List<String>> suchparameter) {
+        IntPredicate filter = _ -> true;
+        for (final var entry : suchparameter.entrySet()) {
+            for (final var value : entry.getValue()) {
+                final var criterion = criterion(entry.getKey(), value);
+                if (criterion == null) {
+                    return null;
+                }
+                filter = filter.and(criterion);
+            }
+        }
+        return filter;
+    }
+
+    @SuppressWarnings("CyclomaticComplexity")
+    private @Nullable IntPredicate criterion(final String name, final String value) {
+        return switch (name) {
+            case "nachname" -> nachname.matching(row -> row.contains(value));
+            case "email" -> {
+                final var id = MockDB.EMAILS.get(value);
+                final var row = id == null ? -1 : row(id);
+                yield candidate -> candidate == row;
+            }
+            case "kategorie" -> {
+                final int wert;
+                try {
+                    wert = Integer.parseInt(value);
+                } catch (final NumberFormatException _) {
+                    yield null;
+                }
+                yield row -> kategorie.get(row) == wert;
+            }
+            case "geschlecht" -> {
+                final var wert = GeschlechtType.of(value);
+                yield wert == null ? null : row -> geschlecht.get(row) == wert.ordinal();
+            }
+            case "familienstand" -> {
+                final var wert = FamilienstandType.of(value);
+                yield wert == null ? null : row -> familienstand.get(row) == wert.ordinal();
+            }
+            case "interesse" -> {
+                final var wert = InteresseType.of(value);
+                yield wert == null ? null : row -> (interessen.getInt(row * Integer.BYTES) & wert.getMask()) != 0;
+            }
+            case "plz" -> plz.prefix(value);
+            case "ort" -> ort.prefix(value);
+            default -> null;
+        };
+    }
+
+    private UUID id(final int row) {
+        final var offset = row * ID_BYTES;
+        return new UUID(ids.getLong(offset), ids.getLong(offset + Long.BYTES));
+    }
+
+    // Binaere Suche ueber die sortierte ID-Spalte
+    private int row(final UUID id) {
+        final var row = firstRowAfter(id) - 1;
+        return row >= 0 && id(row).equals(id) ? row : -1;
+    }
+
+    private int firstRowAfter(final @Nullable UUID after) {
+        if (after == null) {
+            return 0;
+        }
+        var low = 0;
+        var high = rows;
+        while (low < high) {
+            final var mid = (low + high) >>> 1;
+            if (id(mid).compareTo(after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Rechnung> decodeRechnungen(final int offset) {
+        final var buffer = rechnungenData.duplicate().position(offset);
+        final var count = buffer.getInt();
+        final List<Rechnung> liste = new ArrayList<>(count);
+        for (var i = 0; i < count; i++) {
+            final var betrag = Objects.requireNonNull(Codec.getString(buffer));
+            final var waehrung = Objects.requireNonNull(Codec.getString(buffer));
+            liste.add(new Rechnung(new BigDecimal(betrag), Currency.getInstance(waehrung)));
+        }
+        return liste;
+    }
+
+    private static ByteBuffer encodeRechnungen(final ByteBuffer buffer, final @Nullable List<Rechnung> liste) {
+        var target = buffer;
+        while (true) {
+            final var start = target.position();
+            try {
+                if (liste == null) {
+                    return target;
+                }
+                target.putInt(liste.size());
+                for (final var rechnung : liste) {
+                    Codec.putString(target, rechnung.getBetrag().toString());
+                    Codec.putString(target, rechnung.getWaehrung().getCurrencyCode());
+                }
+                return target;
+            } catch (final BufferOverflowException _) {
+                target = ByteBuffer.allocate(target.capacity() << 1).put(target.flip().limit(start));
+            }
+        }
+    }
+
+    private static byte flags(final Kunde kunde) {
+        var result = 0;
+        if (kunde.isHasNewsletter()) {
+            result |= NEWSLETTER;
+        }
+        if (kunde.getAdresse() != null) {
+            result |= ADRESSE;
+        }
+        if (kunde.getRechnungen() != null) {
+            result |= RECHNUNGEN;
+        }
+        if (kunde.getInteressen() != null) {
+            result |= INTERESSEN;
+        }
+        return (byte) result;
+    }
+
+    private static int ordinal(final @Nullable Enum<?> value) {
+        return value == null ? NULL : value.ordinal();
+    }
+
+    private static <E extends Enum<E>> @Nullable E enumValue(final byte ordinal, final E[] values) {
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    private static URL toURL(final String url) {
+        try {
+            return URI.create(url).toURL();
+        } catch (final MalformedURLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static ByteBuffer section(final ByteBuffer file, final int length) {
+        final var section = file.slice(file.position(), length);
+        file.position(file.position() + length);
+        return section;
+    }
+
+    /// Sortiertes Wörterbuch einer String-Spalte in der eingeblendeten Datei: die Codes pro Zeile, die Offsets der
+    /// Einträge und die Einträge als UTF-8.
+    private static final class Dictionary {
+        private final ByteBuffer codes;
+        private final int size;
+        private final ByteBuffer offsets;
+        private final ByteBuffer bytes;
+
+        Dictionary(final ByteBuffer file, final int rows) {
+            codes = section(file, rows * Integer.BYTES);
+            size = file.getInt();
+            offsets = section(file, (size + 1) * Integer.BYTES);
+            bytes = section(file, offsets.getInt(size * Integer.BYTES));
+        }
+
+        int code(final int row) {
+            return codes.getInt(row * Integer.BYTES);
+        }
+
+        @Nullable String get(final int code) {
+            if (code == NULL) {
+                return null;
+            }
+            return new String(entry(code), UTF_8);
+        }
+
+        /// Zeilen, deren Eintrag eine Bedingung erfüllt. Jeder Eintrag wird dafür genau einmal geprüft.
+        IntPredicate matching(final Predicate<String> predicate) {
+            final var matches = new BitSet(size);
+            for (var code = 0; code < size; code++) {
+                if (predicate.test(new String(entry(code), UTF_8))) {
+                    matches.set(code);
+                }
+            }
+            return row -> {
+                final var code = code(row);
+                return code != NULL && matches.get(code);
+            };
+        }
+
+        /// Zeilen, deren Eintrag mit einem Präfix beginnt: ein zusammenhängender Bereich von Codes.
+        IntPredicate prefix(final String prefix) {
+            final var key = prefix.getBytes(UTF_8);
+            final var from = search(key, false);
+            final var to = search(key, true);
+            return row -> {
+                final var code = code(row);
+                return code >= from && code < to;
+            };
+        }
+
+        // erster Code, dessen Eintrag >= key ist bzw. bei upper nicht mehr mit key beginnt
+        private int search(final byte[] key, final boolean upper) {
+            var low = 0;
+            var high = size;
+            while (low < high) {
+                final var mid = (low + high) >>> 1;
+                final var entry = entry(mid);
+                final var compared = upper
+                    ? Arrays.compareUnsigned(entry, 0, Math.min(entry.length, key.length), key, 0, key.length)
+                    : Arrays.compareUnsigned(entry, key);
+                if (compared < 0 || upper && compared == 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private byte[] entry(final int code) {
+            final var start = offsets.getInt(code * Integer.BYTES);
+            final var end = offsets.getInt((code + 1) * Integer.BYTES);
+            final var entry = new byte[end - start];
+            bytes.get(start, entry);
+            return entry;
+        }
+    }
+
+    /// Aufbau eines sortierten Wörterbuchs beim Schreiben. Es enthält nur die verschiedenen Einträge; die Codes pro
+    /// Zeile werden erst beim Schreiben ermittelt.
+    private static final class DictionaryBuilder {
+        private final List<Kunde> kunden;
+        private final Function<Kunde, @Nullable String> column;
+        private final List<byte[]> entries;
+        private final Map<String, Integer> codes;
+
+        DictionaryBuilder(final List<Kunde> kunden, final Function<Kunde, @Nullable String> column) {
+            this.kunden = kunden;
+            this.column = column;
+            final Map<String, byte[]> distinct = new HashMap<>();
+            for (final var kunde : kunden) {
+                final var value = column.apply(kunde);
+                if (value != null) {
+                    distinct.computeIfAbsent(value, entry -> entry.getBytes(UTF_8));
+                }
+            }
+            final var sorted = distinct.entrySet()
+                .stream()
+                .sorted((a, b) -> Arrays.compareUnsigned(a.getValue(), b.getValue()))
+                .toList();
+            entries = new ArrayList<>(sorted.size());
+            codes = HashMap.newHashMap(sorted.size());
+            for (final var entry : sorted) {
+                codes.put(entry.getKey(), entries.size());
+                entries.add(entry.getValue());
+            }
+        }
+
+        void write(final DataOutputStream out) throws IOException {
+            for (final var kunde : kunden) {
+                final var value = column.apply(kunde);
+                out.writeInt(value == null ? NULL : codes.get(value));
+            }
+            out.writeInt(entries.size());
+            var offset = 0;
+            out.writeInt(offset);
+            for (final var entry : entries) {
+                offset += entry.length;
+                out.writeInt(offset);
+            }
+            for (final var entry : entries) {
+                out.write(entry);
+            }
+        }
+    }
+}
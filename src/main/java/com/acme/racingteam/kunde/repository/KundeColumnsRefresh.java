@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.config.ColumnStoreProperties;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import static com.acme.racingteam.kunde.repository.MockDB.COLUMNS;
+import static com.acme.racingteam.kunde.repository.MockDB.KUNDEN;
+
+/// Periodisches Neuschreiben der spaltenorientierten Kopie der Kunden, falls `app.columns.enabled` gesetzt ist. Die
+/// Kopie wird nur neu geschrieben, wenn seit dem letzten Schreiben mindestens `app.columns.max-changes` Kunden
+/// geändert wurden; bis dahin werden die geänderten Kunden vom Heap gelesen.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@Component
+@Lazy(false)
+@ConditionalOnBooleanProperty("app.columns.enabled")
+class KundeColumnsRefresh {
+    private final ColumnStoreProperties props;
+    private final ScheduledExecutorService scheduler;
+    private final StableValue<Logger> logger = StableValue.of();
+
+    /// Konstruktor mit `package private` für _Spring_: die Kopie schreiben und das Neuschreiben einplanen.
+    ///
+    /// @param props Die Konfiguration mit Datei und Intervall.
+    /// @throws IOException Falls die Datei nicht geschrieben werden kann.
+    KundeColumnsRefresh(final ColumnStoreProperties props) throws IOException {
+        this.props = props;
+        COLUMNS.refresh(KUNDEN, props.file(), props.maxChanges());
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("kunde-columns").daemon().factory()
+        );
+        final var interval = props.refreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /// Das Neuschreiben beim Herunterfahren beenden.
+    @PreDestroy
+    void close() {
+        scheduler.shutdown();
+    }
+
+    private void refresh() {
+        try {
+            COLUMNS.refresh(KUNDEN, props.file(), props.maxChanges());
+        } catch (final IOException | RuntimeException ex) {
+            getLogger().error("refresh: {}", props.file(), ex);
+        }
+    }
+
+    private Logger getLogger() {
+        return logger.orElseSet(() -> LoggerFactory.getLogger(KundeColumnsRefresh.class));
+    }
+}
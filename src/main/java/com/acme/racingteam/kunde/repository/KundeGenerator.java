@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.config.GeneratorProperties;
+import com.acme.racingteam.kunde.entity.Adresse;
+import com.acme.racingteam.kunde.entity.FamilienstandType;
+import com.acme.racingteam.kunde.entity.GeschlechtType;
+import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.kunde.entity.Rechnung;
+import com.acme.racingteam.store.Synthetic;
+import com.acme.racingteam.store.Synthetic.Choice;
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import static com.acme.racingteam.kunde.entity.FamilienstandType.GESCHIEDEN;
+import static com.acme.racingteam.kunde.entity.FamilienstandType.LEDIG;
+import static com.acme.racingteam.kunde.entity.FamilienstandType.VERHEIRATET;
+import static com.acme.racingteam.kunde.entity.FamilienstandType.VERWITWET;
+import static com.acme.racingteam.kunde.entity.GeschlechtType.DIVERS;
+import static com.acme.racingteam.kunde.entity.GeschlechtType.MAENNLICH;
+import static com.acme.racingteam.kunde.entity.GeschlechtType.WEIBLICH;
+import static com.acme.racingteam.kunde.repository.MockDB.EMAILS;
+import static com.acme.racingteam.kunde.repository.MockDB.KUNDEN;
+import static java.util.Locale.GERMANY;
+
+/// Synthetische Kunden, die beim Start zusätzlich zu den Testdaten aus [MockDB] erzeugt werden, falls
+/// `app.generator.enabled` gesetzt ist.
+///
+/// - Nachnamen sind nach dem Zipf-Gesetz über die häufigsten deutschen Nachnamen verteilt, Postleitzahlen und Orte
+///   nach der Einwohnerzahl großer Städte. Interessen sind unabhängig voneinander, die Anzahl der Rechnungen ist
+///   Poisson-verteilt und die Beträge sind log-normalverteilt.
+/// - Jeder Kunde hängt nur von Seed und laufender Nummer ab. Deshalb werden die Kunden parallel erzeugt und
+///   eingefügt. Bei einem erneuten Start mit demselben Seed, z.B. mit `app.journal.enabled`, sind die Emailadressen
+///   bereits vergeben und es entstehen keine Duplikate.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@Component
+@Lazy(false)
+@ConditionalOnBooleanProperty("app.generator.enabled")
+@SuppressWarnings("MagicNumber")
+class KundeGenerator {
+    private static final Choice<String> NACHNAMEN = Choice.zipf(List.of(
+        "Müller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann",
+        "Schäfer", "Koch", "Bauer", "Richter", "Klein", "Wolf", "Schröder", "Neumann", "Schwarz", "Zimmermann",
+        "Braun", "Krüger", "Hofmann", "Hartmann", "Lange", "Schmitt", "Werner", "Schmitz", "Krause", "Meier",
+        "Lehmann", "Schmid", "Schulze", "Maier", "Köhler", "Herrmann", "König", "Walter", "Mayer", "Huber",
+        "Kaiser", "Fuchs", "Peters", "Lang", "Scholz", "Möller", "Weiß", "Jung", "Hahn", "Schubert"
+    ), 1.0);
+
+    // Ort mit den ersten beiden Ziffern der Postleitzahl, gewichtet mit der Einwohnerzahl in Tausend
+    private static final Choice<Ort> ORTE = Choice.weighted(
+        List.of(
+            new Ort("Berlin", "10"), new Ort("Hamburg", "20"), new Ort("München", "80"),
+            new Ort("Köln", "50"), new Ort("Frankfurt am Main", "60"), new Ort("Stuttgart", "70"),
+            new Ort("Düsseldorf", "40"), new Ort("Leipzig", "04"), new Ort("Dortmund", "44"),
+            new Ort("Essen", "45"), new Ort("Bremen", "28"), new Ort("Dresden", "01"),
+            new Ort("Hannover", "30"), new Ort("Nürnberg", "90"), new Ort("Duisburg", "47"),
+            new Ort("Bochum", "44"), new Ort("Wuppertal", "42"), new Ort("Bielefeld", "33"),
+            new Ort("Bonn", "53"), new Ort("Münster", "48"), new Ort("Mannheim", "68"),
+            new Ort("Karlsruhe", "76"), new Ort("Augsburg", "86"), new Ort("Wiesbaden", "65"),
+            new Ort("Aachen", "52"), new Ort("Freiburg im Breisgau", "79"), new Ort("Kiel", "24")
+        ),
+        3_755, 1_892, 1_512, 1_084, 773, 633, 631, 616, 595, 584, 577, 566, 548, 529, 503, 366, 358, 338, 336,
+        322, 315, 308, 304, 283, 249, 237, 247
+    );
+
+    private static final Choice<GeschlechtType> GESCHLECHT = Choice.weighted(List.of(MAENNLICH, WEIBLICH, DIVERS),
+        49, 49, 2);
+    private static final Choice<FamilienstandType> FAMILIENSTAND = Choice.weighted(
+        List.of(LEDIG, VERHEIRATET, GESCHIEDEN, VERWITWET),
+        41, 43, 10, 6
+    );
+    private static final Choice<String> DOMAINS = Choice.weighted(
+        List.of("gmx.de", "web.de", "gmail.com", "t-online.de", "outlook.de", "acme.de"),
+        25, 22, 25, 12, 10, 6
+    );
+    private static final Choice<Currency> WAEHRUNG = Choice.weighted(
+        List.of(Currency.getInstance(GERMANY), Currency.getInstance("CHF"), Currency.getInstance("USD")),
+        90, 7, 3
+    );
+    private static final Map<InteresseType, Double> INTERESSEN = Map.of(
+        InteresseType.SPORT, 0.4,
+        InteresseType.LESEN, 0.35,
+        InteresseType.REISEN, 0.5
+    );
+    private static final double DOPPELNAME = 0.04;
+    private static final double NEWSLETTER = 0.35;
+    private static final double RECHNUNGEN_MEAN = 2.0;
+    private static final int RECHNUNGEN_MAX = 20;
+    private static final double BETRAG_MEDIAN = 40.0;
+    private static final double BETRAG_SIGMA = 0.9;
+    private static final LocalDate STICHTAG = LocalDate.of(2025, 1, 1);
+
+    private final StableValue<Logger> logger = StableValue.of();
+
+    /// Konstruktor mit `package private` für _Spring_: die Kunden erzeugen und einfügen.
+    ///
+    /// @param props Die Konfiguration mit Seed und Anzahl.
+    /// @param journal Das Journal, falls es aktiviert ist. Es wird vorher erzeugt, damit ein gespeicherter Stand die
+    /// erzeugten Kunden nicht ersetzt.
+    KundeGenerator(final GeneratorProperties props, final ObjectProvider<KundeJournal> journal) {
+        journal.ifAvailable(_ -> { });
+        final var start = System.nanoTime();
+        final var homepages = homepages();
+        final var created = new LongAdder();
+        IntStream.range(0, props.kunden()).parallel().forEach(index -> {
+            final var kunde = kunde(props.seed(), index, homepages);
+            if (EMAILS.claim(kunde.getEmail(), kunde.getId())) {
+                KUNDEN.put(kunde.getId(), kunde);
+                created.increment();
+            }
+        });
+        getLogger().info(
+            "{} Kunden in {} ms erzeugt, #KUNDEN={}",
+            created.sum(),
+            (System.nanoTime() - start) / 1_000_000,
+            KUNDEN.size()
+        );
+    }
+
+    /// Einen Kunden aus Seed und laufender Nummer erzeugen.
+    ///
+    /// @param seed Der Seed.
+    /// @param index Die laufende Nummer, die auch die Emailadresse eindeutig macht.
+    /// @param homepages Die Homepage zu jedem Nachnamen.
+    /// @return Der Kunde mit ID.
+    static Kunde kunde(final long seed, final int index, final Map<String, URL> homepages) {
+        final var random = Synthetic.random(seed, index);
+        final var id = Synthetic.uuid(random);
+        final var familienname = NACHNAMEN.next(random);
+        final var nachname = random.nextDouble() < DOPPELNAME
+            ? familienname + '-' + NACHNAMEN.next(random)
+            : familienname;
+        final var alter = Synthetic.gaussian(random, 45, 16, 18, 95);
+        final var ort = ORTE.next(random);
+        final var plz = ort.plz() + String.format(Locale.ROOT, "%03d", random.nextInt(1_000));
+        final List<InteresseType> interessen = new ArrayList<>(INTERESSEN.size());
+        for (final var interesse : InteresseType.values()) {
+            if (random.nextDouble() < INTERESSEN.get(interesse)) {
+                interessen.add(interesse);
+            }
+        }
+
+        return KundeBuilder.getBuilder()
+            .setId(id)
+            .setNachname(nachname)
+            .setEmail(ascii(familienname) + '.' + (index + 1) + '@' + DOMAINS.next(random))
+            .setKategorie(Synthetic.gaussian(random, 5, 2, 0, 9))
+            .setHasNewsletter(random.nextDouble() < NEWSLETTER)
+            .setGeburtsdatum(STICHTAG.minusYears(alter).minusDays(random.nextInt(365)))
+            .setHomepage(homepages.get(familienname))
+            .setGeschlecht(GESCHLECHT.next(random))
+            .setFamilienstand(alter < 25 ? LEDIG : FAMILIENSTAND.next(random))
+            .setAdresse(new Adresse(plz, ort.name()))
+            .setRechnungen(rechnungen(random))
+            .setInteressen(interessen)
+            .build();
+    }
+
+    /// Zu jedem Nachnamen eine Homepage, die von allen Kunden mit diesem Nachnamen gemeinsam genutzt wird.
+    ///
+    /// @return Die Homepage zu jedem Nachnamen.
+    static Map<String, URL> homepages() {
+        return NACHNAMEN.values()
+            .stream()
+            .collect(Collectors.toUnmodifiableMap(Function.identity(), nachname -> url(ascii(nachname))));
+    }
+
+    // Anzahl Poisson-verteilt nach Knuth, Betraege log-normalverteilt in Cent
+    private static List<Rechnung> rechnungen(final RandomGenerator random) {
+        final var limit = Math.exp(-RECHNUNGEN_MEAN);
+        var anzahl = 0;
+        var produkt = random.nextDouble();
+        while (produkt > limit && anzahl < RECHNUNGEN_MAX) {
+            anzahl++;
+            produkt *= random.nextDouble();
+        }
+        final List<Rechnung> rechnungen = new ArrayList<>(anzahl);
+        for (var i = 0; i < anzahl; i++) {
+            final var betrag = Math.exp(random.nextGaussian(Math.log(BETRAG_MEDIAN), BETRAG_SIGMA));
+            rechnungen.add(new Rechnung(BigDecimal.valueOf(Math.max(Math.round(betrag * 100), 1), 2),
+                WAEHRUNG.next(random)));
+        }
+        return rechnungen;
+    }
+
+    private static String ascii(final String nachname) {
+        return nachname.toLowerCase(Locale.ROOT)
+            .replace("ä", "ae")
+            .replace("ö", "oe")
+            .replace("ü", "ue")
+            .replace("ß", "ss");
+    }
+
+    private static URL url(final String name) {
+        try {
+            return URI.create("https://www." + name + ".de").toURL();
+        } catch (final MalformedURLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private Logger getLogger() {
+        return logger.orElseSet(() -> LoggerFactory.getLogger(KundeGenerator.class));
+    }
+
+    /// Ein Ort mit den ersten beiden Ziffern seiner Postleitzahlen.
+    ///
+    /// @param name Der Name des Orts.
+    /// @param plz Die ersten beiden Ziffern der Postleitzahl.
+    private record Ort(String name, String plz) {
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2022 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.kunde.entity.FamilienstandType;
+import com.acme.racingteam.kunde.entity.GeschlechtType;
+import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.store.BitmapIndex;
+import com.acme.racingteam.store.PrefixIndex;
+import com.acme.racingteam.store.StoreListener;
+import com.acme.racingteam.store.TrigramIndex;
+import com.acme.racingteam.store.ValueIndex;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/// Sekundärindexe für Kunden. Sie werden als [StoreListener] innerhalb des Schreib-Locks der jeweiligen ID gepflegt.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+final class KundeIndex implements StoreListener<Kunde> {
+    /// Teilstring-Suche über den Nachnamen.
+    final TrigramIndex nachname = new TrigramIndex();
+
+    /// Gleichheit über die Kategorie.
+    final ValueIndex<Integer> kategorie = new ValueIndex<>();
+
+    /// Gleichheit über das Geschlecht.
+    final ValueIndex<GeschlechtType> geschlecht = new ValueIndex<>();
+
+    /// Gleichheit über den Familienstand.
+    final ValueIndex<FamilienstandType> familienstand = new ValueIndex<>();
+
+    /// Die verschiedenen Nachnamen in sortierter Reihenfolge für die Autovervollständigung. Die IDs pro Nachname
+    /// dienen als Referenzzähler, d.h. ein Nachname entfällt mit dem letzten Kunden dieses Namens.
+    final PrefixIndex nachnamen = new PrefixIndex();
+
+    /// Präfix-Suche über die Postleitzahl.
+    final PrefixIndex plz = new PrefixIndex();
+
+    /// Präfix-Suche über den Ort.
+    final PrefixIndex ort = new PrefixIndex();
+
+    /// Bitmaske der Interessen pro Kunde und Bitmap pro Interesse.
+    final BitmapIndex interessen = new BitmapIndex(InteresseType.values().length);
+
+    @Override
+    public void changed(final UUID id, @Nullable final Kunde previous, @Nullable final Kunde current) {
+        if (previous != null) {
+            remove(id, previous);
+        }
+        if (current != null) {
+            add(id, current);
+        }
+    }
+
+    private void add(final UUID id, final Kunde kunde) {
+        nachname.add(id, kunde.getNachname());
+        nachnamen.add(kunde.getNachname(), id);
+        kategorie.add(kunde.getKategorie(), id);
+        final var geschlechtKunde = kunde.getGeschlecht();
+        if (geschlechtKunde != null) {
+            geschlecht.add(geschlechtKunde, id);
+        }
+        final var familienstandKunde = kunde.getFamilienstand();
+        if (familienstandKunde != null) {
+            familienstand.add(familienstandKunde, id);
+        }
+        final var adresse = kunde.getAdresse();
+        if (adresse != null) {
+            plz.add(adresse.getPlz(), id);
+            ort.add(adresse.getOrt(), id);
+        }
+        interessen.put(id, InteresseType.mask(kunde.getInteressen()));
+    }
+
+    private void remove(final UUID id, final Kunde kunde) {
+        nachname.remove(id);
+        nachnamen.remove(kunde.getNachname(), id);
+        kategorie.remove(kunde.getKategorie(), id);
+        final var geschlechtKunde = kunde.getGeschlecht();
+        if (geschlechtKunde != null) {
+            geschlecht.remove(geschlechtKunde, id);
+        }
+        final var familienstandKunde = kunde.getFamilienstand();
+        if (familienstandKunde != null) {
+            familienstand.remove(familienstandKunde, id);
+        }
+        final var adresse = kunde.getAdresse();
+        if (adresse != null) {
+            plz.remove(adresse.getPlz(), id);
+            ort.remove(adresse.getOrt(), id);
+        }
+        interessen.remove(id);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.config.JournalProperties;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.store.Journal;
+import com.acme.racingteam.store.Versioned;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import static com.acme.racingteam.kunde.repository.MockDB.EMAILS;
+import static com.acme.racingteam.kunde.repository.MockDB.KUNDEN;
+
+/// Dauerhafte Speicherung der Kunden durch Snapshot und Write-Ahead-Log, falls `app.journal.enabled` gesetzt ist.
+/// Gibt es bereits gespeicherte Daten, ersetzen sie beim Start die Testdaten aus [MockDB].
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+@Component
+@Lazy(false)
+@ConditionalOnBooleanProperty("app.journal.enabled")
+class KundeJournal {
+    private final Journal<Kunde> journal;
+
+    /// Konstruktor mit `package private` für _Spring_: Daten wiederherstellen und das Protokollieren starten.
+    ///
+    /// @param props Die Konfiguration mit Verzeichnis und Intervallen.
+    /// @throws IOException Falls das Verzeichnis nicht gelesen oder geschrieben werden kann.
+    KundeJournal(final JournalProperties props) throws IOException {
+        journal = new Journal<>(KUNDEN, new KundeCodec(), props.directory(), "kunden");
+        if (journal.exists()) {
+            KUNDEN.forEach((id, _) -> apply(id, null));
+            journal.recover(KundeJournal::apply);
+        }
+        journal.start(props.syncInterval(), props.snapshotInterval());
+    }
+
+    /// Das WAL beim Herunterfahren dauerhaft speichern und schließen.
+    ///
+    /// @throws IOException Falls das WAL nicht gespeichert werden kann.
+    @PreDestroy
+    void close() throws IOException {
+        journal.close();
+    }
+
+    // Emailindex wie in KundeRepository mitfuehren, Version fuer ETag uebernehmen; null bedeutet Loeschen
+    private static void apply(final UUID id, final @Nullable Versioned<Kunde> entry) {
+        final var existing = KUNDEN.get(id);
+        if (existing != null) {
+            EMAILS.release(existing.getEmail(), id);
+        }
+        if (entry == null) {
+            KUNDEN.remove(id);
+            return;
+        }
+        EMAILS.claim(entry.value().getEmail(), id);
+        KUNDEN.restore(id, entry);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2022 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.kunde.entity.FamilienstandType;
+import com.acme.racingteam.kunde.entity.GeschlechtType;
+import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.store.QueryEvent;
+import com.acme.racingteam.store.UniqueIndex;
+import com.acme.racingteam.store.VersionedStore;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+
+/// Abfrageplan für die Suche mit beliebig kombinierten Suchparametern.
+/// ```
+/// SELECT *
+/// FROM   kunde
+/// WHERE  nachname LIKE ... AND email = ... AND kategorie = ... AND ...
+/// ```
+///
+/// Jeder Suchparameter wird zu einem Kriterium mit einer Abschätzung der Trefferzahl aus dem zugehörigen Index. Die
+/// Abschätzungen werden erst beim Ausführen ermittelt, so dass z.B. [#matches] ohne die Indexe auskommt. Das
+/// selektivste Kriterium liefert die Kandidaten, die übrigen Kriterien bilden die Schnittmenge als Filter auf den
+/// gefundenen Kunden. Mehrere Interessen werden zu einer Bitmaske zusammengefasst und über den Bitmap-Index
+/// UND-verknüpft. Bei einer Folgeseite beginnt das selektivste Kriterium direkt nach dem Cursor in seinem Index.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+final class KundeQuery {
+    private final List<Criterion> criteria;
+
+    private KundeQuery(final List<Criterion> criteria) {
+        this.criteria = criteria;
+    }
+
+    /// Einen Abfrageplan zu den Suchparametern erstellen.
+    ///
+    /// @param suchparameter Die Suchparameter; mehrere Werte zu einem Parameter werden UND-verknüpft.
+    /// @param index Die Sekundärindexe.
+    /// @return Der Abfrageplan oder null bei unbekannten Suchparametern oder ungültigen Werten.
+    @SuppressWarnings("CyclomaticComplexity")
+    static @Nullable KundeQuery of(final Map<String, ? extends List<String>> suchparameter, final KundeIndex index) {
+        final List<Criterion> criteria = new ArrayList<>();
+        var interessen = 0;
+        for (final var entry : suchparameter.entrySet()) {
+            if ("interesse".equals(entry.getKey())) {
+                for (final var value : entry.getValue()) {
+                    final var interesse = InteresseType.of(value);
+                    if (interesse == null) {
+                        return null;
+                    }
+                    interessen |= interesse.getMask();
+                }
+                continue;
+            }
+            for (final var value : entry.getValue()) {
+                final var criterion = switch (entry.getKey()) {
+                    case "nachname" -> nachname(value, index);
+                    case "email" -> email(value);
+                    case "kategorie" -> kategorie(value, index);
+                    case "geschlecht" -> geschlecht(value, index);
+                    case "familienstand" -> familienstand(value, index);
+                    case "plz" -> new Criterion(
+                        () -> index.plz.countByPrefix(value),
+                        after -> index.plz.search(value, after),
+                        kunde -> kunde.getAdresse() != null && kunde.getAdresse().getPlz().startsWith(value)
+                    );
+                    case "ort" -> new Criterion(
+                        () -> index.ort.countByPrefix(value),
+                        after -> index.ort.search(value, after),
+                        kunde -> kunde.getAdresse() != null && kunde.getAdresse().getOrt().startsWith(value)
+                    );
+                    default -> null;
+                };
+                if (criterion == null) {
+                    return null;
+                }
+                criteria.add(criterion);
+            }
+        }
+        if (interessen != 0) {
+            criteria.add(interessen(interessen, index));
+        }
+        return new KundeQuery(criteria);
+    }
+
+    /// Prüfen, ob ein einzelner Kunde alle Kriterien erfüllt, ohne die Indexe zu verwenden.
+    ///
+    /// @param kunde Der zu prüfende Kunde.
+    /// @return true, falls der Kunde zum Ergebnis gehört.
+    boolean matches(final Kunde kunde) {
+        for (final var criterion : criteria) {
+            if (!criterion.predicate().test(kunde)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /// Den Abfrageplan ausführen. Der Stream wird erst beim Lesen abgearbeitet, so dass z.B. für eine Seite nur die
+    /// benötigten Kunden gelesen werden.
+    ///
+    /// @param store Die Datenhaltung der Kunden.
+    /// @param after Die ID, nach der begonnen wird, oder null für den Anfang.
+    /// @param event JFR-Event, in dem die gelesenen Kandidaten gezählt werden.
+    /// @return Die gefundenen Kunden in aufsteigender Reihenfolge der ID.
+    Stream<Kunde> execute(final VersionedStore<Kunde> store, final @Nullable UUID after, final QueryEvent event) {
+        if (criteria.isEmpty()) {
+            return event.scan(store.stream(after));
+        }
+        // jede Abschaetzung genau einmal ermitteln
+        final var plan = criteria.stream()
+            .map(criterion -> new Step(criterion, criterion.estimate().getAsInt()))
+            .sorted(Comparator.comparingInt(Step::estimate))
+            .toList();
+        final var driver = plan.getFirst();
+        if (driver.estimate() == 0) {
+            return Stream.empty();
+        }
+        final var predicate = plan.stream()
+            .map(step -> step.criterion().predicate())
+            .reduce(Predicate::and)
+            .orElseThrow();
+        return event.scan(driver.criterion().ids().apply(after))
+            .map(store::get)
+            .filter(Objects::nonNull)
+            .filter(predicate);
+    }
+
+    private static Criterion nachname(final String value, final KundeIndex index) {
+        return new Criterion(
+            () -> index.nachname.estimate(value),
+            after -> index.nachname.search(value, after),
+            kunde -> kunde.getNachname().contains(value)
+        );
+    }
+
+    private static Criterion email(final String value) {
+        final var normalized = UniqueIndex.normalize(value);
+        return new Criterion(
+            () -> MockDB.EMAILS.contains(value) ? 1 : 0,
+            after -> Stream.ofNullable(MockDB.EMAILS.get(value))
+                .filter(candidate -> after == null || candidate.compareTo(after) > 0),
+            kunde -> UniqueIndex.normalize(kunde.getEmail()).equals(normalized)
+        );
+    }
+
+    private static @Nullable Criterion kategorie(final String value, final KundeIndex index) {
+        final int kategorie;
+        try {
+            kategorie = Integer.parseInt(value);
+        } catch (final NumberFormatException _) {
+            return null;
+        }
+        return new Criterion(
+            () -> index.kategorie.count(kategorie),
+            after -> index.kategorie.search(kategorie, after),
+            kunde -> kunde.getKategorie() == kategorie
+        );
+    }
+
+    private static @Nullable Criterion geschlecht(final String value, final KundeIndex index) {
+        final var geschlecht = GeschlechtType.of(value);
+        if (geschlecht == null) {
+            return null;
+        }
+        return new Criterion(
+            () -> index.geschlecht.count(geschlecht),
+            after -> index.geschlecht.search(geschlecht, after),
+            kunde -> kunde.getGeschlecht() == geschlecht
+        );
+    }
+
+    private static @Nullable Criterion familienstand(final String value, final KundeIndex index) {
+        final var familienstand = FamilienstandType.of(value);
+        if (familienstand == null) {
+            return null;
+        }
+        return new Criterion(
+            () -> index.familienstand.count(familienstand),
+            after -> index.familienstand.search(familienstand, after),
+            kunde -> kunde.getFamilienstand() == familienstand
+        );
+    }
+
+    private static Criterion interessen(final int mask, final KundeIndex index) {
+        return new Criterion(
+            () -> index.interessen.count(mask),
+            after -> index.interessen.search(mask, after),
+            kunde -> (InteresseType.mask(kunde.getInteressen()) & mask) == mask
+        );
+    }
+
+    /// Ein Suchkriterium.
+    ///
+    /// @param estimate Obere Schranke für die Anzahl der Treffer laut Index, erst bei Bedarf ermittelt.
+    /// @param ids Die IDs der Kandidaten aus dem Index in aufsteigender Reihenfolge, beginnend nach der übergebenen ID.
+    /// @param predicate Die exakte Prüfung für einen Kunden.
+    private record Criterion(
+        IntSupplier estimate,
+        Function<@Nullable UUID, Stream<UUID>> ids,
+        Predicate<Kunde> predicate
+    ) {
+    }
+
+    /// Ein Kriterium mit der beim Ausführen ermittelten Abschätzung.
+    private record Step(Criterion criterion, int estimate) {
+    }
+}
@@ -16,19 +16,35 @@
  */
 package com.acme.racingteam.kunde.repository;
 
-import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Adresse;
 import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.kunde.entity.Rechnung;
+import com.acme.racingteam.store.ChangeLog;
+import com.acme.racingteam.store.MethodMetrics;
+import com.acme.racingteam.store.Page;
+import com.acme.racingteam.store.QueryEvent;
+import com.acme.racingteam.store.StoreListener;
+import com.acme.racingteam.store.StoreUnavailableException;
+import com.acme.racingteam.store.Versioned;
+import com.acme.racingteam.store.WriteEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.IntStream;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
+import static com.acme.racingteam.kunde.repository.MockDB.CHANGES;
+import static com.acme.racingteam.kunde.repository.MockDB.COLUMNS;
+import static com.acme.racingteam.kunde.repository.MockDB.EMAILS;
+import static com.acme.racingteam.kunde.repository.MockDB.INDEX;
 import static com.acme.racingteam.kunde.repository.MockDB.KUNDEN;
 import static java.util.Collections.emptyList;
 import static java.util.UUID.randomUUID;
@@ -37,13 +53,22 @@ import static java.util.UUID.randomUUID;
 ///
 /// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
 @Repository
-@SuppressWarnings("PMD.UseEnumCollections")
 public class KundeRepository {
+    /// Bekannte Suchparameter für das Tag `shape` der Metriken.
+    public static final Set<String> SUCHPARAMETER =
+        Set.of("nachname", "email", "kategorie", "geschlecht", "familienstand", "plz", "ort", "interesse");
+    private static final String EMAIL = "email";
+    private static final String NACHNAME = "nachname";
+    private static final String REPOSITORY = "KundeRepository";
+
     private final StableValue<Logger> logger = StableValue.of();
 
+    /// Timer und Ergebnisgrößen pro Methode und Form der Suche, z.B. `/actuator/metrics/repository.invocations`.
+    private final MethodMetrics metrics = new MethodMetrics("repository", KundeRepository.class);
+
     /// Konstruktor mit _package private_ für Spring.
     KundeRepository() {
-        // leerer Konstruktor fuer Spring
+        metrics.gauge("kunden", KUNDEN);
     }
 
     /// Einen Kunden anhand seiner ID suchen.
@@ -58,82 +83,139 @@ public class KundeRepository {
     @Nullable
     public Kunde findById(final UUID id) {
         getLogger().debug("findById: id={}", id);
-        final var result = KUNDEN.stream()
-            .filter(kunde -> Objects.equals(kunde.getId(), id))
-            .findFirst()
-            .orElse(null);
+        final var result = metrics.timed("findById", MethodMetrics.ID, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "findById", MethodMetrics.ID, 1);
+            final var kunde = KUNDEN.get(id);
+            event.endLookup(kunde != null);
+            return kunde == null ? null : copy(kunde);
+        });
         getLogger().debug("findById: result={}", result);
         return result;
     }
 
-    /// Kunden anhand von suchparameter ermitteln.
-    /// Z.B. mit `GET https://localhost:8443/api?nachname=A&plz=7`
+    /// Die Version eines Kunden ermitteln, z.B. für `If-None-Match`, ohne den Kunden zu lesen.
     ///
-    /// @param suchparameter suchparameter.
-    /// @return Gefundene Kunden oder leere Collection.
-    @SuppressWarnings({"ReturnCount", "JavadocLinkAsPlainText", "PMD.AvoidLiteralsInIfCondition"})
-    public Collection<Kunde> find(final Map<String, ? extends List<String>> suchparameter) {
-        getLogger().debug("find: suchparameter={}", suchparameter);
-
-        if (suchparameter.isEmpty()) {
-            return findAll();
-        }
+    /// @param id Die Id des gesuchten Kunden
+    /// @return Die Version oder null, falls es keinen Kunden zur ID gibt
+    public @Nullable Long findVersionById(final UUID id) {
+        return metrics.timed("findVersionById", MethodMetrics.ID, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "findVersionById", MethodMetrics.ID, 1);
+            final var entry = KUNDEN.getVersioned(id);
+            event.endLookup(entry != null);
+            return entry == null ? null : entry.version();
+        });
+    }
 
-        if (suchparameter.size() == 1) {
-            final var nachnamen = suchparameter.get("nachname");
-            if (nachnamen != null && nachnamen.size() == 1) {
-                final var kunden = findByNachname(nachnamen.getFirst());
-                getLogger().debug("find (nachname): kunden={}", kunden);
-                return kunden;
-            }
+    /// Einen Kunden zusammen mit seiner Version suchen, z.B. für ein `ETag`.
+    ///
+    /// @param id Die Id des gesuchten Kunden
+    /// @return Gefundener Kunde mit Version oder null
+    public @Nullable Versioned<Kunde> findVersionedById(final UUID id) {
+        getLogger().debug("findVersionedById: id={}", id);
+        return metrics.timed("findVersionedById", MethodMetrics.ID, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "findVersionedById", MethodMetrics.ID, 1);
+            final var entry = KUNDEN.getVersioned(id);
+            event.endLookup(entry != null);
+            return entry == null ? null : new Versioned<>(copy(entry.value()), entry.version());
+        });
+    }
 
-            final var emails = suchparameter.get("email");
-            if (emails != null && emails.size() == 1) {
-                final var kunde = findByEmail(emails.getFirst());
-                getLogger().debug("find (email): kunde={}", kunde);
-                return kunde == null ? emptyList() : List.of(kunde);
-            }
-        }
-        final var interessen = suchparameter.get("interesse");
-        if (interessen != null) {
-            final var kunden = findByInteressen(interessen);
-            getLogger().debug("find (interessen): kunden={}", kunden);
-            return kunden;
-        }
+    /// Einen Callback registrieren, der nach jeder Änderung eines Kunden mit dem alten und neuen Kunden aufgerufen
+    /// wird, z.B. um einen Cache zu invalidieren. Der Aufruf erfolgt unter dem Schreib-Lock der ID.
+    ///
+    /// @param listener Der Callback.
+    public void onChange(final StoreListener<Kunde> listener) {
+        KUNDEN.addListener(listener);
+    }
 
-        getLogger().debug("find: ungueltige Suchparameter={}", suchparameter);
-        return emptyList();
+    /// Das Suchkriterium zu Suchparametern für einen einzelnen Kunden ermitteln, z.B. um einen Cache gezielt zu
+    /// invalidieren.
+    ///
+    /// @param suchparameter Die Suchparameter wie bei [#find(Map, UUID, int)].
+    /// @return Das Suchkriterium oder null bei ungültigen Suchparametern.
+    public @Nullable Predicate<Kunde> filter(final Map<String, ? extends List<String>> suchparameter) {
+        final var query = KundeQuery.of(suchparameter, INDEX);
+        return query == null ? null : query::matches;
     }
 
-    /// Alle Kunden als Collection ermitteln, wie sie später auch von der DB kommen.
+    /// Eine Seite von Kunden anhand von Suchparametern ermitteln, aufsteigend sortiert nach der ID.
+    /// Z.B. mit `GET https://localhost:8443/api?nachname=A&plz=7&size=20`
     /// ```
     /// SELECT *
     /// FROM   kunde
+    /// WHERE  ... AND id > ...
+    /// ORDER BY id
+    /// LIMIT  ...
     /// ```
     ///
-    /// @return Alle Kunden
-    private Collection<Kunde> findAll() {
-        return KUNDEN;
+    /// Es werden nur die Kunden der angeforderten Seite gelesen.
+    ///
+    /// @param suchparameter suchparameter.
+    /// @param after Die ID des letzten Kunden der vorherigen Seite oder null für die erste Seite.
+    /// @param size Die Seitengröße.
+    /// @return Die Seite mit den gefundenen Kunden, ggf. leer.
+    @SuppressWarnings("JavadocLinkAsPlainText")
+    public Page<Kunde> find(
+        final Map<String, ? extends List<String>> suchparameter,
+        final @Nullable UUID after,
+        final int size
+    ) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("find: suchparameter={}, after={}, size={}", suchparameter, after, size);
+        }
+
+        final var shape = MethodMetrics.shape(suchparameter, SUCHPARAMETER);
+        final var page = metrics.timed("find", shape, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "find", shape, suchparameter.size());
+            final var kunden = find(suchparameter, after, event);
+            final var result = kunden == null
+                ? new Page<Kunde>(emptyList(), null)
+                : Page.of(kunden.map(KundeRepository::copy), Kunde::getId, size);
+            event.end(result.content().size());
+            return result;
+        }, result -> result.content().size());
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("find: #kunden={}, next={}", page.content().size(), page.next());
+        }
+        return page;
     }
 
-    /// Kunde zu gegebener Emailadresse aus der DB ermitteln.
+    // ueber die spaltenorientierte Kopie mit den seither geaenderten Kunden vom Heap, falls es eine Kopie gibt,
+    // sonst ueber die Indexe auf dem Heap; die gelesenen Zeilen bzw. Kandidaten werden im JFR-Event gezaehlt
+    private @Nullable Stream<Kunde> find(
+        final Map<String, ? extends List<String>> suchparameter,
+        final @Nullable UUID after,
+        final QueryEvent event
+    ) {
+        final var query = KundeQuery.of(suchparameter, INDEX);
+        if (query == null) {
+            return null;
+        }
+        final var columns = COLUMNS.find(KUNDEN, query, suchparameter, after, event);
+        return columns == null ? query.execute(KUNDEN, after, event) : columns;
+    }
+
+    /// Die letzten Änderungen mit Sequenznummer, Art, ID und Version, z.B. für einen Event-Stream statt periodischer
+    /// Abfragen.
+    ///
+    /// @return Der Ringpuffer mit den Änderungen.
+    public ChangeLog changes() {
+        return CHANGES;
+    }
+
+    /// Alle Kunden als Stream ermitteln, z.B. für einen Export ohne Zwischenspeicherung.
     /// ```
     /// SELECT *
     /// FROM   kunde
-    /// WHERE  email = ...
+    /// ORDER BY id
     /// ```
     ///
-    /// @param email Emailadresse für die Suche
-    /// @return Gefundener Kunde oder null
-    @Nullable
-    private Kunde findByEmail(final CharSequence email) {
-        getLogger().debug("findByEmail: {}", email);
-        final var result = KUNDEN.stream()
-            .filter(kunde -> kunde.getEmail().contentEquals(email))
-            .findFirst()
-            .orElse(null);
-        getLogger().debug("findByEmail: result={}", result);
-        return result;
+    /// @return Alle Kunden aufsteigend sortiert nach der ID.
+    public Stream<Kunde> streamAll() {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("streamAll: #KUNDEN={}", KUNDEN.size());
+        }
+        return KUNDEN.stream().map(KundeRepository::copy);
     }
 
     /// Abfrage, ob es einen Kunden mit gegebener Emailadresse gibt.
@@ -145,99 +227,274 @@ public class KundeRepository {
     ///
     /// @param email Emailadresse für die Suche
     /// @return true, falls es einen solchen Kunden gibt, sonst false
-    public boolean isEmailExisting(final CharSequence email) {
+    public boolean isEmailExisting(final String email) {
         getLogger().debug("isEmailExisting: email={}", email);
-        final var count = KUNDEN.stream()
-            .filter(kunde -> kunde.getEmail().contentEquals(email))
-            .count();
-        getLogger().debug("isEmailExisting: count={}", count);
-        return count > 0L;
+        final var existing = metrics.timed("isEmailExisting", EMAIL, () -> EMAILS.contains(email));
+        getLogger().debug("isEmailExisting: existing={}", existing);
+        return existing;
     }
 
-    /// Kunden anhand des Nachnamens suchen.
+    /// Abfrage, welche Nachnamen es zu einem Präfix gibt.
     /// ```
-    /// SELECT *
+    /// SELECT DISTINCT nachname
     /// FROM   kunde
     /// WHERE  nachname LIKE ...
     /// ```
     ///
-    /// @param nachname Der (Teil-) Nachname der gesuchten Kunden
-    /// @return Die gefundenen Kunden oder eine leere Collection
-    private Collection<Kunde> findByNachname(final CharSequence nachname) {
-        getLogger().debug("findByNachname: nachname={}", nachname);
-        final var kunden = KUNDEN.stream()
-            .filter(kunde -> kunde.getNachname().contains(nachname))
-            .toList();
-        getLogger().debug("findByNachname: kunden={}", kunden);
-        return kunden;
+    /// @param prefix Nachname-Präfix.
+    /// @param limit Maximale Anzahl der Nachnamen.
+    /// @return Die passenden Nachnamen in alphabetischer Reihenfolge oder eine leere Collection.
+    public Collection<String> findNachnamenByPrefix(final String prefix, final int limit) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("findNachnamenByPrefix: prefix={}, limit={}", prefix, limit);
+        }
+        final var nachnamen = metrics.timed(
+            "findNachnamenByPrefix",
+            NACHNAME,
+            () -> {
+                final var event = QueryEvent.begin(REPOSITORY, "findNachnamenByPrefix", NACHNAME, 1);
+                final var result = event.scan(INDEX.nachnamen.keys(prefix)).limit(limit).toList();
+                event.end(result.size());
+                return result;
+            },
+            List::size
+        );
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("findNachnamenByPrefix: #nachnamen={}", nachnamen.size());
+        }
+        return nachnamen;
     }
 
-    /// Kunden anhand von Interessen suchen.
+    /// Einen neuen Kunden anlegen.
     /// ```
-    /// SELECT *
-    /// FROM   kunde
-    /// WHERE  interesse = ...
+    /// INSERT INTO kunde
+    /// VALUES ...
     /// ```
     ///
-    /// @param interessenStr Die Interessen der gesuchten Kunden
-    /// @return Die gefundenen Kunden oder eine leere Collection
-    private Collection<Kunde> findByInteressen(final Collection<String> interessenStr) {
-        getLogger().debug("findByInteressen: interessenStr={}", interessenStr);
-        final var interessen = interessenStr
-            .stream()
-            .map(InteresseType::of)
-            .toList();
-        if (interessen.contains(null)) {
-            getLogger().debug("findByInteressen: keine Kunden");
-            return emptyList();
+    /// Die Emailadresse wird vor dem Einfügen atomar reserviert, so dass nebenläufige Aufrufe mit derselben
+    /// Emailadresse höchstens einen Kunden anlegen. Scheitert das Einfügen, wird die Reservierung wieder freigegeben.
+    ///
+    /// @param kunde Das Objekt des neu anzulegenden Kunden.
+    /// @return Der neu angelegte Kunde mit generierter ID oder null, falls die Emailadresse bereits vergeben ist.
+    public @Nullable Kunde create(final Kunde kunde) {
+        getLogger().debug("create: {}", kunde);
+        return metrics.timed("create", EMAIL, () -> {
+            final var event = WriteEvent.begin(REPOSITORY, "create");
+            final var id = randomUUID();
+            final var claim = event.mark();
+            final var claimed = EMAILS.claim(kunde.getEmail(), id);
+            event.indexed(claim);
+            if (!claimed) {
+                event.end(null, UpdateResult.EMAIL_EXISTS);
+                getLogger().debug("create: email {} existiert", kunde.getEmail());
+                return null;
+            }
+            kunde.setId(id);
+            final var put = event.mark();
+            try {
+                KUNDEN.put(id, copy(kunde));
+            } catch (final RuntimeException ex) {
+                // z.B. StoreUnavailableException: die Emailadresse darf nicht dauerhaft belegt bleiben
+                EMAILS.release(kunde.getEmail(), id);
+                throw ex;
+            }
+            event.stored(put);
+            event.end(id, "CREATED");
+            getLogger().debug("create: id={}", id);
+            return kunde;
+        });
+    }
+
+    /// Mehrere neue Kunden in einem Schritt anlegen.
+    /// ```
+    /// INSERT INTO kunde
+    /// VALUES (...), (...), ...
+    /// ```
+    ///
+    /// Die Emailadressen werden in einem Durchlauf reserviert, auch gegeneinander innerhalb des Batches. Alle Kunden
+    /// mit reservierter Emailadresse werden anschließend unter den Locks aller IDs eingefügt. Der Batch ist keine
+    /// Transaktion: nimmt die Datenhaltung keine Änderungen mehr an, bleiben die bereits eingefügten Kunden erhalten,
+    /// und für die übrigen Kunden werden die Emailadressen wieder freigegeben.
+    ///
+    /// @param kunden Die Objekte der neu anzulegenden Kunden.
+    /// @return Das Ergebnis pro Kunde in derselben Reihenfolge; ein neu angelegter Kunde hat eine generierte ID.
+    public List<BatchResult> createAll(final List<Kunde> kunden) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("createAll: #kunden={}", kunden.size());
         }
+        return metrics.timed("createAll", EMAIL, () -> insertAll(kunden), List::size);
+    }
 
-        getLogger().trace("findByInteressen: interessen={}", interessen);
-        final var kunden = KUNDEN.stream()
-            .filter(kunde -> {
-                @SuppressWarnings("SetReplaceableByEnumSet")
-                final Collection<InteresseType> kundeInteressen = new HashSet<>(kunde.getInteressen());
-                return kundeInteressen.containsAll(interessen);
-            })
-            .toList();
-        getLogger().debug("findByInteressen: kunden={}", kunden);
-        return kunden;
+    private List<BatchResult> insertAll(final List<Kunde> kunden) {
+        final var results = new BatchResult[kunden.size()];
+        final @Nullable UUID[] claimed = new UUID[kunden.size()];
+        final List<UUID> ids = new ArrayList<>(kunden.size());
+        final var event = WriteEvent.begin(REPOSITORY, "createAll");
+        final var claim = event.mark();
+        for (var i = 0; i < claimed.length; i++) {
+            final var kunde = kunden.get(i);
+            final var id = randomUUID();
+            if (EMAILS.claim(kunde.getEmail(), id)) {
+                kunde.setId(id);
+                claimed[i] = id;
+                ids.add(id);
+            } else {
+                results[i] = BatchResult.EMAIL_EXISTS;
+            }
+        }
+        event.indexed(claim);
+        final var put = event.mark();
+        final int created = KUNDEN.withLocks(ids, () -> insertAll(kunden, claimed, results));
+        event.stored(put);
+        event.endBatch(kunden.size());
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("createAll: #neueKunden={}", created);
+        }
+        return Arrays.asList(results);
     }
 
-    /// Abfrage, welche Nachnamen es zu einem Präfix gibt.
+    // Aufruf unter den Locks aller IDs; Rueckgabe: Anzahl der eingefuegten Kunden
+    private int insertAll(final List<Kunde> kunden, final @Nullable UUID[] claimed, final BatchResult[] results) {
+        var i = 0;
+        var created = 0;
+        try {
+            for (; i < claimed.length; i++) {
+                final var id = claimed[i];
+                if (id != null) {
+                    KUNDEN.put(id, copy(kunden.get(i)));
+                    results[i] = BatchResult.CREATED;
+                    created++;
+                }
+            }
+        } catch (final StoreUnavailableException ex) {
+            getLogger().warn("createAll: {} von {} Kunden nicht eingefuegt", claimed.length - i, claimed.length, ex);
+        } finally {
+            // auch bei einer anderen Exception: die Emailadressen nicht eingefuegter Kunden duerfen nicht belegt bleiben
+            for (; i < claimed.length; i++) {
+                final var id = claimed[i];
+                if (id != null) {
+                    EMAILS.release(kunden.get(i).getEmail(), id);
+                    results[i] = BatchResult.UNAVAILABLE;
+                }
+            }
+        }
+        return created;
+    }
+
+    /// Mehrere vorhandene Kunden mit optimistischer Synchronisation in einem Schritt aktualisieren.
     /// ```
-    /// SELECT DISTINCT nachname
-    /// FROM   kunde
-    /// WHERE  nachname LIKE ...
+    /// UPDATE kunde
+    /// SET    ...
+    /// WHERE  id = ... AND version = ...
     /// ```
     ///
-    /// @param prefix Nachname-Präfix.
-    /// @return Die passenden Nachnamen oder eine leere Collection.
-    public Collection<String> findNachnamenByPrefix(final String prefix) {
-        getLogger().debug("findByNachname: prefix={}", prefix);
-        final var nachnamen = KUNDEN.stream()
-            .map(Kunde::getNachname)
-            .filter(nachname -> nachname.startsWith(prefix))
-            .distinct()
-            .toList();
-        getLogger().debug("findByNachname: nachnamen={}", nachnamen);
-        return nachnamen;
+    /// Alle Kunden werden unter den Locks aller IDs aktualisiert; eine geänderte Emailadresse wird wie bei [#update]
+    /// umgetragen. Der Batch ist keine Transaktion: nimmt die Datenhaltung keine Änderungen mehr an, bleiben die
+    /// bereits aktualisierten Kunden erhalten.
+    ///
+    /// @param kunden Die Objekte mit den neuen Daten und ihrer ID, jeweils mit der erwarteten Version oder
+    /// [Versioned#ANY] ohne Prüfung.
+    /// @return Das Ergebnis pro Kunde in derselben Reihenfolge.
+    public List<BatchResult> updateAll(final List<Versioned<Kunde>> kunden) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("updateAll: #kunden={}", kunden.size());
+        }
+        return metrics.timed("updateAll", MethodMetrics.ID, () -> {
+            final var event = WriteEvent.begin(REPOSITORY, "updateAll");
+            final var ids = kunden.stream().map(entry -> entry.value().getId()).toList();
+            final var results = KUNDEN.withLocks(ids, () -> {
+                final var batch = new BatchResult[kunden.size()];
+                var i = 0;
+                try {
+                    for (; i < batch.length; i++) {
+                        batch[i] = replace(kunden.get(i), event);
+                    }
+                } catch (final StoreUnavailableException ex) {
+                    final var rest = batch.length - i;
+                    getLogger().warn("updateAll: {} von {} Kunden nicht aktualisiert", rest, batch.length, ex);
+                }
+                Arrays.fill(batch, i, batch.length, BatchResult.UNAVAILABLE);
+                return Arrays.asList(batch);
+            });
+            event.endBatch(kunden.size());
+            return results;
+        }, List::size);
     }
 
-    /// Einen neuen Kunden anlegen.
+    // Aufruf unter dem Lock der ID
+    private BatchResult replace(final Versioned<Kunde> entry, final WriteEvent event) {
+        final var kunde = entry.value();
+        final var id = kunde.getId();
+        final var existing = KUNDEN.getVersioned(id);
+        if (existing == null) {
+            return BatchResult.NOT_FOUND;
+        }
+        if (entry.version() != Versioned.ANY && entry.version() != existing.version()) {
+            return BatchResult.VERSION_OUTDATED;
+        }
+        final var move = event.mark();
+        final var moved = EMAILS.move(existing.value().getEmail(), kunde.getEmail(), id);
+        event.indexed(move);
+        if (!moved) {
+            return BatchResult.EMAIL_EXISTS;
+        }
+        final var put = event.mark();
+        try {
+            KUNDEN.put(id, copy(kunde));
+        } catch (final RuntimeException ex) {
+            EMAILS.move(kunde.getEmail(), existing.value().getEmail(), id);
+            throw ex;
+        }
+        event.stored(put);
+        return BatchResult.UPDATED;
+    }
+
+    /// Mehrere Kunden anhand ihrer ID in einem Schritt löschen.
     /// ```
-    /// INSERT INTO kunde
-    /// VALUES ...
+    /// DELETE
+    /// FROM   kunde
+    /// WHERE  id IN (...)
     /// ```
     ///
-    /// @param kunde Das Objekt des neu anzulegenden Kunden.
-    /// @return Der neu angelegte Kunde mit generierter ID
-    public Kunde create(final Kunde kunde) {
-        getLogger().debug("create: {}", kunde);
-        kunde.setId(randomUUID());
-        KUNDEN.add(kunde);
-        getLogger().debug("create: kunde={}", kunde);
-        return kunde;
+    /// Alle Kunden werden unter den Locks aller IDs gelöscht. Der Batch ist keine Transaktion: nimmt die Datenhaltung
+    /// keine Änderungen mehr an, bleiben die bereits gelöschten Kunden gelöscht.
+    ///
+    /// @param ids Die IDs der zu löschenden Kunden.
+    /// @return Das Ergebnis pro ID in derselben Reihenfolge.
+    public List<BatchResult> deleteAll(final List<UUID> ids) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("deleteAll: #ids={}", ids.size());
+        }
+        return metrics.timed("deleteAll", MethodMetrics.ID, () -> {
+            final var event = WriteEvent.begin(REPOSITORY, "deleteAll");
+            final var results = KUNDEN.withLocks(ids, () -> {
+                final var batch = new BatchResult[ids.size()];
+                var i = 0;
+                try {
+                    for (; i < batch.length; i++) {
+                        final var id = ids.get(i);
+                        final var remove = event.mark();
+                        final var kunde = KUNDEN.remove(id);
+                        event.stored(remove);
+                        if (kunde == null) {
+                            batch[i] = BatchResult.NOT_FOUND;
+                            continue;
+                        }
+                        final var release = event.mark();
+                        EMAILS.release(kunde.getEmail(), id);
+                        event.indexed(release);
+                        batch[i] = BatchResult.DELETED;
+                    }
+                } catch (final StoreUnavailableException ex) {
+                    final var rest = batch.length - i;
+                    getLogger().warn("deleteAll: {} von {} Kunden nicht geloescht", rest, batch.length, ex);
+                }
+                Arrays.fill(batch, i, batch.length, BatchResult.UNAVAILABLE);
+                return Arrays.asList(batch);
+            });
+            event.endBatch(ids.size());
+            return results;
+        }, List::size);
     }
 
     /// Einen vorhandenen Kunden aktualisieren.
@@ -246,19 +503,63 @@ public class KundeRepository {
     /// SET    ...
     /// ```
     ///
+    /// Eine geänderte Emailadresse wird unter dem Lock der ID umgetragen.
+    ///
     /// @param kunde Das Objekt mit den neuen Daten
-    public void update(final Kunde kunde) {
-        getLogger().debug("update: {}", kunde);
-        final var index = IntStream
-            .range(0, KUNDEN.size())
-            .filter(i -> Objects.equals(KUNDEN.get(i).getId(), kunde.getId()))
-            .findFirst();
-        getLogger().trace("update: index={}", index);
-        if (index.isEmpty()) {
-            return;
+    /// @return false, falls die neue Emailadresse bereits einem anderen Kunden gehört, sonst true
+    public boolean update(final Kunde kunde) {
+        return update(kunde, Versioned.ANY) != UpdateResult.EMAIL_EXISTS;
+    }
+
+    /// Einen vorhandenen Kunden mit optimistischer Synchronisation aktualisieren.
+    /// ```
+    /// UPDATE kunde
+    /// SET    ...
+    /// WHERE  id = ... AND version = ...
+    /// ```
+    ///
+    /// Die erwartete Version wird unter dem Lock der ID geprüft.
+    ///
+    /// @param kunde Das Objekt mit den neuen Daten
+    /// @param version Die erwartete Version oder [Versioned#ANY] ohne Prüfung
+    /// @return Das Ergebnis der Aktualisierung
+    public UpdateResult update(final Kunde kunde, final long version) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("update: {}, version={}", kunde, version);
         }
-        KUNDEN.set(index.getAsInt(), kunde);
-        getLogger().debug("update: kunde={}", kunde);
+        final var id = kunde.getId();
+        final var result = metrics.timed("update", MethodMetrics.ID, () -> {
+            final var event = WriteEvent.begin(REPOSITORY, "update");
+            final var updated = KUNDEN.withLock(id, () -> {
+                final var existing = KUNDEN.getVersioned(id);
+                if (existing == null) {
+                    return UpdateResult.UPDATED;
+                }
+                if (version != Versioned.ANY && version != existing.version()) {
+                    return UpdateResult.VERSION_OUTDATED;
+                }
+                final var move = event.mark();
+                final var moved = EMAILS.move(existing.value().getEmail(), kunde.getEmail(), id);
+                event.indexed(move);
+                if (!moved) {
+                    return UpdateResult.EMAIL_EXISTS;
+                }
+                final var put = event.mark();
+                try {
+                    KUNDEN.put(id, copy(kunde));
+                } catch (final RuntimeException ex) {
+                    // die bisherige Emailadresse gehoert weiterhin dem unveraenderten Kunden
+                    EMAILS.move(kunde.getEmail(), existing.value().getEmail(), id);
+                    throw ex;
+                }
+                event.stored(put);
+                return UpdateResult.UPDATED;
+            });
+            event.end(id, updated);
+            return updated;
+        });
+        getLogger().debug("update: result={}", result);
+        return result;
     }
 
     /// Einen vorhandenen Kunden löschen.
@@ -271,13 +572,88 @@ public class KundeRepository {
     /// @param id Die ID des zu löschenden Kunden.
     public void deleteById(final UUID id) {
         getLogger().debug("deleteById: id={}", id);
-        final var index = IntStream
-            .range(0, KUNDEN.size())
-            .filter(i -> Objects.equals(KUNDEN.get(i).getId(), id))
-            .findFirst();
-        getLogger().trace("deleteById: index={}", index);
-        index.ifPresent(KUNDEN::remove);
-        getLogger().debug("deleteById: #KUNDEN={}", KUNDEN.size());
+        final var removed = metrics.timed("deleteById", MethodMetrics.ID, () -> {
+            final var event = WriteEvent.begin(REPOSITORY, "deleteById");
+            final var kunde = KUNDEN.withLock(id, () -> {
+                final var remove = event.mark();
+                final var entry = KUNDEN.remove(id);
+                event.stored(remove);
+                if (entry != null) {
+                    final var release = event.mark();
+                    EMAILS.release(entry.getEmail(), id);
+                    event.indexed(release);
+                }
+                return entry;
+            });
+            event.end(id, kunde == null ? "NOT_FOUND" : "DELETED");
+            return kunde;
+        });
+        getLogger().trace("deleteById: removed={}", removed);
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("deleteById: #KUNDEN={}", KUNDEN.size());
+        }
+    }
+
+    /// Ergebnis einer Aktualisierung.
+    public enum UpdateResult {
+        /// Der Kunde wurde aktualisiert.
+        UPDATED,
+
+        /// Die neue Emailadresse gehört bereits einem anderen Kunden.
+        EMAIL_EXISTS,
+
+        /// Die erwartete Version ist nicht mehr aktuell.
+        VERSION_OUTDATED
+    }
+
+    /// Ergebnis pro Kunde bei der Batch-Verarbeitung.
+    public enum BatchResult {
+        /// Der Kunde wurde neu angelegt.
+        CREATED,
+
+        /// Der Kunde wurde aktualisiert.
+        UPDATED,
+
+        /// Der Kunde wurde gelöscht.
+        DELETED,
+
+        /// Es gibt keinen Kunden mit der ID.
+        NOT_FOUND,
+
+        /// Die Emailadresse gehört bereits einem anderen Kunden.
+        EMAIL_EXISTS,
+
+        /// Die erwartete Version ist nicht mehr aktuell.
+        VERSION_OUTDATED,
+
+        /// Die Datenhaltung nimmt keine Änderungen mehr an, der Kunde wurde nicht geschrieben.
+        UNAVAILABLE
+    }
+
+    // Die Datenhaltung enthaelt nur eigene Kopien: ein Aufrufer, der einen uebergebenen oder gelieferten Kunden
+    // aendert, darf weder den gespeicherten Kunden noch den vorherigen Wert fuer die Indexe veraendern.
+    private static Kunde copy(final Kunde kunde) {
+        final var adresse = kunde.getAdresse();
+        final var rechnungen = kunde.getRechnungen();
+        final var interessen = kunde.getInteressen();
+        return new Kunde(
+            kunde.getId(),
+            kunde.getNachname(),
+            kunde.getEmail(),
+            kunde.getKategorie(),
+            kunde.isHasNewsletter(),
+            kunde.getGeburtsdatum(),
+            kunde.getHomepage(),
+            kunde.getGeschlecht(),
+            kunde.getFamilienstand(),
+            adresse == null ? null : new Adresse(adresse.getPlz(), adresse.getOrt()),
+            rechnungen == null
+                ? null
+                : rechnungen.stream()
+                    .map(rechnung -> new Rechnung(rechnung.getBetrag(), rechnung.getWaehrung()))
+                    .collect(Collectors.toList()),
+            interessen == null ? null : new ArrayList<>(interessen)
+        );
     }
 
     private Logger getLogger() {
@@ -17,6 +17,9 @@
 package com.acme.racingteam.kunde.repository;
 
 import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.store.ChangeLog;
+import com.acme.racingteam.store.UniqueIndex;
+import com.acme.racingteam.store.VersionedStore;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -47,15 +50,29 @@ import static java.util.Locale.GERMANY;
 /// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
 @SuppressWarnings({"UtilityClassCanBeEnum", "UtilityClass", "MagicNumber", "RedundantSuppression", "java:S1192"})
 final class MockDB {
-    /// Liste der Kunden zur Emulation der DB.
-    @SuppressWarnings("StaticCollection")
-    static final List<Kunde> KUNDEN;
+    /// Thread-sichere Datenhaltung der Kunden zur Emulation der DB: lock-freies Lesen, Schreiben pro ID serialisiert.
+    static final VersionedStore<Kunde> KUNDEN = new VersionedStore<>();
+
+    /// Eindeutiger Index über die normalisierte Emailadresse. Eine Emailadresse wird vor dem Einfügen reserviert.
+    static final UniqueIndex EMAILS = new UniqueIndex();
+
+    /// Sekundärindexe für die Suche, die bei jeder Änderung in [#KUNDEN] nachgeführt werden.
+    static final KundeIndex INDEX = new KundeIndex();
+
+    /// Optionale spaltenorientierte Kopie außerhalb des Heap für die Suche, siehe [KundeColumnsRefresh].
+    static final KundeColumnStore COLUMNS = new KundeColumnStore();
+
+    /// Ringpuffer mit den letzten Änderungen in [#KUNDEN] für den Event-Stream `/api/changes`.
+    static final ChangeLog CHANGES = new ChangeLog(16_384);
 
     static {
+        KUNDEN.addListener(INDEX);
+        KUNDEN.addListener(COLUMNS);
+        KUNDEN.addChangeLog(CHANGES);
         final var currencyGermany = Currency.getInstance(GERMANY);
         // Helper-Methoden ab Java 9: List.of(), Set.of, Map.of, Stream.of
         // List.of() baut eine unveraenderliche Liste: kein Einfuegen, Aendern, Loeschen
-        KUNDEN = Stream.of(
+        Stream.of(
             // admin
             KundeBuilder.getBuilder()
                 .setId(UUID.fromString("00000000-0000-0000-0000-000000000000"))
@@ -177,8 +194,10 @@ final class MockDB {
                 .setAdresse(AdresseBuilder.getBuilder().setPlz("66666").setOrt("Freiburg").build())
                 .build()
         )
-        // CAVEAT Stream.toList() erstellt eine "immutable" List
-        .collect(Collectors.toList()); // NOSONAR
+        .forEach(kunde -> {
+            EMAILS.claim(kunde.getEmail(), kunde.getId());
+            KUNDEN.put(kunde.getId(), kunde);
+        });
     }
 
     private MockDB() {
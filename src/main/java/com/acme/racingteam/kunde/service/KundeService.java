@@ -18,10 +18,18 @@ package com.acme.racingteam.kunde.service;
 
 import com.acme.racingteam.kunde.entity.Kunde;
 import com.acme.racingteam.kunde.repository.KundeRepository;
+import com.acme.racingteam.store.ChangeLog;
+import com.acme.racingteam.store.MethodMetrics;
+import com.acme.racingteam.store.Page;
+import com.acme.racingteam.store.StoreListener;
+import com.acme.racingteam.store.Versioned;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -35,6 +43,7 @@ import org.springframework.stereotype.Service;
 public class KundeService {
     private final KundeRepository repo;
     private final StableValue<Logger> logger = StableValue.of();
+    private final MethodMetrics metrics = new MethodMetrics("service", KundeService.class);
 
     /// Konstruktor mit _package private_ für _Spring_.
     ///
@@ -50,44 +59,124 @@ public class KundeService {
     /// @throws NotFoundException Falls kein Kunde gefunden wurde
     public Kunde findById(final UUID id) {
         getLogger().debug("findById: id={}", id);
-        final var kunde = repo.findById(id);
-        if (kunde == null) {
-            throw new NotFoundException(id);
-        }
+        final var kunde = metrics.timed("findById", MethodMetrics.ID, () -> {
+            final var result = repo.findById(id);
+            if (result == null) {
+                throw new NotFoundException(id);
+            }
+            return result;
+        });
         getLogger().debug("findById: kunde={}", kunde);
         return kunde;
     }
 
-    /// Kunden anhand von SuchParametern als Collection suchen.
+    /// Die Version eines Kunden ermitteln, ohne den Kunden zu lesen.
+    ///
+    /// @param id Die Id des gesuchten Kunden
+    /// @return Die Version
+    /// @throws NotFoundException Falls kein Kunde gefunden wurde
+    public long findVersionById(final UUID id) {
+        return metrics.timed("findVersionById", MethodMetrics.ID, () -> {
+            final var version = repo.findVersionById(id);
+            if (version == null) {
+                throw new NotFoundException(id);
+            }
+            return version;
+        });
+    }
+
+    /// Einen Kunden zusammen mit seiner Version suchen.
+    ///
+    /// @param id Die Id des gesuchten Kunden
+    /// @return Der gefundene Kunde mit Version
+    /// @throws NotFoundException Falls kein Kunde gefunden wurde
+    public Versioned<Kunde> findVersionedById(final UUID id) {
+        getLogger().debug("findVersionedById: id={}", id);
+        return metrics.timed("findVersionedById", MethodMetrics.ID, () -> {
+            final var kunde = repo.findVersionedById(id);
+            if (kunde == null) {
+                throw new NotFoundException(id);
+            }
+            return kunde;
+        });
+    }
+
+    /// Einen Callback registrieren, der nach jeder Änderung eines Kunden mit dem alten und neuen Kunden aufgerufen
+    /// wird.
+    ///
+    /// @param listener Der Callback.
+    public void onChange(final StoreListener<Kunde> listener) {
+        repo.onChange(listener);
+    }
+
+    /// Das Suchkriterium zu Suchparametern für einen einzelnen Kunden ermitteln.
+    ///
+    /// @param suchparameter Die Suchparameter wie bei [#find(Map, UUID, int)].
+    /// @return Das Suchkriterium oder null bei ungültigen Suchparametern.
+    public @Nullable Predicate<Kunde> filter(final Map<String, List<String>> suchparameter) {
+        return repo.filter(suchparameter);
+    }
+
+    /// Eine Seite von Kunden anhand von SuchParametern suchen.
     ///
     /// @param suchparameter Die SuchParametern
-    /// @return Die gefundenen Kunden
-    /// @throws NotFoundException Falls keine Kunden gefunden wurden
-    @SuppressWarnings({"ReturnCount", "NestedIfDepth"})
-    public Collection<Kunde> find(final Map<String, List<String>> suchparameter) {
-        getLogger().debug("find: suchparameter={}", suchparameter);
+    /// @param after Die ID des letzten Kunden der vorherigen Seite oder null für die erste Seite.
+    /// @param size Die Seitengröße.
+    /// @return Die Seite mit den gefundenen Kunden
+    /// @throws NotFoundException Falls auf der ersten Seite keine Kunden gefunden wurden
+    public Page<Kunde> find(
+        final Map<String, List<String>> suchparameter,
+        final @Nullable UUID after,
+        final int size
+    ) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("find: suchparameter={}, after={}, size={}", suchparameter, after, size);
+        }
+
+        final var shape = MethodMetrics.shape(suchparameter, KundeRepository.SUCHPARAMETER);
+        final var page = metrics.timed("find", shape, () -> {
+            final var result = repo.find(suchparameter, after, size);
+            if (result.content().isEmpty() && after == null) {
+                throw new NotFoundException(suchparameter);
+            }
+            return result;
+        }, result -> result.content().size());
 
-        final var kunden = repo.find(suchparameter);
-        if (kunden.isEmpty()) {
-            throw new NotFoundException(suchparameter);
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("find: #kunden={}", page.content().size());
         }
+        return page;
+    }
+
+    /// Die letzten Änderungen für einen Event-Stream ermitteln.
+    ///
+    /// @return Der Ringpuffer mit den Änderungen.
+    public ChangeLog changes() {
+        return repo.changes();
+    }
 
-        getLogger().debug("find: kunden={}", kunden);
-        return kunden;
+    /// Alle Kunden für einen Export als Stream ermitteln.
+    ///
+    /// @return Alle Kunden aufsteigend sortiert nach der ID.
+    public Stream<Kunde> streamAll() {
+        return repo.streamAll();
     }
 
     /// Abfrage, welche Nachnamen es zu einem Präfix gibt.
     ///
     /// @param prefix Nachname-Präfix.
+    /// @param limit Maximale Anzahl der Nachnamen.
     /// @return Die passenden Nachnamen.
     /// @throws NotFoundException Falls keine Nachnamen gefunden wurden.
-    public Collection<String> findNachnamenByPrefix(final String prefix) {
-        final var nachnamen = repo.findNachnamenByPrefix(prefix);
-        if (nachnamen.isEmpty()) {
-            //noinspection NewExceptionWithoutArguments
-            throw new NotFoundException();
-        }
-        return nachnamen;
+    public Collection<String> findNachnamenByPrefix(final String prefix, final int limit) {
+        return metrics.timed("findNachnamenByPrefix", "nachname", () -> {
+            final var nachnamen = repo.findNachnamenByPrefix(prefix, limit);
+            if (nachnamen.isEmpty()) {
+                //noinspection NewExceptionWithoutArguments
+                throw new NotFoundException();
+            }
+            return nachnamen;
+        }, Collection::size);
     }
 
     private Logger getLogger() {
@@ -18,7 +18,10 @@ package com.acme.racingteam.kunde.service;
 
 import com.acme.racingteam.kunde.entity.Kunde;
 import com.acme.racingteam.kunde.repository.KundeRepository;
-import java.util.Objects;
+import com.acme.racingteam.kunde.repository.KundeRepository.BatchResult;
+import com.acme.racingteam.store.MethodMetrics;
+import com.acme.racingteam.store.Versioned;
+import java.util.List;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,8 +34,11 @@ import org.springframework.stereotype.Service;
 // Maven: ![Klassendiagramm](../../../../../../generated-docs/KundeWriteService.svg)
 @Service
 public class KundeWriteService {
+    private static final String EMAIL = "email";
+
     private final KundeRepository repo;
     private final StableValue<Logger> logger = StableValue.of();
+    private final MethodMetrics metrics = new MethodMetrics("service", KundeWriteService.class);
 
     /// Konstruktor mit _package private_ für _Spring_.
     ///
@@ -49,15 +55,61 @@ public class KundeWriteService {
     public Kunde create(final Kunde kunde) {
         getLogger().debug("create: {}", kunde);
 
-        if (repo.isEmailExisting(kunde.getEmail())) {
-            throw new EmailExistsException(kunde.getEmail());
-        }
-
-        final var kundeDB = repo.create(kunde);
+        // Emailadresse reservieren und einfuegen in einem Schritt
+        final var kundeDB = metrics.timed("create", EMAIL, () -> {
+            final var result = repo.create(kunde);
+            if (result == null) {
+                throw new EmailExistsException(kunde.getEmail());
+            }
+            return result;
+        });
         getLogger().debug("create: {}", kundeDB);
         return kundeDB;
     }
 
+    /// Mehrere neue Kunden in einem Schritt anlegen. Eine bereits vorhandene Emailadresse führt nicht zum Abbruch,
+    /// sondern nur dazu, dass der betreffende Kunde nicht angelegt wird.
+    ///
+    /// @param kunden Die Objekte der neu anzulegenden Kunden.
+    /// @return Das Ergebnis pro Kunde in derselben Reihenfolge; ein neu angelegter Kunde hat eine generierte ID.
+    public List<BatchResult> createAll(final List<Kunde> kunden) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("createAll: #kunden={}", kunden.size());
+        }
+        final var results = metrics.timed("createAll", EMAIL, () -> repo.createAll(kunden), List::size);
+        getLogger().trace("createAll: {}", results);
+        return results;
+    }
+
+    /// Mehrere vorhandene Kunden mit optimistischer Synchronisation in einem Schritt aktualisieren. Ein fehlender
+    /// Kunde, eine vorhandene Emailadresse oder eine veraltete Version führt nicht zum Abbruch, sondern nur dazu,
+    /// dass der betreffende Kunde nicht aktualisiert wird.
+    ///
+    /// @param kunden Die Objekte mit den neuen Daten und ihrer ID, jeweils mit der erwarteten Version oder
+    /// [Versioned#ANY] ohne Prüfung.
+    /// @return Das Ergebnis pro Kunde in derselben Reihenfolge.
+    public List<BatchResult> updateAll(final List<Versioned<Kunde>> kunden) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("updateAll: #kunden={}", kunden.size());
+        }
+        final var results = metrics.timed("updateAll", MethodMetrics.ID, () -> repo.updateAll(kunden), List::size);
+        getLogger().trace("updateAll: {}", results);
+        return results;
+    }
+
+    /// Mehrere Kunden anhand ihrer ID in einem Schritt löschen.
+    ///
+    /// @param ids Die IDs der zu löschenden Kunden.
+    /// @return Das Ergebnis pro ID in derselben Reihenfolge.
+    public List<BatchResult> deleteAll(final List<UUID> ids) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("deleteAll: #ids={}", ids.size());
+        }
+        final var results = metrics.timed("deleteAll", MethodMetrics.ID, () -> repo.deleteAll(ids), List::size);
+        getLogger().trace("deleteAll: {}", results);
+        return results;
+    }
+
     /// Einen vorhandenen Kunden aktualisieren.
     ///
     /// @param kunde Das Objekt mit den neuen Daten (ohne ID)
@@ -65,22 +117,43 @@ public class KundeWriteService {
     /// @throws NotFoundException Kein Kunde zur ID vorhanden.
     /// @throws EmailExistsException Es gibt bereits einen Kunden mit der Emailadresse.
     public void update(final Kunde kunde, final UUID id) {
-        getLogger().debug("update: {}", kunde);
-        getLogger().debug("update: id={}", id);
+        update(kunde, id, Versioned.ANY);
+    }
 
-        // Ist die neue Email bei einem///ANDEREN* Kunden vorhanden?
-        final var email = kunde.getEmail();
-        final var kundeDb = repo.findById(id);
-        if (kundeDb == null) {
-            throw new NotFoundException(id);
-        }
-        if (!Objects.equals(email, kundeDb.getEmail()) && repo.isEmailExisting(email)) {
-            getLogger().debug("update: email {} existiert", email);
-            throw new EmailExistsException(email);
+    /// Einen vorhandenen Kunden mit optimistischer Synchronisation aktualisieren.
+    ///
+    /// @param kunde Das Objekt mit den neuen Daten (ohne ID)
+    /// @param id ID des zu aktualisierenden Kunden
+    /// @param version Die erwartete Version, z.B. aus `If-Match`, oder [Versioned#ANY] ohne Prüfung
+    /// @throws NotFoundException Kein Kunde zur ID vorhanden.
+    /// @throws EmailExistsException Es gibt bereits einen Kunden mit der Emailadresse.
+    /// @throws VersionOutdatedException Die erwartete Version ist nicht mehr aktuell.
+    public void update(final Kunde kunde, final UUID id, final long version) {
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug("update: id={}, version={}, {}", id, version, kunde);
         }
 
-        kunde.setId(id);
-        repo.update(kunde);
+        metrics.timed("update", MethodMetrics.ID, () -> {
+            final var versionDb = repo.findVersionById(id);
+            if (versionDb == null) {
+                throw new NotFoundException(id);
+            }
+
+            // Ist die neue Email bei einem *ANDEREN* Kunden vorhanden?
+            kunde.setId(id);
+            switch (repo.update(kunde, version)) {
+                case EMAIL_EXISTS -> {
+                    final var email = kunde.getEmail();
+                    getLogger().debug("update: email {} existiert", email);
+                    throw new EmailExistsException(email);
+                }
+                case VERSION_OUTDATED -> {
+                    getLogger().debug("update: version {} ist veraltet", version);
+                    throw new VersionOutdatedException(version);
+                }
+                case UPDATED -> getLogger().debug("update: aktualisiert");
+            }
+        });
     }
 
     /// Einen vorhandenen Kunden löschen.
@@ -88,7 +161,7 @@ public class KundeWriteService {
     /// @param id Die ID des zu löschenden Kunden.
     public void deleteById(final UUID id) {
         getLogger().debug("deleteById: id={}", id);
-        repo.deleteById(id);
+        metrics.timed("deleteById", MethodMetrics.ID, () -> repo.deleteById(id));
     }
 
     private Logger getLogger() {
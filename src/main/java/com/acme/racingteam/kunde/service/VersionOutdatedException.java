@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2025 - present Juergen Zimmermann, Hochschule Karlsruhe
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.acme.racingteam.kunde.service;
+
+import java.io.Serial;
+
+/// Exception, falls die erwartete Version eines Kunden, z.B. aus `If-Match`, nicht mehr aktuell ist.
+///
+/// @author [Jürgen Zimmermann](mailto:Juergen.Zimmermann@h-ka.de)
+public class VersionOutdatedException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 5830150924384461713L;
+
+    /// Die veraltete Version.
+    private final long version;
+
+    /// Konstruktor, falls ein Kunde mit einer veralteten Version aktualisiert werden soll.
+    ///
+    /// @param version Die veraltete Version.
+    VersionOutdatedException(@SuppressWarnings("ParameterHidesMemberVariable") final long version) {
+        super("Die Version " + version + " ist veraltet");
+        this.version = version;
+    }
+
+    /// Veraltete Version ermitteln.
+    ///
+    /// @return Die veraltete Version.
+    public long getVersion() {
+        return version;
+    }
+}
@@ -1,18 +1,47 @@
 package com.acme.racingteam.repository;
 
-import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.store.ChangeLog;
+import com.acme.racingteam.store.TrigramIndex;
+import com.acme.racingteam.store.UniqueIndex;
+import com.acme.racingteam.store.VersionedStore;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @SuppressWarnings({"UtilityClass", "MagicNumber"})
 final class MockDB {
-    static final List<Team> TEAMS;
+    // Thread-sichere Datenhaltung: lock-freies Lesen, Schreiben pro ID serialisiert
+    static final VersionedStore<TeamRecord> TEAMS = new VersionedStore<>();
+
+    // Eindeutiger Index: normalisierter Teamname -> UUID
+    static final UniqueIndex TEAM_NAMES = new UniqueIndex();
+
+    // Teilstring-Suche ueber name und teamPrincipal
+    static final TrigramIndex NAME_INDEX = new TrigramIndex();
+    static final TrigramIndex TEAM_PRINCIPAL_INDEX = new TrigramIndex();
+
+    // die letzten Aenderungen fuer den Event-Stream /teams/changes
+    static final ChangeLog CHANGES = new ChangeLog(16_384);
 
     static {
-        TEAMS = Stream.of(
+        // Sekundaerindexe werden innerhalb des Schreib-Locks der jeweiligen ID gepflegt
+        TEAMS.addChangeLog(CHANGES);
+        TEAMS.addListener((id, previous, current) -> {
+            // der ersetzte oder geloeschte TeamRecord belegt keine Codes im Woerterbuch mehr
+            if (previous != null) {
+                previous.release();
+            }
+            if (current == null) {
+                NAME_INDEX.remove(id);
+                TEAM_PRINCIPAL_INDEX.remove(id);
+                return;
+            }
+            NAME_INDEX.add(id, current.name());
+            TEAM_PRINCIPAL_INDEX.add(id, current.teamPrincipal());
+        });
+
+        Stream.of(
                 TeamBuilder.getBuilder()
                         .setId(UUID.fromString("00000000-0000-0000-0000-000000000001"))
                         .setName("Oracle Red Bull Racing")
@@ -52,7 +81,10 @@ final class MockDB {
                         DriverBuilder.getBuilder().setName("Charles Leclerc").setAge(28).build()
                     ))
                     .build()
-        ).collect(Collectors.toList());
+        ).forEach(team -> {
+            TEAM_NAMES.claim(team.getName(), team.getId());
+            TEAMS.put(team.getId(), TeamRecord.of(team));
+        });
     }
 
     private MockDB() {}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.repository;
+
+import com.acme.racingteam.entity.Driver;
+import com.acme.racingteam.entity.Homebase;
+import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.store.Codec;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static com.acme.racingteam.store.Codec.getString;
+import static com.acme.racingteam.store.Codec.putString;
+
+// Binaere Kodierung eines Teams fuer Snapshot und Write-Ahead-Log, die ID speichert das Journal selbst.
+// location und country werden als String gespeichert, weil die Codes aus TeamRecord.PLACES nur im Prozess gelten.
+final class TeamCodec implements Codec<TeamRecord> {
+
+    @Override
+    public void encode(final TeamRecord team, final ByteBuffer buffer) {
+        putString(buffer, team.name());
+        putString(buffer, team.teamPrincipal());
+        final var homebase = team.homebase();
+        buffer.put(homebase == null ? (byte) 0 : (byte) 1);
+        if (homebase != null) {
+            putString(buffer, homebase.getLocation());
+            putString(buffer, homebase.getCountry());
+        }
+        final var names = team.driverNames();
+        // -1 fuer eine fehlende Liste
+        buffer.putInt(names == null ? -1 : names.length);
+        if (names != null) {
+            for (var i = 0; i < names.length; i++) {
+                putString(buffer, names[i]);
+                buffer.putInt(team.driverAges()[i]);
+            }
+        }
+    }
+
+    @Override
+    public TeamRecord decode(final UUID id, final ByteBuffer buffer) {
+        final var name = getString(buffer);
+        final var teamPrincipal = getString(buffer);
+        final var homebase = buffer.get() == 0 ? null : new Homebase(getString(buffer), getString(buffer));
+        final var count = buffer.getInt();
+        List<Driver> drivers = null;
+        if (count >= 0) {
+            drivers = new ArrayList<>(count);
+            for (var i = 0; i < count; i++) {
+                drivers.add(new Driver(getString(buffer), buffer.getInt()));
+            }
+        }
+        return TeamRecord.of(new Team(id, name, teamPrincipal, homebase, drivers));
+    }
+}
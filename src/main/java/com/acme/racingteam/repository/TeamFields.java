@@ -0,0 +1,15 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.repository;
+
+// Die durchsuchbaren Felder eines Teams in der MockDB, z.B. fuer Suchkriterien bei jeder Aenderung.
+// Implementiert durch TeamRecord, so dass dafuer kein Team-Objekt erzeugt wird.
+public interface TeamFields {
+    String name();
+
+    String teamPrincipal();
+}
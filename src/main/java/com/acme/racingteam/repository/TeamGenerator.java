@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.repository;
+
+import com.acme.racingteam.config.GeneratorProperties;
+import com.acme.racingteam.entity.Driver;
+import com.acme.racingteam.entity.Homebase;
+import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.store.Synthetic;
+import com.acme.racingteam.store.Synthetic.Choice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+import static com.acme.racingteam.repository.MockDB.TEAMS;
+import static com.acme.racingteam.repository.MockDB.TEAM_NAMES;
+
+// Synthetische Teams beim Start, nur mit app.generator.enabled=true.
+// Jedes Team haengt nur von Seed und laufender Nummer ab, deshalb werden die Teams parallel erzeugt.
+// Der Name enthaelt die Nummer: bei einem erneuten Start mit demselben Seed entstehen keine Duplikate.
+@Component
+@Lazy(false)
+@ConditionalOnBooleanProperty("app.generator.enabled")
+@SuppressWarnings("MagicNumber")
+class TeamGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TeamGenerator.class);
+
+    private static final Choice<String> SPONSOREN = Choice.zipf(List.of(
+        "Apex", "Falcon", "Vortex", "Titan", "Aurora", "Phoenix", "Velocity", "Horizon", "Zenith", "Nova",
+        "Orion", "Pulsar", "Comet", "Quantum", "Stratos", "Meteor", "Cobalt", "Summit", "Atlas", "Vector"
+    ), 0.8);
+    private static final Choice<String> SUFFIXE = Choice.weighted(
+        List.of("Racing", "Motorsport", "GP", "F1 Team", "Racing Team"),
+        35, 25, 20, 15, 5
+    );
+    private static final Choice<String> VORNAMEN = Choice.zipf(List.of(
+        "Max", "Lewis", "Charles", "Lando", "Oscar", "George", "Carlos", "Fernando", "Pierre", "Esteban",
+        "Nico", "Kevin", "Alexander", "Yuki", "Valtteri", "Daniel", "Sebastian", "Kimi", "Oliver", "Gabriel"
+    ), 0.5);
+    private static final Choice<String> NACHNAMEN = Choice.zipf(List.of(
+        "Smith", "Rossi", "Müller", "Martin", "García", "Bernard", "Jones", "Bianchi", "Schmidt", "Dubois",
+        "Williams", "Romano", "Fernández", "Brown", "Ricci", "Weber", "Moreau", "Taylor", "Costa", "Tanaka"
+    ), 0.7);
+
+    // Standorte wie in der Formel 1: die meisten Teams sitzen in England
+    private static final Choice<Homebase> HOMEBASES = Choice.weighted(
+        List.of(
+            new Homebase("Milton Keynes", "England"), new Homebase("Brackley", "England"),
+            new Homebase("Silverstone", "England"), new Homebase("Woking", "England"),
+            new Homebase("Enstone", "England"), new Homebase("Grove", "England"),
+            new Homebase("Maranello", "Italy"), new Homebase("Faenza", "Italy"),
+            new Homebase("Hinwil", "Switzerland"), new Homebase("Kannapolis", "USA"),
+            new Homebase("Los Angeles", "USA"), new Homebase("Viry-Chatillon", "France"),
+            new Homebase("Koeln", "Germany"), new Homebase("Tokyo", "Japan")
+        ),
+        8, 6, 6, 5, 4, 4, 5, 3, 3, 2, 1, 2, 1, 1
+    );
+    private static final double RESERVEFAHRER = 0.2;
+
+    TeamGenerator(final GeneratorProperties props, final ObjectProvider<TeamJournal> journal) {
+        // ein gespeicherter Stand wird vorher geladen, damit er die erzeugten Teams nicht ersetzt
+        journal.ifAvailable(_ -> { });
+        final var start = System.nanoTime();
+        final var created = new LongAdder();
+        IntStream.range(0, props.teams()).parallel().forEach(index -> {
+            final var team = team(props.seed(), index);
+            if (TEAM_NAMES.claim(team.getName(), team.getId())) {
+                TEAMS.put(team.getId(), TeamRecord.of(team));
+                created.increment();
+            }
+        });
+        LOGGER.info("{} Teams in {} ms erzeugt, #TEAMS={}", created.sum(),
+            (System.nanoTime() - start) / 1_000_000, TEAMS.size());
+    }
+
+    static Team team(final long seed, final int index) {
+        final var random = Synthetic.random(seed, index);
+        final var id = Synthetic.uuid(random);
+        final var name = SPONSOREN.next(random) + ' ' + SUFFIXE.next(random) + ' ' + (index + 1);
+        final var homebase = HOMEBASES.next(random);
+        final List<Driver> drivers = new ArrayList<>(3);
+        drivers.add(driver(random));
+        drivers.add(driver(random));
+        if (random.nextDouble() < RESERVEFAHRER) {
+            drivers.add(driver(random));
+        }
+        return new Team(
+            id,
+            name,
+            person(random),
+            new Homebase(homebase.getLocation(), homebase.getCountry()),
+            drivers
+        );
+    }
+
+    private static Driver driver(final RandomGenerator random) {
+        return new Driver(person(random), Synthetic.gaussian(random, 27, 5, 17, 45));
+    }
+
+    private static String person(final RandomGenerator random) {
+        return VORNAMEN.next(random) + ' ' + NACHNAMEN.next(random);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.repository;
+
+import com.acme.racingteam.config.JournalProperties;
+import com.acme.racingteam.store.Journal;
+import com.acme.racingteam.store.Versioned;
+import jakarta.annotation.PreDestroy;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static com.acme.racingteam.repository.MockDB.TEAMS;
+import static com.acme.racingteam.repository.MockDB.TEAM_NAMES;
+
+// Persistenz der Teams ueber Snapshot und Write-Ahead-Log, nur mit app.journal.enabled=true
+@Component
+@Lazy(false)
+@ConditionalOnBooleanProperty("app.journal.enabled")
+class TeamJournal {
+
+    private final Journal<TeamRecord> journal;
+
+    TeamJournal(final JournalProperties props) throws IOException {
+        journal = new Journal<>(TEAMS, new TeamCodec(), props.directory(), "teams");
+        if (journal.exists()) {
+            // gespeicherter Stand ersetzt die Testdaten aus MockDB
+            TEAMS.forEach((id, _) -> apply(id, null));
+            journal.recover(TeamJournal::apply);
+        }
+        journal.start(props.syncInterval(), props.snapshotInterval());
+    }
+
+    // Namensindex wie in TeamRepository mitfuehren, Version fuer ETag uebernehmen, null bedeutet Loeschen
+    private static void apply(final UUID id, @Nullable final Versioned<TeamRecord> entry) {
+        final var existing = TEAMS.get(id);
+        if (existing != null) {
+            TEAM_NAMES.release(existing.name(), id);
+        }
+        if (entry == null) {
+            TEAMS.remove(id);
+            return;
+        }
+        TEAM_NAMES.claim(entry.value().name(), id);
+        TEAMS.restore(id, entry);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        journal.close();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.repository;
+
+import com.acme.racingteam.entity.Driver;
+import com.acme.racingteam.entity.Homebase;
+import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.store.StringDictionary;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+
+// Kompakte, unveraenderliche Darstellung eines Teams in der MockDB:
+// - location und country der Homebase als Codes aus einem Woerterbuch, weil sie sich ueber viele Teams wiederholen
+// - Fahrer als zwei parallele Arrays statt einer Liste von Driver-Objekten
+// Ein Team-Objekt wird erst beim Lesen ueber toTeam() erzeugt, Aenderungen daran wirken sich nicht auf die MockDB aus.
+@SuppressWarnings("ArrayRecordComponent")
+record TeamRecord(
+    UUID id,
+    String name,
+    String teamPrincipal,
+    int location,
+    int country,
+    String[] driverNames,
+    int[] driverAges
+) implements TeamFields {
+
+    // Codes fuer location und country, gemeinsam fuer alle Teams; ein Code ohne Referenzen wird erst nach der
+    // Karenzzeit wiederverwendet, damit ein gerade ersetzter TeamRecord noch gelesen werden kann
+    static final StringDictionary PLACES = new StringDictionary(Duration.ofMinutes(1));
+
+    // location = -2: keine Homebase
+    private static final int NO_HOMEBASE = -2;
+
+    static TeamRecord of(final Team team) {
+        final var homebase = team.getHomebase();
+        final var drivers = team.getDrivers();
+        String[] names = null;
+        int[] ages = null;
+        if (drivers != null) {
+            names = new String[drivers.size()];
+            ages = new int[drivers.size()];
+            for (var i = 0; i < names.length; i++) {
+                names[i] = drivers.get(i).getName();
+                ages[i] = drivers.get(i).getAge();
+            }
+        }
+        return new TeamRecord(
+            team.getId(),
+            team.getName(),
+            team.getTeamPrincipal(),
+            homebase == null ? NO_HOMEBASE : PLACES.encode(homebase.getLocation()),
+            homebase == null ? NO_HOMEBASE : PLACES.encode(homebase.getCountry()),
+            names,
+            ages
+        );
+    }
+
+    // die Referenzen auf location und country freigeben, sobald der TeamRecord nicht mehr gespeichert ist
+    void release() {
+        if (location != NO_HOMEBASE) {
+            PLACES.release(location);
+            PLACES.release(country);
+        }
+    }
+
+    @Nullable
+    Homebase homebase() {
+        return location == NO_HOMEBASE ? null : new Homebase(PLACES.decode(location), PLACES.decode(country));
+    }
+
+    Team toTeam() {
+        List<Driver> drivers = null;
+        if (driverNames != null && driverAges != null) {
+            drivers = new ArrayList<>(driverNames.length);
+            for (var i = 0; i < driverNames.length; i++) {
+                drivers.add(new Driver(driverNames[i], driverAges[i]));
+            }
+        }
+        return new Team(id, name, teamPrincipal, homebase(), drivers);
+    }
+}
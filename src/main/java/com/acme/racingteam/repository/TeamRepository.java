@@ -1,90 +1,381 @@
 package com.acme.racingteam.repository;
 
 import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.store.ChangeLog;
+import com.acme.racingteam.store.MethodMetrics;
+import com.acme.racingteam.store.Page;
+import com.acme.racingteam.store.QueryEvent;
+import com.acme.racingteam.store.StoreListener;
+import com.acme.racingteam.store.TrigramIndex;
+import com.acme.racingteam.store.UniqueIndex;
+import com.acme.racingteam.store.Versioned;
+import com.acme.racingteam.store.WriteEvent;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import static com.acme.racingteam.repository.MockDB.CHANGES;
+import static com.acme.racingteam.repository.MockDB.NAME_INDEX;
 import static com.acme.racingteam.repository.MockDB.TEAMS;
+import static com.acme.racingteam.repository.MockDB.TEAM_NAMES;
+import static com.acme.racingteam.repository.MockDB.TEAM_PRINCIPAL_INDEX;
 
 @Repository
 public class TeamRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TeamRepository.class);
+    // bekannte Suchparameter fuer das Tag "shape" der Metriken
+    public static final Set<String> SUCHPARAMETER = Set.of("name", "teamPrincipal");
+    private static final String NAME = "name";
+    // Name fuer die JFR-Events QueryEvent und WriteEvent
+    private static final String REPOSITORY = "TeamRepository";
+    // Runden beim Upsert, falls die Namen nebenlaeufig geaendert werden
+    private static final int MAX_UPSERT_ROUNDS = 3;
+
+    // Timer und Ergebnisgroessen pro Methode und Form der Suche, z.B. unter /actuator/metrics/repository.invocations
+    private final MethodMetrics metrics = new MethodMetrics("repository", TeamRepository.class);
 
     TeamRepository() {
-        // leerer Konstruktor fuer Spring
+        metrics.gauge("teams", TEAMS);
     }
 
     @Nullable
     public Team findById(final UUID id) {
-        return TEAMS.stream()
-            .filter(team -> Objects.equals(team.getId(), id))
-            .findFirst()
-            .orElse(null);
+        // O(1) ueber den Primaerschluessel, ohne Lock
+        return metrics.timed("findById", MethodMetrics.ID, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "findById", MethodMetrics.ID, 1);
+            final var team = TEAMS.get(id);
+            event.endLookup(team != null);
+            return team == null ? null : team.toTeam();
+        });
+    }
+
+    // nur die Version, z.B. fuer If-None-Match: das Team wird dafuer nicht erzeugt
+    @Nullable
+    public Long findVersionById(final UUID id) {
+        return metrics.timed("findVersionById", MethodMetrics.ID, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "findVersionById", MethodMetrics.ID, 1);
+            final var entry = TEAMS.getVersioned(id);
+            event.endLookup(entry != null);
+            return entry == null ? null : entry.version();
+        });
+    }
+
+    // Team und Version aus demselben Eintrag, z.B. fuer den ETag
+    @Nullable
+    public Versioned<Team> findVersionedById(final UUID id) {
+        return metrics.timed("findVersionedById", MethodMetrics.ID, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "findVersionedById", MethodMetrics.ID, 1);
+            final var entry = TEAMS.getVersioned(id);
+            event.endLookup(entry != null);
+            return entry == null ? null : new Versioned<>(entry.value().toTeam(), entry.version());
+        });
+    }
+
+    // nur die ID nach jeder Aenderung, z.B. um einen Cache pro ID zu invalidieren: es werden keine Teams erzeugt
+    public void onChangeId(final Consumer<UUID> listener) {
+        TEAMS.addListener((id, _, _) -> listener.accept(id));
+    }
+
+    // Callback mit den Feldern des alten und neuen Teams nach jeder Aenderung, z.B. um Suchergebnisse zu invalidieren.
+    // Uebergeben werden direkt die TeamRecords, d.h. es werden keine Teams erzeugt.
+    public void onChange(final StoreListener<? super TeamFields> listener) {
+        TEAMS.addListener(listener::changed);
     }
 
     public Collection<Team> find(final Map<String, String> queryParam) {
         if (queryParam.isEmpty()) {
             return findAll();
         }
+        final var shape = MethodMetrics.shape(queryParam, SUCHPARAMETER);
+        return metrics.timed("find", shape, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "find", shape, queryParam.size());
+            final var teams = stream(queryParam, null, event).toList();
+            event.end(teams.size());
+            return teams;
+        }, List::size);
+    }
+
+    // Keyset Pagination: es wird nur die angeforderte Seite gelesen, sortiert nach der ID
+    public Page<Team> find(final Map<String, String> queryParam, @Nullable final UUID after, final int size) {
+        final var shape = MethodMetrics.shape(queryParam, SUCHPARAMETER);
+        return metrics.timed("find", shape, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "find", shape, queryParam.size());
+            final var page = Page.of(stream(queryParam, after, event), Team::getId, size);
+            event.end(page.content().size());
+            return page;
+        }, page -> page.content().size());
+    }
+
+    // dieselbe Suche wie bei find fuer die Felder eines einzelnen Teams, z.B. um einen Cache gezielt zu invalidieren
+    public Predicate<TeamFields> filter(final Map<String, String> queryParam) {
+        if (queryParam.isEmpty()) {
+            return _ -> true;
+        }
         if (queryParam.size() == 1) {
             final var name = queryParam.get("name");
             if (name != null) {
-                return findByName(name);
+                final var needle = TrigramIndex.fold(name);
+                return team -> TrigramIndex.fold(team.name()).contains(needle);
             }
             final var teamPrincipal = queryParam.get("teamPrincipal");
             if (teamPrincipal != null) {
-                return findByTeamPrincipal(teamPrincipal);
+                final var needle = TrigramIndex.fold(teamPrincipal);
+                return team -> TrigramIndex.fold(team.teamPrincipal()).contains(needle);
             }
         }
-        return Collections.emptyList();
+        return _ -> false;
     }
 
-    private Collection<Team> findByName(final String name) {
-        return TEAMS.stream()
-            .filter(team -> team.getName().toLowerCase().contains(name.toLowerCase()))
-            .toList();
+    // die gelesenen Kandidaten werden im JFR-Event gezaehlt
+    private Stream<Team> stream(
+        final Map<String, String> queryParam,
+        @Nullable final UUID after,
+        final QueryEvent event
+    ) {
+        if (queryParam.isEmpty()) {
+            return event.scan(TEAMS.stream(after)).map(TeamRecord::toTeam);
+        }
+        if (queryParam.size() == 1) {
+            final var name = queryParam.get("name");
+            if (name != null) {
+                return findByIndex(NAME_INDEX, name, after, event);
+            }
+            final var teamPrincipal = queryParam.get("teamPrincipal");
+            if (teamPrincipal != null) {
+                return findByIndex(TEAM_PRINCIPAL_INDEX, teamPrincipal, after, event);
+            }
+        }
+        return Stream.empty();
     }
 
-    private Collection<Team> findByTeamPrincipal(final String teamPrincipal) {
-        return TEAMS.stream()
-            .filter(team -> team.getTeamPrincipal().toLowerCase().contains(teamPrincipal.toLowerCase()))
-            .toList();
+    private Stream<Team> findByIndex(
+        final TrigramIndex index,
+        final String needle,
+        @Nullable final UUID after,
+        final QueryEvent event
+    ) {
+        return event.scan(index.search(needle, after))
+            .map(TEAMS::get)
+            .filter(Objects::nonNull)
+            .map(TeamRecord::toTeam);
     }
 
     public Collection<Team> findAll() {
-        return Collections.unmodifiableList(TEAMS);
+        return metrics.timed("findAll", MethodMetrics.FIND_ALL, () -> {
+            final var event = QueryEvent.begin(REPOSITORY, "findAll", MethodMetrics.FIND_ALL, 0);
+            final var teams = event.scan(TEAMS.stream()).map(TeamRecord::toTeam).toList();
+            event.end(teams.size());
+            return teams;
+        }, List::size);
     }
 
+    // Ringpuffer mit Sequenznummer, Art, ID und Version jeder Aenderung, z.B. fuer einen Event-Stream
+    public ChangeLog changes() {
+        return CHANGES;
+    }
+
+    // Teams werden erst beim Lesen des Streams erzeugt, z.B. fuer einen Export
+    public Stream<Team> streamAll() {
+        return TEAMS.stream().map(TeamRecord::toTeam);
+    }
+
+    // null, falls der Name bereits vergeben ist: Pruefen und Reservieren erfolgen atomar im Namensindex
+    @Nullable
     public Team create(final Team team) {
-        team.setId(UUID.randomUUID());
-        TEAMS.add(team);
-        LOGGER.debug("create: {}", team);
-        return team;
-    }
-
-    public void update(final Team team) {
-        final var index = IntStream.range(0, TEAMS.size())
-            .filter(i -> Objects.equals(TEAMS.get(i).getId(), team.getId()))
-            .findFirst();
-        if (index.isEmpty()) {
-            return;
+        return metrics.timed("create", NAME, () -> {
+            final var event = WriteEvent.begin(REPOSITORY, "create");
+            final var id = UUID.randomUUID();
+            final var claim = event.mark();
+            final var claimed = TEAM_NAMES.claim(team.getName(), id);
+            event.indexed(claim);
+            if (!claimed) {
+                event.end(null, UpsertResult.NAME_EXISTS);
+                return null;
+            }
+            team.setId(id);
+            final var put = event.mark();
+            final var record = TeamRecord.of(team);
+            try {
+                TEAMS.put(id, record);
+            } catch (final RuntimeException ex) {
+                record.release();
+                // z.B. StoreUnavailableException: der Name darf nicht dauerhaft belegt bleiben
+                TEAM_NAMES.release(team.getName(), id);
+                throw ex;
+            }
+            event.stored(put);
+            event.end(id, UpsertResult.CREATED);
+            // nur ID und Name: Team.toString() enthaelt auch die Fahrer und die Homebase
+            LOGGER.debug("create: id={}, name={}", id, team.getName());
+            return team;
+        });
+    }
+
+    // Ergebnis eines Updates mit optimistischer Synchronisation
+    public enum UpdateResult { UPDATED, NAME_EXISTS, VERSION_OUTDATED }
+
+    // false, falls der neue Name bereits einem anderen Team gehoert
+    public boolean update(final Team team) {
+        return update(team, Versioned.ANY) != UpdateResult.NAME_EXISTS;
+    }
+
+    // Die erwartete Version wird unter dem Lock der ID geprueft, Versioned.ANY ohne Pruefung
+    public UpdateResult update(final Team team, final long version) {
+        final var id = team.getId();
+        final var result = metrics.timed("update", MethodMetrics.ID, () -> {
+            final var event = WriteEvent.begin(REPOSITORY, "update");
+            final var updated = TEAMS.withLock(id, () -> {
+                final var existing = TEAMS.getVersioned(id);
+                if (existing == null) {
+                    return UpdateResult.UPDATED;
+                }
+                if (version != Versioned.ANY && version != existing.version()) {
+                    return UpdateResult.VERSION_OUTDATED;
+                }
+                final var move = event.mark();
+                final var moved = TEAM_NAMES.move(existing.value().name(), team.getName(), id);
+                event.indexed(move);
+                if (!moved) {
+                    return UpdateResult.NAME_EXISTS;
+                }
+                final var put = event.mark();
+                final var record = TeamRecord.of(team);
+                try {
+                    TEAMS.put(id, record);
+                } catch (final RuntimeException ex) {
+                    record.release();
+                    // der bisherige Name gehoert weiterhin dem unveraenderten Team
+                    TEAM_NAMES.move(team.getName(), existing.value().name(), id);
+                    throw ex;
+                }
+                event.stored(put);
+                return UpdateResult.UPDATED;
+            });
+            event.end(id, updated);
+            return updated;
+        });
+        LOGGER.debug("update: {} id={}", result, id);
+        return result;
+    }
+
+    // Ergebnis eines Upserts pro Team
+    public enum UpsertResult { CREATED, UPDATED, NAME_EXISTS }
+
+    // Upsert ueber den Teamnamen: ein vorhandenes Team wird ersetzt, sonst wird es neu angelegt.
+    // Die Teams einer Runde werden unter den Locks ihrer IDs geschrieben, der Aufwand ist linear. Der Batch ist
+    // keine Transaktion: jedes Team wird einzeln geschrieben, lesende Zugriffe koennen einen teilweise ausgefuehrten
+    // Batch sehen, und bei einem Fehler bleiben die bereits geschriebenen Teams erhalten.
+    public List<UpsertResult> upsertAll(final List<Team> teams) {
+        return metrics.timed("upsertAll", NAME, () -> upsert(teams), List::size);
+    }
+
+    private List<UpsertResult> upsert(final List<Team> teams) {
+        final var event = WriteEvent.begin(REPOSITORY, "upsertAll");
+        final var results = new UpsertResult[teams.size()];
+        List<Integer> pending = IntStream.range(0, teams.size()).boxed().toList();
+        for (var round = 0; round < MAX_UPSERT_ROUNDS && !pending.isEmpty(); round++) {
+            // gleicher Name im Batch -> gleiche ID
+            final Map<String, UUID> idsByName = new HashMap<>(pending.size() * 2);
+            final List<UUID> ids = new ArrayList<>(pending.size());
+            for (final int i : pending) {
+                final var team = teams.get(i);
+                ids.add(idsByName.computeIfAbsent(UniqueIndex.normalize(team.getName()), _ -> {
+                    final var existing = TEAM_NAMES.get(team.getName());
+                    return existing == null ? UUID.randomUUID() : existing;
+                }));
+            }
+            final var current = pending;
+            pending = TEAMS.withLocks(ids, () -> upsert(teams, current, ids, results, event));
+        }
+        // nach wiederholten nebenlaeufigen Aenderungen desselben Namens
+        for (final int i : pending) {
+            results[i] = UpsertResult.NAME_EXISTS;
+        }
+        event.endBatch(teams.size());
+        // Anzahl statt der Liste; ohne Guard wuerde die Anzahl bei jedem Aufruf geboxt
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("upsertAll: #teams={}", results.length);
+        }
+        return Arrays.asList(results);
+    }
+
+    // Die IDs wurden ohne Lock ueber die Namen ermittelt. Unter den Locks wird deshalb geprueft, ob der Name noch
+    // zur ID gehoert bzw. noch frei ist. Andernfalls wurde ein Team nebenlaeufig umbenannt oder mit dem Namen neu
+    // angelegt, und das Team wird in der naechsten Runde mit neu ermittelter ID geschrieben.
+    private List<Integer> upsert(
+        final List<Team> teams,
+        final List<Integer> indexes,
+        final List<UUID> ids,
+        final UpsertResult[] results,
+        final WriteEvent event
+    ) {
+        final List<Integer> retry = new ArrayList<>();
+        for (var j = 0; j < indexes.size(); j++) {
+            final int i = indexes.get(j);
+            final var team = teams.get(i);
+            final var id = ids.get(j);
+            final var existing = TEAMS.get(id);
+            final var claim = event.mark();
+            final var owner = TEAM_NAMES.get(team.getName());
+            final boolean claimed;
+            if (existing == null) {
+                claimed = owner == null && TEAM_NAMES.claim(team.getName(), id);
+            } else {
+                claimed = id.equals(owner) && TEAM_NAMES.move(existing.name(), team.getName(), id);
+            }
+            event.indexed(claim);
+            if (!claimed) {
+                retry.add(i);
+                continue;
+            }
+            team.setId(id);
+            final var put = event.mark();
+            final var record = TeamRecord.of(team);
+            try {
+                TEAMS.put(id, record);
+            } catch (final RuntimeException ex) {
+                record.release();
+                // z.B. StoreUnavailableException: der Name darf nicht dauerhaft belegt bleiben
+                if (existing == null) {
+                    TEAM_NAMES.release(team.getName(), id);
+                } else {
+                    TEAM_NAMES.move(team.getName(), existing.name(), id);
+                }
+                throw ex;
+            }
+            event.stored(put);
+            results[i] = existing == null ? UpsertResult.CREATED : UpsertResult.UPDATED;
         }
-        TEAMS.set(index.getAsInt(), team);
-        LOGGER.debug("update: {}", team);
+        return retry;
     }
 
     public boolean isNameExisting(final String name) {
-        return TEAMS.stream()
-            .anyMatch(t -> t.getName().equalsIgnoreCase(name));
+        return metrics.timed("isNameExisting", NAME, () -> TEAM_NAMES.contains(name));
     }
 
     public void deleteById(final UUID id) {
-        TEAMS.removeIf(t -> Objects.equals(t.getId(), id));
+        metrics.timed("deleteById", MethodMetrics.ID, () -> {
+            final var event = WriteEvent.begin(REPOSITORY, "deleteById");
+            final var removed = TEAMS.withLock(id, () -> {
+                final var remove = event.mark();
+                final var team = TEAMS.remove(id);
+                event.stored(remove);
+                if (team != null) {
+                    final var release = event.mark();
+                    TEAM_NAMES.release(team.name(), id);
+                    event.indexed(release);
+                }
+                return team;
+            });
+            event.end(id, removed == null ? "NOT_FOUND" : "DELETED");
+        });
     }
 }
@@ -1,35 +1,105 @@
 package com.acme.racingteam.service;
 
 import com.acme.racingteam.entity.Team;
+import com.acme.racingteam.repository.TeamFields;
 import com.acme.racingteam.repository.TeamRepository;
+import com.acme.racingteam.store.ChangeLog;
+import com.acme.racingteam.store.MethodMetrics;
+import com.acme.racingteam.store.Page;
+import com.acme.racingteam.store.StoreListener;
+import com.acme.racingteam.store.Versioned;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
 import java.util.UUID;
 
 import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
 public class TeamService {
     private final TeamRepository repo;
+    private final MethodMetrics metrics = new MethodMetrics("service", TeamService.class);
 
     TeamService(final TeamRepository repo) {
         this.repo = repo;
     }
 
     public Team findById(final UUID id) {
-        final var team = repo.findById(id);
-        if (team == null) {
-            throw new NotFoundException(id);
-        }
-        return team;
+        return metrics.timed("findById", MethodMetrics.ID, () -> {
+            final var team = repo.findById(id);
+            if (team == null) {
+                throw new NotFoundException(id);
+            }
+            return team;
+        });
+    }
+
+    // nur die Version fuer den ETag, ohne das Team zu erzeugen
+    public long findVersionById(final UUID id) {
+        return metrics.timed("findVersionById", MethodMetrics.ID, () -> {
+            final var version = repo.findVersionById(id);
+            if (version == null) {
+                throw new NotFoundException(id);
+            }
+            return version;
+        });
+    }
+
+    public Versioned<Team> findVersionedById(final UUID id) {
+        return metrics.timed("findVersionedById", MethodMetrics.ID, () -> {
+            final var team = repo.findVersionedById(id);
+            if (team == null) {
+                throw new NotFoundException(id);
+            }
+            return team;
+        });
+    }
+
+    public void onChangeId(final Consumer<UUID> listener) {
+        repo.onChangeId(listener);
+    }
+
+    public void onChange(final StoreListener<? super TeamFields> listener) {
+        repo.onChange(listener);
+    }
+
+    public Predicate<TeamFields> filter(final Map<String, String> queryparam) {
+        return repo.filter(queryparam);
     }
 
     public Collection<Team> find(final Map<String, String> queryparam) {
-        final var teams = repo.find(queryparam);
-        if (teams == null) {
-            throw new NotFoundException();
-        }
-        return teams;
+        final var shape = MethodMetrics.shape(queryparam, TeamRepository.SUCHPARAMETER);
+        return metrics.timed("find", shape, () -> {
+            final var teams = repo.find(queryparam);
+            if (teams == null) {
+                throw new NotFoundException();
+            }
+            return teams;
+        }, Collection::size);
+    }
+
+    // die letzten Aenderungen fuer den Event-Stream, statt alle Teams periodisch abzufragen
+    public ChangeLog changes() {
+        return repo.changes();
+    }
+
+    // alle Teams fuer den Export, sortiert nach der ID und ohne Zwischenspeicherung
+    public Stream<Team> streamAll() {
+        return repo.streamAll();
+    }
+
+    // eine Seite ab dem Cursor; ohne Treffer eine leere Seite, d.h. 200 mit [] wie bisher bei GET /teams
+    public Page<Team> find(final Map<String, String> queryparam, @Nullable final UUID after, final int size) {
+        final var shape = MethodMetrics.shape(queryparam, TeamRepository.SUCHPARAMETER);
+        return metrics.timed(
+            "find",
+            shape,
+            () -> repo.find(queryparam, after, size),
+            page -> page.content().size()
+        );
     }
 }
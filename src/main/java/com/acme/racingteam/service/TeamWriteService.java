@@ -2,35 +2,57 @@ package com.acme.racingteam.service;
 
 import com.acme.racingteam.entity.Team;
 import com.acme.racingteam.repository.TeamRepository;
+import com.acme.racingteam.repository.TeamRepository.UpsertResult;
+import com.acme.racingteam.store.MethodMetrics;
+import com.acme.racingteam.store.Versioned;
 import org.springframework.stereotype.Service;
 
-import java.util.Objects;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 public class TeamWriteService {
+    private static final String NAME = "name";
+
     private final TeamRepository repo;
+    private final MethodMetrics metrics = new MethodMetrics("service", TeamWriteService.class);
 
     TeamWriteService(final TeamRepository repo) {
         this.repo = repo;
     }
 
     public Team create(final Team team) {
-        if (repo.isNameExisting(team.getName())) {
-            throw new NameExistsException(team.getName());
-        }
-        return repo.create(team);
+        return metrics.timed("create", NAME, () -> {
+            final var created = repo.create(team);
+            if (created == null) {
+                throw new NameExistsException(team.getName());
+            }
+            return created;
+        });
+    }
+
+    // Ergebnis pro Team in derselben Reihenfolge
+    public List<UpsertResult> upsertAll(final List<Team> teams) {
+        return metrics.timed("upsertAll", NAME, () -> repo.upsertAll(teams), List::size);
     }
 
     public void update(final Team team, final UUID id) {
-        final var existing = repo.findById(id);
-        if (existing == null) {
-            throw new NotFoundException(id);
-        }
-        if (!Objects.equals(team.getName(), existing.getName()) && repo.isNameExisting(team.getName())) {
-            throw new NameExistsException(team.getName());
-        }
-        team.setId(id);
-        repo.update(team);
+        update(team, id, Versioned.ANY);
+    }
+
+    // version aus If-Match, Versioned.ANY ohne Pruefung
+    public void update(final Team team, final UUID id, final long version) {
+        metrics.timed("update", MethodMetrics.ID, () -> {
+            final var existing = repo.findVersionById(id);
+            if (existing == null) {
+                throw new NotFoundException(id);
+            }
+            team.setId(id);
+            switch (repo.update(team, version)) {
+                case NAME_EXISTS -> throw new NameExistsException(team.getName());
+                case VERSION_OUTDATED -> throw new VersionOutdatedException(version);
+                case UPDATED -> { }
+            }
+        });
     }
 }
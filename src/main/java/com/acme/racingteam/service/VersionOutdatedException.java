@@ -0,0 +1,17 @@
+package com.acme.racingteam.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+// If-Match passt nicht zur aktuellen Version des Teams
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public final class VersionOutdatedException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 4316276512380471735L;
+
+    public VersionOutdatedException(final long version) {
+        super("Die Version " + version + " ist veraltet");
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+
+/// Bitmap-Index für mengenwertige Attribute mit wenigen Ausprägungen, z.B. ein Enum mit höchstens 32 Werten.
+/// ```
+/// SELECT id
+/// FROM   ...
+/// WHERE  ... CONTAINS ... AND ... CONTAINS ...
+/// ```
+///
+/// Jeder Datensatz erhält eine Zeilennummer und eine Bitmaske seiner Werte. Zu jedem Bit gibt es eine Bitmap über die
+/// Zeilennummern, so dass eine UND-Verknüpfung mehrerer Werte wortweise ohne Allokation pro Zeile erfolgt.
+/// Freigewordene Zeilennummern werden wiederverwendet.
+///
+/// Die Zuordnung von IDs zu Zeilennummern ist nach der ID sortiert. Eine Suche liefert die IDs deshalb in
+/// aufsteigender Reihenfolge, ohne alle Treffer zu sammeln und zu sortieren: bei vielen Treffern werden die Zeilen in
+/// der Reihenfolge der IDs geprüft, so dass für eine Seite nur wenige Zeilen gelesen werden. Nur bei höchstens
+/// [#SORT_LIMIT] Treffern werden die Treffer wortweise aus den Bitmaps gesammelt und sortiert, damit seltene
+/// Kombinationen nicht alle Zeilen durchlaufen.
+///
+/// Zu jeder vorkommenden Bitmaske wird beim Schreiben die Anzahl der Datensätze gezählt. [#count] summiert deshalb
+/// nur über die verschiedenen Bitmasken, statt die Bitmaps zu durchlaufen.
+///
+/// Schreiben erfolgt unter dem Schreib-Lock eines [StampedLock]. Eine einzelne Zeile wird optimistisch ohne Lock
+/// gelesen und nur nach einem parallelen Schreiben erneut unter dem Lese-Lock; das Sammeln der Treffer und das Zählen
+/// erfolgen unter dem Lese-Lock. Da ein Stream erst beim Lesen ausgewertet wird, kann eine Suche Änderungen während
+/// des Lesens teilweise sehen; Aufrufer prüfen die Treffer gegen den aktuellen Datensatz.
+public final class BitmapIndex {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_WIDTH = Integer.SIZE;
+
+    /// Maximale Anzahl an Treffern, die gesammelt und sortiert werden, statt die Zeilen nach der ID zu durchlaufen.
+    private static final int SORT_LIMIT = 4_096;
+
+    private final StampedLock lock = new StampedLock();
+    private final ConcurrentNavigableMap<UUID, Integer> rows = new ConcurrentSkipListMap<>();
+    // size() der ConcurrentSkipListMap durchlaeuft alle Eintraege
+    private final AtomicInteger size = new AtomicInteger();
+    private final int width;
+    // Anzahl der Datensaetze je Bitmaske, nur mit Bitmasken, die mindestens einmal vorkommen
+    private final Map<Integer, Integer> cardinalities = new HashMap<>();
+    private Table table;
+    private int[] free = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int rowCount;
+
+    /// Konstruktor mit der Anzahl der Bits.
+    ///
+    /// @param width Anzahl der möglichen Werte, höchstens 32.
+    public BitmapIndex(final int width) {
+        if (width < 1 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Ungueltige Anzahl an Bits: " + width);
+        }
+        this.width = width;
+        table = new Table(INITIAL_CAPACITY, width);
+    }
+
+    /// Die Bitmaske zu einer ID eintragen bzw. ersetzen.
+    ///
+    /// @param id Die ID des Datensatzes.
+    /// @param mask Die Bitmaske der Werte des Datensatzes.
+    public void put(final UUID id, final int mask) {
+        final var stamp = lock.writeLock();
+        try {
+            final var row = rows.get(id);
+            final int r = row == null ? allocate() : row;
+            final var current = table;
+            if (row != null) {
+                uncount(current.masks[r]);
+            }
+            cardinalities.merge(mask, 1, Integer::sum);
+            final var changed = current.masks[r] ^ mask;
+            for (var bit = 0; bit < width; bit++) {
+                if ((changed & 1 << bit) != 0) {
+                    current.bitmaps[bit][r >>> 6] ^= 1L << r;
+                }
+            }
+            current.masks[r] = mask;
+            current.ids[r] = id;
+            if (row == null) {
+                rows.put(id, r);
+                size.incrementAndGet();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /// Eine ID austragen und ihre Zeilennummer freigeben.
+    ///
+    /// @param id Die ID des Datensatzes.
+    public void remove(final UUID id) {
+        final var stamp = lock.writeLock();
+        try {
+            final var row = rows.remove(id);
+            if (row == null) {
+                return;
+            }
+            final int r = row;
+            final var current = table;
+            final var mask = current.masks[r];
+            uncount(mask);
+            for (var bit = 0; bit < width; bit++) {
+                if ((mask & 1 << bit) != 0) {
+                    current.bitmaps[bit][r >>> 6] &= ~(1L << r);
+                }
+            }
+            current.masks[r] = 0;
+            current.ids[r] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, free.length << 1);
+            }
+            free[freeCount++] = r;
+            size.decrementAndGet();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /// Die Bitmaske zu einer ID ermitteln.
+    ///
+    /// @param id Die ID des Datensatzes.
+    /// @return Die Bitmaske oder 0, falls die ID nicht eingetragen ist.
+    public int mask(final UUID id) {
+        final var row = rows.get(id);
+        if (row == null) {
+            return 0;
+        }
+        var stamp = lock.tryOptimisticRead();
+        var mask = table.mask(row);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                mask = table.mask(row);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return mask;
+    }
+
+    /// Anzahl der Datensätze, deren Bitmaske alle Bits der gesuchten Maske enthält.
+    ///
+    /// @param mask Die gesuchte Bitmaske.
+    /// @return Die Anzahl der Treffer.
+    public int count(final int mask) {
+        if (mask == 0) {
+            return size.get();
+        }
+        final var stamp = lock.readLock();
+        try {
+            var count = 0;
+            for (final var entry : cardinalities.entrySet()) {
+                if ((entry.getKey() & mask) == mask) {
+                    count += entry.getValue();
+                }
+            }
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /// Die IDs der Datensätze ermitteln, deren Bitmaske alle Bits der gesuchten Maske enthält.
+    ///
+    /// @param mask Die gesuchte Bitmaske.
+    /// @param after Die ID, nach der begonnen wird, oder null für den Anfang.
+    /// @return Die IDs in aufsteigender Reihenfolge, erst beim Lesen des Streams ermittelt.
+    public Stream<UUID> search(final int mask, final @Nullable UUID after) {
+        final var tail = after == null ? rows : rows.tailMap(after, false);
+        if (mask == 0) {
+            return tail.keySet().stream();
+        }
+        if (count(mask) <= SORT_LIMIT) {
+            return collect(mask, after);
+        }
+        return tail.entrySet()
+            .stream()
+            .filter(entry -> matches(entry.getKey(), entry.getValue(), mask))
+            .map(Map.Entry::getKey);
+    }
+
+    // optimistisch ohne Lock, nach einem parallelen Schreiben erneut unter dem Lese-Lock
+    private boolean matches(final UUID id, final int row, final int mask) {
+        var stamp = lock.tryOptimisticRead();
+        var matches = table.matches(id, row, mask);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                matches = table.matches(id, row, mask);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return matches;
+    }
+
+    // wenige Treffer: wortweise aus den Bitmaps sammeln und sortieren
+    private Stream<UUID> collect(final int mask, final @Nullable UUID after) {
+        final var result = new ArrayList<UUID>();
+        final var stamp = lock.readLock();
+        try {
+            final var current = table;
+            for (var word = 0; word < current.words(); word++) {
+                var bits = current.and(mask, word);
+                while (bits != 0L) {
+                    final var row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    final var id = current.ids[row];
+                    if (id != null && (after == null || id.compareTo(after) > 0)) {
+                        result.add(id);
+                    }
+                    bits &= bits - 1;
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        result.sort(null);
+        return result.stream();
+    }
+
+    private void uncount(final int mask) {
+        cardinalities.computeIfPresent(mask, (_, count) -> count == 1 ? null : count - 1);
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        final var current = table;
+        if (rowCount == current.ids.length) {
+            table = current.grow();
+        }
+        return rowCount++;
+    }
+
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private static final class Table {
+        final @Nullable UUID[] ids;
+        final int[] masks;
+        final long[][] bitmaps;
+
+        Table(final int capacity, final int width) {
+            this(new UUID[capacity], new int[capacity], new long[width][capacity >>> 6]);
+        }
+
+        private Table(final @Nullable UUID[] ids, final int[] masks, final long[][] bitmaps) {
+            this.ids = ids;
+            this.masks = masks;
+            this.bitmaps = bitmaps;
+        }
+
+        int words() {
+            return ids.length >>> 6;
+        }
+
+        int mask(final int row) {
+            return row < masks.length ? masks[row] : 0;
+        }
+
+        // die Zeile kann inzwischen einer anderen ID gehoeren oder nach einem Vergroessern der Tabelle liegen
+        boolean matches(final UUID id, final int row, final int mask) {
+            return row < masks.length && (masks[row] & mask) == mask && id.equals(ids[row]);
+        }
+
+        long and(final int mask, final int word) {
+            var result = -1L;
+            for (var bit = 0; bit < bitmaps.length; bit++) {
+                if ((mask & 1 << bit) != 0) {
+                    result &= bitmaps[bit][word];
+                }
+            }
+            return result;
+        }
+
+        Table grow() {
+            final var capacity = ids.length << 1;
+            final var grown = new long[bitmaps.length][];
+            for (var bit = 0; bit < bitmaps.length; bit++) {
+                grown[bit] = Arrays.copyOf(bitmaps[bit], capacity >>> 6);
+            }
+            return new Table(Arrays.copyOf(ids, capacity), Arrays.copyOf(masks, capacity), grown);
+        }
+    }
+}
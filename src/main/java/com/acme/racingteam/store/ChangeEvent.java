@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.UUID;
+
+/// Änderung eines Eintrags im [VersionedStore] für _Change Data Capture_, siehe [ChangeLog].
+///
+/// @param sequence Fortlaufende Nummer der Änderung innerhalb des [ChangeLog].
+/// @param type Art der Änderung.
+/// @param id Die ID des geänderten Eintrags.
+/// @param version Die Version nach der Änderung bzw. beim Löschen die letzte Version, wie im `ETag`.
+public record ChangeEvent(long sequence, Type type, UUID id, long version) {
+    /// Art einer Änderung.
+    public enum Type {
+        /// Neu angelegt.
+        CREATED,
+
+        /// Überschrieben.
+        UPDATED,
+
+        /// Gelöscht.
+        DELETED
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import org.jspecify.annotations.Nullable;
+
+/// Änderungen aus einem [ChangeLog] als _Server-Sent Events_ (`text/event-stream`) schreiben:
+///
+/// ```
+/// id: 1834276478402560001
+/// event: updated
+/// data: {"id":"00000000-0000-0000-0000-000000000001","version":3}
+/// ```
+///
+/// - Mit `Last-Event-ID` wird nach dieser Änderung fortgesetzt, ohne Header ab der aktuellen Änderung.
+/// - Ist die Änderung nach `Last-Event-ID` bereits überschrieben, z.B. weil der Client zu langsam liest oder zu lange
+///   getrennt war, wird `event: reset` mit der aktuellen Sequenznummer gesendet und der Stream beendet. Der Client
+///   muss dann den Bestand neu lesen und mit dieser Sequenznummer fortsetzen.
+/// - Geschrieben wird blockierend: ein langsamer Client bremst nur seinen eigenen Stream, aber keine Schreibzugriffe.
+/// - Ohne Änderungen wird nach `heartbeat` ein Kommentar gesendet, damit Proxies die Verbindung nicht schließen und
+///   ein getrennter Client bemerkt wird.
+/// - Nach `maxDuration` wird der Stream beendet. Der Client verbindet sich mit `Last-Event-ID` neu, z.B. automatisch
+///   bei `EventSource` im Browser.
+///
+/// Der Ausgabestrom wird nicht geschlossen, weil er dem Aufrufer gehört, z.B. dem Servlet-Container.
+public final class ChangeFeed {
+    /// Maximale Anzahl der Änderungen, die in einem Block gelesen und gesendet werden.
+    private static final int BATCH_SIZE = 256;
+
+    /// Wartezeit in ms für `EventSource` vor einem erneuten Verbindungsaufbau.
+    private static final long RETRY_MILLIS = 1_000L;
+
+    private ChangeFeed() {
+    }
+
+    /// Änderungen schreiben, bis `maxDuration` abgelaufen ist, Änderungen überschrieben sind oder der Client die
+    /// Verbindung beendet.
+    ///
+    /// @param changeLog Der Ringpuffer mit den Änderungen.
+    /// @param lastEventId Die zuletzt empfangene Sequenznummer aus `Last-Event-ID` oder null.
+    /// @param out Der Ausgabestrom.
+    /// @param heartbeat Maximale Zeit ohne gesendete Daten.
+    /// @param maxDuration Maximale Dauer des Streams.
+    /// @throws UncheckedIOException Falls nicht geschrieben werden kann, z.B. weil der Client getrennt ist.
+    public static void write(
+        final ChangeLog changeLog,
+        final @Nullable Long lastEventId,
+        final OutputStream out,
+        final Duration heartbeat,
+        final Duration maxDuration
+    ) {
+        final var deadline = System.nanoTime() + maxDuration.toNanos();
+        var after = lastEventId == null ? changeLog.head() : lastEventId;
+        try {
+            send(out, "retry: " + RETRY_MILLIS + "\n\n");
+            while (System.nanoTime() < deadline) {
+                if (!changeLog.isAvailable(after)) {
+                    send(out, "event: reset\ndata: {\"head\":" + changeLog.head() + "}\n\n");
+                    return;
+                }
+                final var events = changeLog.read(after, BATCH_SIZE);
+                if (events.isEmpty()) {
+                    final var timeout = Duration.ofNanos(Math.min(heartbeat.toNanos(), deadline - System.nanoTime()));
+                    if (!changeLog.await(after, timeout)) {
+                        send(out, ":\n\n");
+                    }
+                    continue;
+                }
+                final var frames = new StringBuilder(events.size() * 128);
+                for (final var event : events) {
+                    frame(event, frames);
+                }
+                send(out, frames.toString());
+                after = events.getLast().sequence();
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (final InterruptedException _) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /// Die Sequenznummer aus dem Header `Last-Event-ID` ermitteln.
+    ///
+    /// @param lastEventId Der Wert des Headers.
+    /// @return Die Sequenznummer oder null, falls der Wert keine Zahl ist.
+    public static @Nullable Long decode(final String lastEventId) {
+        try {
+            return Long.valueOf(lastEventId.strip());
+        } catch (final NumberFormatException _) {
+            return null;
+        }
+    }
+
+    private static void frame(final ChangeEvent event, final StringBuilder frames) {
+        frames.append("id: ").append(event.sequence())
+            .append("\nevent: ").append(event.type().name().toLowerCase(Locale.ROOT))
+            .append("\ndata: {\"id\":\"").append(event.id())
+            .append("\",\"version\":").append(event.version())
+            .append("}\n\n");
+    }
+
+    private static void send(final OutputStream out, final String frames) throws IOException {
+        out.write(frames.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+
+/// Begrenzter Ringpuffer mit den letzten Änderungen eines [VersionedStore] für _Change Data Capture_, z.B. für einen
+/// Event-Stream statt periodischer Abfragen.
+///
+/// - Schreiben ist lock-frei: die Sequenznummer wird atomar vergeben und das [ChangeEvent] in den Slot
+///   `sequence % capacity` eingetragen. Der Aufruf erfolgt unter dem Schreib-Lock der ID, so dass die Änderungen zu
+///   derselben ID in aufsteigender Reihenfolge der Sequenznummern stehen.
+/// - Leser lesen ab einer Sequenznummer, bis sie auf einen noch nicht eingetragenen Slot stoßen. Wartende Leser
+///   werden nur benachrichtigt, falls es welche gibt.
+/// - Ist ein Leser weiter als `capacity` Änderungen zurück, sind die Änderungen überschrieben: [#isAvailable] ist
+///   dann false und der Leser muss den Bestand neu lesen.
+///
+/// Die Sequenznummern beginnen bei `Startzeit in ms << 20`. Damit sind sie auch über einen Neustart hinweg
+/// aufsteigend, und eine Sequenznummer aus einem früheren Prozess ist nicht mehr verfügbar, statt mit anderen
+/// Änderungen verwechselt zu werden.
+public final class ChangeLog {
+    private static final int START_SHIFT = 20;
+
+    private final AtomicReferenceArray<@Nullable ChangeEvent> slots;
+    private final int mask;
+    private final long first;
+    private final AtomicLong sequence;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    /// Konstruktor für einen leeren Ringpuffer.
+    ///
+    /// @param capacity Anzahl der aufbewahrten Änderungen, wird auf die nächste Zweierpotenz aufgerundet.
+    public ChangeLog(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity muss positiv sein: " + capacity);
+        }
+        final var lower = Integer.highestOneBit(capacity);
+        final var size = lower == capacity ? capacity : lower << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+        first = System.currentTimeMillis() << START_SHIFT;
+        sequence = new AtomicLong(first);
+    }
+
+    /// Eine Änderung anhängen.
+    ///
+    /// @param type Art der Änderung.
+    /// @param id Die ID des geänderten Eintrags.
+    /// @param version Die Version des Eintrags.
+    public void append(final ChangeEvent.Type type, final UUID id, final long version) {
+        final var next = sequence.incrementAndGet();
+        slots.set(index(next), new ChangeEvent(next, type, id, version));
+        if (waiting.get() > 0) {
+            lock.lock();
+            try {
+                appended.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /// Die zuletzt vergebene Sequenznummer ermitteln, z.B. als Startpunkt für einen neuen Leser.
+    ///
+    /// @return Die Sequenznummer.
+    public long head() {
+        return sequence.get();
+    }
+
+    /// Anzahl der aufbewahrten Änderungen.
+    ///
+    /// @return Die Kapazität.
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /// Abfrage, ob alle Änderungen nach einer Sequenznummer noch im Ringpuffer stehen.
+    ///
+    /// @param after Die Sequenznummer der zuletzt gelesenen Änderung.
+    /// @return false, falls Änderungen überschrieben sind oder die Sequenznummer nicht aus diesem Ringpuffer stammt.
+    public boolean isAvailable(final long after) {
+        final var head = sequence.get();
+        return after >= first && after <= head && head - after <= capacity();
+    }
+
+    /// Die Änderungen nach einer Sequenznummer lesen, höchstens bis zur ersten noch nicht eingetragenen Änderung.
+    /// Danach muss mit [#isAvailable] geprüft werden, ob inzwischen Änderungen überschrieben wurden.
+    ///
+    /// @param after Die Sequenznummer der zuletzt gelesenen Änderung.
+    /// @param max Maximale Anzahl der Änderungen.
+    /// @return Die Änderungen in aufsteigender Reihenfolge, ggf. leer.
+    public List<ChangeEvent> read(final long after, final int max) {
+        final List<ChangeEvent> events = new ArrayList<>(Math.min(max, capacity()));
+        for (var next = after + 1; events.size() < max; next++) {
+            final var event = published(next);
+            if (event == null) {
+                break;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /// Warten, bis nach einer Sequenznummer eine Änderung eingetragen ist.
+    ///
+    /// @param after Die Sequenznummer der zuletzt gelesenen Änderung.
+    /// @param timeout Maximale Wartezeit.
+    /// @return true, falls eine Änderung gelesen werden kann oder Änderungen überschrieben sind.
+    /// @throws InterruptedException Falls der Thread beim Warten unterbrochen wird.
+    public boolean await(final long after, final Duration timeout) throws InterruptedException {
+        var remaining = timeout.toNanos();
+        lock.lock();
+        waiting.incrementAndGet();
+        try {
+            while (published(after + 1) == null && isAvailable(after)) {
+                if (remaining <= 0L) {
+                    return false;
+                }
+                remaining = appended.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            waiting.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    // null, falls die Aenderung noch nicht eingetragen oder bereits ueberschrieben ist
+    private @Nullable ChangeEvent published(final long next) {
+        final var event = slots.get(index(next));
+        return event != null && event.sequence() == next ? event : null;
+    }
+
+    private int index(final long next) {
+        return (int) (next & mask);
+    }
+}
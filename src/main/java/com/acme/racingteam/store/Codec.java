@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/// Binäre Kodierung eines Werts für [Journal], z.B. in einem Snapshot oder im Write-Ahead-Log. Die ID wird vom
+/// Journal selbst gespeichert und ist deshalb nicht Teil der Kodierung.
+///
+/// Die statischen Hilfsmethoden kodieren Strings als Länge plus UTF-8, wobei die Länge `-1` für null steht.
+///
+/// @param <T> Der Typ der Werte.
+public interface Codec<T> {
+    /// Einen Wert in einen Puffer schreiben.
+    ///
+    /// @param value Der Wert.
+    /// @param buffer Der Puffer; bei zu wenig Platz wird eine [java.nio.BufferOverflowException] geworfen und der
+    /// Aufrufer wiederholt mit einem größeren Puffer.
+    void encode(T value, ByteBuffer buffer);
+
+    /// Einen Wert aus einem Puffer lesen.
+    ///
+    /// @param id Die ID des Werts.
+    /// @param buffer Der Puffer, z.B. ein Ausschnitt einer per `mmap` eingeblendeten Datei.
+    /// @return Der gelesene Wert.
+    T decode(UUID id, ByteBuffer buffer);
+
+    /// Einen String schreiben.
+    ///
+    /// @param buffer Der Puffer.
+    /// @param value Der String oder null.
+    static void putString(final ByteBuffer buffer, final @Nullable String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        final var bytes = value.getBytes(UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    /// Einen String lesen.
+    ///
+    /// @param buffer Der Puffer.
+    /// @return Der String oder null.
+    static @Nullable String getString(final ByteBuffer buffer) {
+        final var length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /// Einen Enum-Wert als Ordinalzahl schreiben.
+    ///
+    /// @param buffer Der Puffer.
+    /// @param value Der Enum-Wert oder null.
+    static void putEnum(final ByteBuffer buffer, final @Nullable Enum<?> value) {
+        buffer.put(value == null ? -1 : (byte) value.ordinal());
+    }
+
+    /// Einen Enum-Wert anhand seiner Ordinalzahl lesen.
+    ///
+    /// @param buffer Der Puffer.
+    /// @param values Die Enum-Werte, z.B. `values()` der Enum-Klasse.
+    /// @param <E> Der Enum-Typ.
+    /// @return Der Enum-Wert oder null.
+    static <E extends Enum<E>> @Nullable E getEnum(final ByteBuffer buffer, final E[] values) {
+        final var ordinal = buffer.get();
+        return ordinal < 0 ? null : values[ordinal];
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
+
+/// Umwandlung zwischen der Version eines Eintrags im [VersionedStore] und einem _Entity Tag_ gemäß RFC 9110 für die
+/// Header `ETag`, `If-None-Match` und `If-Match`. Das ETag ist die Versionsnummer in Anführungszeichen, z.B. `"3"`.
+/// Die mit gzip komprimierte Darstellung ist eine andere Repräsentation und erhält als starkes ETag deshalb ein
+/// eigenes Tag mit Suffix, z.B. `"3-gzip"`. Beim Vergleich werden beide Formen auf die Version abgebildet.
+public final class ETags {
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String GZIP_SUFFIX = "-gzip";
+    private static final Pattern SEPARATOR = Pattern.compile("\\s*,\\s*");
+
+    private ETags() {
+    }
+
+    /// Das starke ETag zu einer Version für die unkomprimierte Darstellung.
+    ///
+    /// @param version Die Version.
+    /// @return Das ETag einschließlich Anführungszeichen.
+    public static String of(final long version) {
+        return of(version, false);
+    }
+
+    /// Das starke ETag zu einer Version und Darstellung.
+    ///
+    /// @param version Die Version.
+    /// @param gzip true für die mit gzip komprimierte Darstellung.
+    /// @return Das ETag einschließlich Anführungszeichen, z.B. `"3"` bzw. `"3-gzip"`.
+    public static String of(final long version, final boolean gzip) {
+        return gzip ? "\"" + version + GZIP_SUFFIX + '"' : "\"" + version + '"';
+    }
+
+    /// Prüfung für `If-None-Match` mit schwachem Vergleich: `*` oder eines der ETags passt zur Version, unabhängig
+    /// von der Darstellung.
+    ///
+    /// @param ifNoneMatch Der Header oder null.
+    /// @param version Die aktuelle Version.
+    /// @return Das passende ETag ohne `W/` für den Response mit `304` oder null, falls sich die Version geändert hat.
+    public static @Nullable String match(final @Nullable String ifNoneMatch, final long version) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+        for (final var candidate : SEPARATOR.split(ifNoneMatch.strip())) {
+            final var tag = candidate.startsWith(WEAK_PREFIX) ? candidate.substring(WEAK_PREFIX.length()) : candidate;
+            if (WILDCARD.equals(tag)) {
+                return of(version);
+            }
+            if (parse(tag) == version) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    /// Die erwartete Version aus `If-Match` mit starkem Vergleich ermitteln.
+    ///
+    /// @param ifMatch Der Header oder null.
+    /// @return [Versioned#ANY] ohne Header oder bei `*`, [Versioned#NONE] bei einem schwachen, ungültigen oder
+    /// mehreren ETags, sonst die Version.
+    public static long version(final @Nullable String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || WILDCARD.equals(ifMatch.strip())) {
+            return Versioned.ANY;
+        }
+        return parse(ifMatch.strip());
+    }
+
+    // "3" oder "3-gzip" -> 3, sonst Versioned.NONE
+    private static long parse(final String eTag) {
+        if (eTag.length() < 3 || eTag.charAt(0) != '"' || eTag.charAt(eTag.length() - 1) != '"') {
+            return Versioned.NONE;
+        }
+        final var end = eTag.endsWith(GZIP_SUFFIX + '"') ? eTag.length() - 1 - GZIP_SUFFIX.length() : eTag.length() - 1;
+        try {
+            final var version = Long.parseLong(eTag, 1, end, 10);
+            return version < 0 ? Versioned.NONE : version;
+        } catch (final NumberFormatException _) {
+            return Versioned.NONE;
+        }
+    }
+}
@@ -0,0 +1,625 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/// Dauerhafte Speicherung einer [VersionedStore] ohne externe Datenbank: ein Write-Ahead-Log (WAL) und periodische
+/// Snapshots in einem Verzeichnis.
+///
+/// - Jede Änderung wird als [StoreListener] kodiert und an einen Puffer angehängt ("Group Commit"). Wer den Lock des
+///   WAL bekommt, schreibt alle bis dahin angehängten Datensätze mit einem einzigen `write` in das aktuelle
+///   WAL-Segment; ist der Lock belegt, übernimmt das der aktuelle Schreiber, ohne dass der Aufrufer unter dem Lock
+///   seiner ID auf das Schreiben wartet. Erst ab [#MAX_PENDING] Bytes im Puffer wartet ein Aufrufer auf den Lock.
+///   `fsync` erfolgt gebündelt im Intervall `syncInterval`, d.h. bei einem Absturz gehen höchstens die Änderungen
+///   dieses Intervalls verloren.
+/// - Ein Snapshot beginnt ein neues WAL-Segment und schreibt danach alle Einträge in eine temporäre Datei, die
+///   abschließend atomar umbenannt wird. Ältere Segmente und Snapshots werden danach gelöscht.
+/// - Bei der Wiederherstellung wird der neueste Snapshot per `mmap` eingelesen und anschließend werden die
+///   WAL-Segmente ab diesem Snapshot erneut angewendet. Eine Datei wird dabei abschnittsweise eingeblendet, weil ein
+///   [java.nio.MappedByteBuffer] höchstens 2 GB umfasst. Ein unvollständiger Datensatz am Ende des WAL wird
+///   abgeschnitten.
+///
+/// Änderungen, die während eines Snapshots erfolgen, stehen sowohl im neuen Segment als auch ggf. im Snapshot. Weil
+/// ein Datensatz immer den vollständigen Wert mit seiner Version enthält, ergibt das erneute Anwenden denselben
+/// Stand. Die Versionen werden mit [VersionedStore#restore] übernommen, so dass ein `ETag` einen Neustart übersteht.
+///
+/// Der Listener wird aufgerufen, nachdem die Änderung im Speicher erfolgt ist. Kann ein Datensatz nicht geschrieben
+/// oder das WAL nicht per `fsync` gespeichert werden, wirft der Listener deshalb keine Exception, sondern die
+/// [VersionedStore] wird per [VersionedStore#fail] auf nur lesend umgestellt: die übrigen Listener sehen die Änderung
+/// noch, alle weiteren Änderungen werden mit [StoreUnavailableException] abgelehnt, bis die Anwendung nach Behebung
+/// der Ursache neu gestartet wird.
+///
+/// Snapshots und WAL-Segmente beginnen mit Kennung und Formatversion. Format eines Datensatzes: Länge, CRC32C,
+/// Operation, ID und beim Speichern zusätzlich die Version und der kodierte Wert.
+///
+/// @param <T> Der Typ der Werte.
+public final class Journal<T> implements StoreListener<T>, Closeable {
+    private static final int MAGIC = 0x4A524E4C;
+    private static final int FORMAT = 2;
+    private static final int END = -1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final String WAL = "wal";
+    private static final String SNAPSHOT = "snapshot";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int OUTPUT_BUFFER = 1 << 20;
+    private static final int INITIAL_RECORD_BUFFER = 4096;
+    private static final int MAP_CHUNK = 1 << 26;
+
+    /// Größe des Puffers mit noch nicht geschriebenen Datensätzen, ab der ein Aufrufer auf das Schreiben wartet.
+    static final int MAX_PENDING = OUTPUT_BUFFER;
+
+    private final VersionedStore<T> store;
+    private final Codec<T> codec;
+    private final Path directory;
+    private final String name;
+    private final Pattern fileName;
+    private final int mapChunk;
+    private final Lock walLock = new ReentrantLock();
+    private final Lock snapshotLock = new ReentrantLock();
+    // kurz gehalten, nur zum Kodieren und Anhaengen bzw. zum Tauschen der beiden Puffer
+    private final Lock pendingLock = new ReentrantLock();
+    private final RecordBuffer walBuffer;
+    // angehaengte Datensaetze unter pendingLock, der gerade geschriebene Puffer unter walLock
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_RECORD_BUFFER);
+    private ByteBuffer writing = ByteBuffer.allocate(INITIAL_RECORD_BUFFER);
+    private final StableValue<Logger> logger = StableValue.of();
+    private @Nullable FileChannel wal;
+    private volatile boolean dirty;
+    private volatile boolean failed;
+    private long segment;
+    private @Nullable ScheduledExecutorService scheduler;
+
+    /// Konstruktor für ein Journal in einem Verzeichnis.
+    ///
+    /// @param store Die zu speichernden Einträge.
+    /// @param codec Die binäre Kodierung der Werte.
+    /// @param directory Das Verzeichnis für Snapshots und WAL-Segmente.
+    /// @param name Präfix der Dateinamen, z.B. `kunden`.
+    public Journal(final VersionedStore<T> store, final Codec<T> codec, final Path directory, final String name) {
+        this(store, codec, directory, name, MAP_CHUNK);
+    }
+
+    // mit kleinen Abschnitten fuer mmap, z.B. um Datensaetze ueber die Grenze eines Abschnitts hinweg zu testen
+    Journal(
+        final VersionedStore<T> store,
+        final Codec<T> codec,
+        final Path directory,
+        final String name,
+        final int mapChunk
+    ) {
+        this.mapChunk = mapChunk;
+        this.store = store;
+        this.codec = codec;
+        this.directory = directory;
+        this.name = name;
+        fileName = Pattern.compile(Pattern.quote(name) + "-(\\d{19})\\.(" + WAL + '|' + SNAPSHOT + ')');
+        walBuffer = new RecordBuffer(codec);
+    }
+
+    /// Abfrage, ob es bereits gespeicherte Daten gibt.
+    ///
+    /// @return true, falls es einen Snapshot oder ein WAL-Segment gibt.
+    /// @throws IOException Falls das Verzeichnis nicht gelesen werden kann.
+    public boolean exists() throws IOException {
+        return !files(WAL).isEmpty() || !files(SNAPSHOT).isEmpty();
+    }
+
+    /// Den gespeicherten Stand wiederherstellen: zuerst den neuesten Snapshot, danach die WAL-Segmente ab diesem
+    /// Snapshot. Muss vor [#start] aufgerufen werden, damit die wiederhergestellten Einträge nicht erneut protokolliert
+    /// werden.
+    ///
+    /// @param apply Übernimmt einen Eintrag mit Wert und gespeicherter Version in die Datenhaltung, z.B. per
+    ///     [VersionedStore#restore]; null als Eintrag bedeutet Löschen.
+    /// @return Die Anzahl der angewendeten Datensätze.
+    /// @throws IOException Falls eine Datei nicht gelesen werden kann.
+    /// @throws IllegalStateException Falls ein Snapshot oder WAL-Segment ein anderes Format hat.
+    public long recover(final BiConsumer<UUID, @Nullable Versioned<T>> apply) throws IOException {
+        final var snapshots = files(SNAPSHOT);
+        var from = 0L;
+        var count = 0L;
+        if (!snapshots.isEmpty()) {
+            final var snapshot = snapshots.getLast();
+            from = sequence(snapshot);
+            try (var file = new MappedFile(snapshot, mapChunk)) {
+                if (file.remaining() < HEADER_BYTES || !hasHeader(file.window(HEADER_BYTES))) {
+                    throw new IllegalStateException("Ungueltiger Snapshot: " + snapshot);
+                }
+                count += replay(file, apply);
+                if (file.remaining() < Integer.BYTES || file.window(Integer.BYTES).getInt() != END) {
+                    throw new IllegalStateException("Unvollstaendiger Snapshot: " + snapshot);
+                }
+            }
+            segment = from;
+        }
+        for (final var path : files(WAL)) {
+            final var sequence = sequence(path);
+            if (sequence < from) {
+                continue;
+            }
+            final long end;
+            try (var file = new MappedFile(path, mapChunk)) {
+                if (file.remaining() < HEADER_BYTES) {
+                    // beim Anlegen des Segments abgebrochen, d.h. es enthaelt noch keine Datensaetze
+                    getLogger().warn("recover: {} ohne Header wird geleert", path);
+                    end = 0;
+                } else if (hasHeader(file.window(HEADER_BYTES))) {
+                    count += replay(file, apply);
+                    end = file.position();
+                } else {
+                    throw new IllegalStateException("Ungueltiges WAL-Segment: " + path);
+                }
+            }
+            if (end < Files.size(path)) {
+                if (end > 0) {
+                    getLogger().warn("recover: {} wird nach {} Bytes abgeschnitten", path, end);
+                }
+                try (var channel = FileChannel.open(path, WRITE)) {
+                    channel.truncate(end);
+                }
+            }
+            segment = Math.max(segment, sequence);
+        }
+        getLogger().info("recover: {} Datensaetze fuer {} wiederhergestellt", count, name);
+        return count;
+    }
+
+    /// Das Protokollieren starten: ein neues WAL-Segment beginnen, als Listener registrieren und periodisch `fsync`
+    /// sowie Snapshots ausführen. Gibt es noch keinen Snapshot, wird sofort einer geschrieben, damit auch die
+    /// initialen Daten gespeichert sind.
+    ///
+    /// @param syncInterval Intervall für `fsync` des WAL.
+    /// @param snapshotInterval Intervall für Snapshots.
+    /// @throws IOException Falls das WAL nicht geöffnet werden kann.
+    public void start(final Duration syncInterval, final Duration snapshotInterval) throws IOException {
+        Files.createDirectories(directory);
+        walLock.lock();
+        try {
+            segment++;
+            wal = open(segment);
+        } finally {
+            unlockWal();
+        }
+        store.addListener(this);
+        if (files(SNAPSHOT).isEmpty()) {
+            snapshot();
+        }
+
+        final var executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("journal-" + name).daemon().factory()
+        );
+        final var syncMillis = syncInterval.toMillis();
+        executor.scheduleWithFixedDelay(this::syncQuietly, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+        final var snapshotMillis = snapshotInterval.toMillis();
+        executor.scheduleWithFixedDelay(
+            this::snapshotQuietly,
+            snapshotMillis,
+            snapshotMillis,
+            TimeUnit.MILLISECONDS
+        );
+        scheduler = executor;
+    }
+
+    @Override
+    public void changed(final UUID id, final @Nullable T previous, final @Nullable T current) {
+        if (failed) {
+            return;
+        }
+        final int pendingBytes;
+        pendingLock.lock();
+        try {
+            // innerhalb des Locks der ID, d.h. der Eintrag enthaelt die Version zu current, und die Datensaetze zu
+            // einer ID werden in der Reihenfolge der Aenderungen angehaengt
+            final var entry = current == null ? null : store.getVersioned(id);
+            append(walBuffer.encode(entry == null ? DELETE : PUT, id, entry));
+            pendingBytes = pending.position();
+        } catch (final RuntimeException ex) {
+            // die Aenderung ist bereits im Speicher: nicht werfen, damit die uebrigen Listener sie noch sehen
+            fail(ex);
+            return;
+        } finally {
+            pendingLock.unlock();
+        }
+
+        // Group Commit: ist der Lock belegt, schreibt der aktuelle Schreiber diesen Datensatz mit
+        if (pendingBytes >= MAX_PENDING) {
+            walLock.lock();
+        } else if (!walLock.tryLock()) {
+            return;
+        }
+        try {
+            drain();
+        } finally {
+            unlockWal();
+        }
+    }
+
+    /// Abfrage, ob das WAL nach einem Fehler nicht mehr geschrieben wird.
+    ///
+    /// @return true, falls keine Änderungen mehr angenommen werden.
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /// Das WAL per `fsync` dauerhaft speichern, falls es seit dem letzten Aufruf Änderungen gab.
+    ///
+    /// @throws IOException Falls `fsync` fehlschlägt.
+    public void sync() throws IOException {
+        final FileChannel channel;
+        walLock.lock();
+        try {
+            drain();
+            channel = wal;
+            if (channel == null || !dirty) {
+                return;
+            }
+            dirty = false;
+        } finally {
+            unlockWal();
+        }
+        try {
+            channel.force(false);
+        } catch (final ClosedChannelException _) {
+            // das Segment wurde inzwischen gewechselt und dabei bereits gespeichert
+        }
+    }
+
+    /// Einen Snapshot schreiben: neues WAL-Segment beginnen, alle Einträge in eine temporäre Datei schreiben, diese
+    /// atomar umbenennen und danach ältere Segmente und Snapshots löschen.
+    ///
+    /// @throws IOException Falls eine Datei nicht geschrieben werden kann.
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            final var sequence = rotate();
+            final var target = path(sequence, SNAPSHOT);
+            final var tmp = target.resolveSibling(target.getFileName() + TMP_SUFFIX);
+            final var records = new RecordBuffer(codec);
+            final var count = new long[1];
+            try (var channel = FileChannel.open(tmp, CREATE, WRITE);
+                 var out = new BufferedOutputStream(Channels.newOutputStream(channel), OUTPUT_BUFFER)) {
+                channel.truncate(0);
+                out.write(header().array());
+                store.forEachVersioned((id, entry) -> {
+                    final var buffer = records.encode(PUT, id, entry);
+                    try {
+                        out.write(buffer.array(), 0, buffer.limit());
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    count[0]++;
+                });
+                out.write(ByteBuffer.allocate(Integer.BYTES).putInt(END).array());
+                out.flush();
+                channel.force(true);
+            } catch (final UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            Files.move(tmp, target, ATOMIC_MOVE);
+            for (final var path : files(WAL)) {
+                if (sequence(path) < sequence) {
+                    Files.delete(path);
+                }
+            }
+            for (final var path : files(SNAPSHOT)) {
+                if (sequence(path) < sequence) {
+                    Files.delete(path);
+                }
+            }
+            getLogger().debug("snapshot: {} mit {} Eintraegen", target, count[0]);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        final var executor = scheduler;
+        if (executor != null) {
+            executor.shutdown();
+        }
+        walLock.lock();
+        try {
+            drain();
+            final var channel = wal;
+            if (channel != null) {
+                channel.force(false);
+                channel.close();
+                wal = null;
+            }
+        } finally {
+            unlockWal();
+        }
+    }
+
+    private long rotate() throws IOException {
+        walLock.lock();
+        try {
+            // bereits angehaengte Datensaetze noch in das bisherige Segment
+            drain();
+            final var previous = wal;
+            segment++;
+            wal = open(segment);
+            if (previous != null) {
+                previous.force(false);
+                previous.close();
+            }
+            return segment;
+        } finally {
+            unlockWal();
+        }
+    }
+
+    // Aufruf unter pendingLock
+    private void append(final ByteBuffer record) {
+        if (pending.remaining() < record.remaining()) {
+            final var capacity = Math.max(pending.capacity() << 1, pending.position() + record.remaining());
+            pending = ByteBuffer.allocate(capacity).put(pending.flip());
+        }
+        pending.put(record);
+    }
+
+    // Aufruf unter walLock: alle angehaengten Datensaetze mit einem einzigen write schreiben
+    private void drain() {
+        pendingLock.lock();
+        try {
+            final var full = pending;
+            pending = writing.clear();
+            writing = full.flip();
+        } finally {
+            pendingLock.unlock();
+        }
+        final var channel = wal;
+        if (channel == null || failed || !writing.hasRemaining()) {
+            return;
+        }
+        try {
+            while (writing.hasRemaining()) {
+                channel.write(writing);
+            }
+            dirty = true;
+        } catch (final IOException | RuntimeException ex) {
+            fail(ex);
+        }
+    }
+
+    // Nach dem Freigeben erneut pruefen: ein Aufrufer, der waehrenddessen angehaengt und den Lock nicht bekommen hat,
+    // verlaesst sich darauf, dass sein Datensatz vom Inhaber des Locks geschrieben wird.
+    private void unlockWal() {
+        while (true) {
+            walLock.unlock();
+            if (!hasPending() || !walLock.tryLock()) {
+                return;
+            }
+            drain();
+        }
+    }
+
+    private boolean hasPending() {
+        pendingLock.lock();
+        try {
+            return pending.position() > 0;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    private FileChannel open(final long sequence) throws IOException {
+        final var channel = FileChannel.open(path(sequence, WAL), CREATE_NEW, WRITE, APPEND);
+        final var header = header();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        return channel;
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(FORMAT).flip();
+    }
+
+    private static boolean hasHeader(final ByteBuffer buffer) {
+        return buffer.getInt() == MAGIC && buffer.getInt() == FORMAT;
+    }
+
+    // Die Datei steht danach am Ende des letzten gueltigen Datensatzes.
+    private long replay(final MappedFile file, final BiConsumer<UUID, @Nullable Versioned<T>> apply)
+        throws IOException {
+        final var crc = new CRC32C();
+        var count = 0L;
+        while (file.remaining() >= HEADER_BYTES) {
+            final var header = file.window(HEADER_BYTES);
+            final var length = header.getInt(header.position());
+            if (length <= 0 || length > file.remaining() - HEADER_BYTES) {
+                break;
+            }
+            final var buffer = file.window(HEADER_BYTES + length);
+            final var start = buffer.position();
+            final var checksum = buffer.getInt(start + Integer.BYTES);
+            final var record = buffer.slice(start + HEADER_BYTES, length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            final var operation = record.get();
+            final var id = new UUID(record.getLong(), record.getLong());
+            if (operation == PUT) {
+                final var version = record.getLong();
+                apply.accept(id, new Versioned<>(codec.decode(id, record), version));
+            } else {
+                apply.accept(id, null);
+            }
+            buffer.position(start + HEADER_BYTES + length);
+            count++;
+        }
+        return count;
+    }
+
+    private List<Path> files(final String type) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (var paths = Files.list(directory)) {
+            return paths
+                .filter(path -> {
+                    final var matcher = fileName.matcher(path.getFileName().toString());
+                    return matcher.matches() && matcher.group(2).equals(type);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    private long sequence(final Path path) {
+        final var matcher = fileName.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(path.toString());
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private Path path(final long sequence, final String type) {
+        return directory.resolve("%s-%019d.%s".formatted(name, sequence, type));
+    }
+
+    // nach einem fehlgeschlagenen fsync ist unklar, welche Datensaetze gespeichert sind
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (final IOException ex) {
+            fail(ex);
+        }
+    }
+
+    private void fail(final Exception cause) {
+        if (failed) {
+            return;
+        }
+        failed = true;
+        store.fail(cause);
+        getLogger().error("WAL fuer {} nicht mehr beschreibbar, weitere Aenderungen werden abgelehnt", name, cause);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (final IOException | RuntimeException ex) {
+            getLogger().error("snapshot: {}", name, ex);
+        }
+    }
+
+    private Logger getLogger() {
+        return logger.orElseSet(() -> LoggerFactory.getLogger(Journal.class));
+    }
+
+    /// Eine Datei, die abschnittsweise per `mmap` eingeblendet wird. Ein Abschnitt beginnt an der aktuellen Position
+    /// und umfasst mindestens die angeforderten Bytes, so dass ein Datensatz nie auf zwei Abschnitte verteilt ist.
+    private static final class MappedFile implements Closeable {
+        private final FileChannel channel;
+        private final long size;
+        private final int chunk;
+        // Position des Abschnitts in der Datei
+        private long offset;
+        private ByteBuffer buffer = ByteBuffer.allocate(0);
+
+        MappedFile(final Path path, final int chunk) throws IOException {
+            channel = FileChannel.open(path, READ);
+            size = channel.size();
+            this.chunk = chunk;
+        }
+
+        long position() {
+            return offset + buffer.position();
+        }
+
+        long remaining() {
+            return size - position();
+        }
+
+        // Abschnitt ab der aktuellen Position mit mindestens `bytes` Bytes, soweit die Datei reicht
+        ByteBuffer window(final int bytes) throws IOException {
+            if (buffer.remaining() >= bytes || offset + buffer.limit() == size) {
+                return buffer;
+            }
+            final var position = position();
+            final var length = Math.min(size - position, Math.max(chunk, bytes));
+            buffer = channel.map(READ_ONLY, position, length);
+            offset = position;
+            return buffer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /// Wiederverwendbarer Puffer, um einen Datensatz zu kodieren. Er wird bei Bedarf vergrößert.
+    private static final class RecordBuffer {
+        private final Codec<?> codec;
+        private final CRC32C crc = new CRC32C();
+        private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_RECORD_BUFFER);
+
+        RecordBuffer(final Codec<?> codec) {
+            this.codec = codec;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> ByteBuffer encode(final byte operation, final UUID id, final @Nullable Versioned<T> entry) {
+            while (true) {
+                try {
+                    buffer.clear().position(HEADER_BYTES);
+                    buffer.put(operation).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+                    if (entry != null) {
+                        buffer.putLong(entry.version());
+                        ((Codec<T>) codec).encode(entry.value(), buffer);
+                    }
+                    final var length = buffer.position() - HEADER_BYTES;
+                    crc.reset();
+                    crc.update(buffer.array(), HEADER_BYTES, length);
+                    buffer.putInt(0, length).putInt(Integer.BYTES, (int) crc.getValue());
+                    return buffer.flip();
+                } catch (final BufferOverflowException _) {
+                    buffer = ByteBuffer.allocate(buffer.capacity() << 1);
+                }
+            }
+        }
+    }
+}
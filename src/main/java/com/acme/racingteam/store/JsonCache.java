@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import org.jspecify.annotations.Nullable;
+
+/// Begrenzter Cache für bereits serialisiertes JSON einzelner Einträge, Schlüssel sind ID und Version. Ab einer
+/// Mindestgröße wird zusätzlich die gzip-komprimierte Fassung gespeichert, so dass weder Jackson noch die Kompression
+/// des Servers erneut laufen.
+///
+/// - Ein Eintrag gilt nur für genau eine Version. Nach einer Änderung wird er mit [#invalidate] entfernt, z.B. durch
+///   einen [StoreListener].
+/// - Verdrängt wird über _Caffeine_ nach W-TinyLFU, begrenzt durch das Gewicht, d.h. die Größe des JSON und der
+///   gzip-Fassung in angefangenen KiB. Ein großes JSON verdrängt damit entsprechend mehr kleine Einträge.
+/// - Treffer, Fehlschläge und Verdrängungen werden über [CaffeineCacheMetrics] als Metriken bereitgestellt, z.B. für
+///   _Actuator_. Ein Eintrag zu einer veralteten Version zählt dabei als Treffer, obwohl [#get] null liefert; nach
+///   einer Änderung wird der Eintrag aber i.d.R. bereits vorher mit [#invalidate] entfernt.
+public final class JsonCache implements MeterBinder {
+    /// Mindestgröße, um keine gzip-Fassung zu speichern.
+    public static final int NO_GZIP = -1;
+
+    private static final int KIB = 1024;
+
+    private final String name;
+    private final int gzipMinSize;
+    private final Cache<UUID, Entry> cache;
+
+    /// Konstruktor für einen leeren Cache.
+    ///
+    /// @param name Der Name für die Metriken, z.B. `teams`.
+    /// @param maxKilobytes Die maximale Größe aller Einträge in KiB, jeder Eintrag zählt mindestens 1 KiB.
+    /// @param gzipMinSize Die Mindestgröße in Bytes für eine gzip-Fassung oder [#NO_GZIP].
+    public JsonCache(final String name, final long maxKilobytes, final int gzipMinSize) {
+        this.name = name;
+        this.gzipMinSize = gzipMinSize;
+        cache = Caffeine.newBuilder()
+            .maximumWeight(maxKilobytes)
+            .weigher((UUID _, Entry entry) -> entry.kilobytes())
+            .recordStats()
+            .build();
+    }
+
+    /// Das JSON zu ID und Version lesen.
+    ///
+    /// @param id Die ID.
+    /// @param version Die aktuelle Version.
+    /// @return Der Eintrag oder null, falls es keinen Eintrag zu dieser Version gibt.
+    public @Nullable Entry get(final UUID id, final long version) {
+        final var entry = cache.getIfPresent(id);
+        return entry == null || entry.version != version ? null : entry;
+    }
+
+    /// Das JSON zu ID und Version speichern.
+    ///
+    /// @param id Die ID.
+    /// @param version Die Version, zu der das JSON gehört.
+    /// @param json Das serialisierte JSON.
+    /// @return Der neue Eintrag.
+    public Entry put(final UUID id, final long version, final byte[] json) {
+        final var entry = new Entry(version, json, gzipMinSize >= 0 && json.length >= gzipMinSize ? gzip(json) : null);
+        cache.put(id, entry);
+        return entry;
+    }
+
+    /// Den Eintrag zu einer ID entfernen, z.B. nach einer Änderung.
+    ///
+    /// @param id Die ID.
+    public void invalidate(final UUID id) {
+        cache.invalidate(id);
+    }
+
+    /// Die Anzahl der Einträge, nachdem ausstehende Verdrängungen ausgeführt wurden.
+    ///
+    /// @return Die Anzahl der Einträge.
+    public int size() {
+        cache.cleanUp();
+        return (int) cache.estimatedSize();
+    }
+
+    /// Abfrage, ob ein Client laut `Accept-Encoding` gzip akzeptiert. `gzip;q=0` gilt als Ablehnung.
+    ///
+    /// @param acceptEncoding Der Header `Accept-Encoding` oder null.
+    /// @return true, falls gzip akzeptiert wird.
+    public static boolean acceptsGzip(final @Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final var coding : acceptEncoding.split(",")) {
+            final var parts = coding.split(";");
+            final var name = parts[0].strip();
+            if (!"gzip".equalsIgnoreCase(name) && !"*".equals(name)) {
+                continue;
+            }
+            if (parts.length == 1) {
+                return true;
+            }
+            final var quality = parts[1].strip();
+            return !quality.startsWith("q=0") || quality.matches("q=0\\.0*[1-9]\\d*");
+        }
+        return false;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        new CaffeineCacheMetrics<>(cache, name, Tags.empty()).bindTo(registry);
+    }
+
+    private static byte[] gzip(final byte[] json) {
+        final var out = new ByteArrayOutputStream(json.length / 4);
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    /// Serialisiertes JSON zu einer Version.
+    @SuppressWarnings("VisibilityModifier")
+    public static final class Entry {
+        private final long version;
+        private final byte[] json;
+        private final byte @Nullable [] gzip;
+
+        Entry(final long version, final byte[] json, final byte @Nullable [] gzip) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        /// Die Version, zu der das JSON gehört.
+        ///
+        /// @return Die Version.
+        public long version() {
+            return version;
+        }
+
+        /// Das JSON, bei Bedarf gzip-komprimiert.
+        ///
+        /// @param acceptGzip true, falls der Client gzip akzeptiert.
+        /// @return Das unkomprimierte JSON oder die gzip-Fassung, falls es sie gibt und der Client gzip akzeptiert.
+        public byte[] body(final boolean acceptGzip) {
+            return acceptGzip && gzip != null ? gzip : json;
+        }
+
+        /// Abfrage, ob [#body] die gzip-Fassung liefert.
+        ///
+        /// @param acceptGzip true, falls der Client gzip akzeptiert.
+        /// @return true, falls die gzip-Fassung geliefert wird.
+        public boolean isGzip(final boolean acceptGzip) {
+            return acceptGzip && gzip != null;
+        }
+
+        // Gewicht fuer Caffeine: angefangene KiB von JSON und gzip-Fassung
+        int kilobytes() {
+            final var bytes = json.length + (gzip == null ? 0 : gzip.length);
+            return Math.max(1, (bytes + KIB - 1) / KIB);
+        }
+    }
+}
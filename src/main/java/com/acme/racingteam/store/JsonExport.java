@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.io.OutputStream;
+import java.util.stream.Stream;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+
+/// Export großer Datenmengen als JSON, ohne das Ergebnis im Speicher aufzubauen: jeder Datensatz wird direkt in den
+/// Ausgabestrom serialisiert. Der Speicherbedarf ist deshalb unabhängig von der Anzahl der Datensätze.
+///
+/// Der erste Datensatz wird sofort gesendet, danach wird in Blöcken von [#FLUSH_INTERVAL] Datensätzen gesendet.
+/// Dazu ist `SerializationFeature.FLUSH_AFTER_WRITE_VALUE` deaktiviert, weil `ObjectWriter.writeValue` sonst nach
+/// jedem Datensatz den Generator und damit den Ausgabestrom leert.
+/// Der Ausgabestrom wird nicht geschlossen, weil er dem Aufrufer gehört, z.B. dem Servlet-Container.
+public final class JsonExport {
+    /// Anzahl der Datensätze, nach denen der Generator seinen Puffer weiterreicht.
+    private static final int FLUSH_INTERVAL = 100;
+
+    private JsonExport() {
+    }
+
+    /// Datensätze als _Newline Delimited JSON_ schreiben, d.h. ein JSON-Objekt pro Zeile.
+    ///
+    /// @param writer Der Jackson-Writer für die Serialisierung.
+    /// @param items Die Datensätze; der Stream wird anschließend geschlossen.
+    /// @param out Der Ausgabestrom.
+    public static void ndjson(final ObjectWriter writer, final Stream<?> items, final OutputStream out) {
+        final var lineWriter = batched(writer).withRootValueSeparator((String) null);
+        try (items; var generator = createGenerator(lineWriter, out)) {
+            var count = 0;
+            for (final var iterator = items.iterator(); iterator.hasNext(); count++) {
+                lineWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                flush(generator, count);
+            }
+        }
+    }
+
+    /// Datensätze als ein JSON-Array schreiben, das schrittweise aufgebaut wird.
+    ///
+    /// @param writer Der Jackson-Writer für die Serialisierung.
+    /// @param items Die Datensätze; der Stream wird anschließend geschlossen.
+    /// @param out Der Ausgabestrom.
+    public static void array(final ObjectWriter writer, final Stream<?> items, final OutputStream out) {
+        final var arrayWriter = batched(writer);
+        try (items; var generator = createGenerator(arrayWriter, out)) {
+            generator.writeStartArray();
+            var count = 0;
+            for (final var iterator = items.iterator(); iterator.hasNext(); count++) {
+                arrayWriter.writeValue(generator, iterator.next());
+                flush(generator, count);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static ObjectWriter batched(final ObjectWriter writer) {
+        return writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static JsonGenerator createGenerator(final ObjectWriter writer, final OutputStream out) {
+        return writer.without(StreamWriteFeature.AUTO_CLOSE_TARGET).createGenerator(out);
+    }
+
+    private static void flush(final JsonGenerator generator, final int count) {
+        if (count % FLUSH_INTERVAL == 0) {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.jspecify.annotations.Nullable;
+
+/// Metriken für die Methoden eines Repositorys oder Services, z.B. für _Actuator_ unter `/actuator/metrics` oder
+/// `/actuator/prometheus`:
+///
+/// - `<kind>.invocations`: Timer mit Perzentilen und Histogramm pro Aufruf
+/// - `<kind>.results`: Verteilung der Ergebnisgröße bei Suchen und Batches
+/// - `store.size`: Gauge für die Anzahl der Einträge einer Datenhaltung mit dem Tag `store`
+///
+/// Die Tags sind `class`, `method`, `shape` und bei Timern `exception`. `shape` ist die _Form_ einer Suche, d.h. die
+/// sortierten Namen der Suchparameter wie `nachname+plz`, `findAll` ohne Suchparameter oder `id` bzw. `email` bei einem
+/// Zugriff über einen Schlüssel. Unbekannte Suchparameter ergeben `invalid`, damit die Anzahl der Zeitreihen begrenzt
+/// bleibt.
+///
+/// Die Meter werden in [Metrics#globalRegistry] registriert, bei Spring Boot ist dort die Registry von _Actuator_
+/// eingetragen. Ohne eingetragene Registry, z.B. in Unit-Tests, wird nichts aufgezeichnet.
+public final class MethodMetrics {
+    /// Form einer Suche ohne Suchparameter.
+    public static final String FIND_ALL = "findAll";
+
+    /// Form eines Zugriffs über die ID.
+    public static final String ID = "id";
+
+    /// Form einer Suche mit unbekannten Suchparametern.
+    public static final String INVALID = "invalid";
+
+    private static final String NONE = "none";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final String kind;
+    private final String className;
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Key, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    /// Metriken für eine Klasse in [Metrics#globalRegistry].
+    ///
+    /// @param kind Präfix der Metriken, z.B. `repository` oder `service`.
+    /// @param type Die Klasse, deren einfacher Name als Tag `class` verwendet wird.
+    public MethodMetrics(final String kind, final Class<?> type) {
+        this(Metrics.globalRegistry, kind, type);
+    }
+
+    /// Metriken für eine Klasse in einer gegebenen Registry, z.B. für Tests.
+    ///
+    /// @param registry Die Registry.
+    /// @param kind Präfix der Metriken, z.B. `repository` oder `service`.
+    /// @param type Die Klasse, deren einfacher Name als Tag `class` verwendet wird.
+    public MethodMetrics(final MeterRegistry registry, final String kind, final Class<?> type) {
+        this.registry = registry;
+        this.kind = kind;
+        this.className = type.getSimpleName();
+    }
+
+    /// Die Form einer Suche zu den Namen der Suchparameter ermitteln.
+    ///
+    /// @param suchparameter Die Suchparameter.
+    /// @param known Die bekannten Namen von Suchparametern.
+    /// @return Die sortierten Namen, verbunden durch `+`, [#FIND_ALL] oder [#INVALID].
+    public static String shape(final Map<String, ?> suchparameter, final Collection<String> known) {
+        if (suchparameter.isEmpty()) {
+            return FIND_ALL;
+        }
+        if (!known.containsAll(suchparameter.keySet())) {
+            return INVALID;
+        }
+        return String.join("+", new TreeSet<>(suchparameter.keySet()));
+    }
+
+    /// Einen Aufruf messen.
+    ///
+    /// @param method Name der Methode.
+    /// @param shape Form des Zugriffs.
+    /// @param call Der Aufruf.
+    /// @param <T> Typ des Ergebnisses.
+    /// @return Das Ergebnis des Aufrufs.
+    public <T extends @Nullable Object> T timed(final String method, final String shape, final Supplier<T> call) {
+        final var start = System.nanoTime();
+        var exception = NONE;
+        try {
+            return call.get();
+        } catch (final RuntimeException ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            timer(method, shape, exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /// Einen Aufruf messen und die Größe des Ergebnisses aufzeichnen.
+    ///
+    /// @param method Name der Methode.
+    /// @param shape Form des Zugriffs.
+    /// @param call Der Aufruf.
+    /// @param size Die Größe eines Ergebnisses, z.B. die Anzahl der Einträge auf einer Seite.
+    /// @param <T> Typ des Ergebnisses.
+    /// @return Das Ergebnis des Aufrufs.
+    public <T> T timed(
+        final String method,
+        final String shape,
+        final Supplier<T> call,
+        final ToIntFunction<? super T> size
+    ) {
+        final var result = timed(method, shape, call);
+        summary(method, shape).record(size.applyAsInt(result));
+        return result;
+    }
+
+    /// Einen Aufruf ohne Ergebnis messen.
+    ///
+    /// @param method Name der Methode.
+    /// @param shape Form des Zugriffs.
+    /// @param call Der Aufruf.
+    public void timed(final String method, final String shape, final Runnable call) {
+        timed(method, shape, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /// Die Anzahl der Einträge einer Datenhaltung als Gauge `store.size` bereitstellen. Die Anzahl wird in der
+    /// Datenhaltung mitgezählt, so dass ein Abruf der Metriken die Einträge nicht durchläuft.
+    ///
+    /// @param name Wert für das Tag `store`, z.B. `teams`.
+    /// @param store Die Datenhaltung.
+    public void gauge(final String name, final VersionedStore<?> store) {
+        Gauge.builder("store.size", store, VersionedStore::size)
+            .description("Anzahl der Einträge")
+            .tags("store", name)
+            .register(registry);
+    }
+
+    private Timer timer(final String method, final String shape, final String exception) {
+        return timers.computeIfAbsent(new Key(method, shape, exception), key -> Timer.builder(kind + ".invocations")
+            .description("Aufrufe von " + className)
+            .tags("class", className, "method", key.method(), "shape", key.shape(), "exception", key.exception())
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .register(registry));
+    }
+
+    private DistributionSummary summary(final String method, final String shape) {
+        return summaries.computeIfAbsent(new Key(method, shape, NONE), key -> DistributionSummary
+            .builder(kind + ".results")
+            .description("Ergebnisgröße bei " + className)
+            .baseUnit("entries")
+            .tags("class", className, "method", key.method(), "shape", key.shape())
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .register(registry));
+    }
+
+    private record Key(String method, String shape, String exception) {
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+
+/// Eine Seite bei _Keyset Pagination_ über die ID als stabilen Sortierschlüssel.
+/// ```
+/// SELECT *
+/// FROM   ...
+/// WHERE  id > ...
+/// ORDER BY id
+/// LIMIT  ...
+/// ```
+///
+/// Der Cursor für die Folgeseite ist die ID des letzten Elements, für Clients undurchsichtig als Base64url kodiert.
+/// Die Indexe beginnen mit dem Cursor direkt in ihren sortierten Listen, so dass eine Folgeseite nicht die IDs der
+/// vorherigen Seiten liest.
+///
+/// @param content Die Elemente der Seite.
+/// @param next Die ID des letzten Elements, falls es eine Folgeseite gibt, sonst null.
+/// @param <T> Der Typ der Elemente.
+public record Page<T>(List<T> content, @Nullable UUID next) {
+    private static final int UUID_BYTES = 16;
+
+    /// Eine Seite aus einem nach der ID sortierten Stream bilden, der bereits nach dem Cursor beginnt. Es wird
+    /// höchstens ein Element mehr als die Seitengröße gelesen, um festzustellen, ob es eine Folgeseite gibt.
+    ///
+    /// @param items Die Elemente aufsteigend sortiert nach der ID.
+    /// @param id Funktion, um die ID eines Elements zu ermitteln.
+    /// @param size Die Seitengröße.
+    /// @param <T> Der Typ der Elemente.
+    /// @return Die Seite.
+    public static <T> Page<T> of(final Stream<T> items, final Function<? super T, UUID> id, final int size) {
+        final var content = items.limit(size + 1L).toList();
+        if (content.size() <= size) {
+            return new Page<>(content, null);
+        }
+        final var page = content.subList(0, size);
+        return new Page<>(page, id.apply(page.getLast()));
+    }
+
+    /// Den Cursor für die Folgeseite kodieren.
+    ///
+    /// @return Der Cursor oder null, falls es keine Folgeseite gibt.
+    public @Nullable String cursor() {
+        if (next == null) {
+            return null;
+        }
+        final var bytes = ByteBuffer.allocate(UUID_BYTES)
+            .putLong(next.getMostSignificantBits())
+            .putLong(next.getLeastSignificantBits())
+            .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /// Einen Cursor dekodieren.
+    ///
+    /// @param cursor Der Cursor aus einer vorherigen Antwort.
+    /// @return Die ID, nach der die Folgeseite beginnt, oder null bei einem ungültigen Cursor.
+    public static @Nullable UUID decode(final String cursor) {
+        final byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (final IllegalArgumentException _) {
+            return null;
+        }
+        if (bytes.length != UUID_BYTES) {
+            return null;
+        }
+        final var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
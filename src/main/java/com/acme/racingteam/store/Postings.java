@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// Die aufsteigend sortierten IDs zu einem Schlüssel eines Index zusammen mit ihrer Anzahl.
+///
+/// `size()` einer [ConcurrentSkipListSet] durchläuft alle Elemente. Die Anzahl wird deshalb beim Ein- und Austragen
+/// mitgezählt, so dass die Abschätzung der Selektivität für den Abfrageplan unabhängig von der Anzahl der IDs ist.
+/// Geändert wird innerhalb von `compute` der Map mit den Schlüsseln, d.h. serialisiert pro Schlüssel.
+final class Postings {
+    private final NavigableSet<UUID> ids = new ConcurrentSkipListSet<>();
+    private final AtomicInteger count = new AtomicInteger();
+
+    /// Eine ID eintragen.
+    ///
+    /// @param id Die ID.
+    void add(final UUID id) {
+        if (ids.add(id)) {
+            count.incrementAndGet();
+        }
+    }
+
+    /// Eine ID austragen.
+    ///
+    /// @param id Die ID.
+    void remove(final UUID id) {
+        if (ids.remove(id)) {
+            count.decrementAndGet();
+        }
+    }
+
+    /// Abfrage, ob keine ID mehr eingetragen ist.
+    ///
+    /// @return true, falls die Liste leer ist.
+    boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /// Anzahl der IDs in O(1).
+    ///
+    /// @return Die Anzahl der IDs.
+    int count() {
+        return count.get();
+    }
+
+    /// Die IDs als veränderbare Sicht, nur für Lesezugriffe.
+    ///
+    /// @return Die IDs aufsteigend sortiert.
+    NavigableSet<UUID> ids() {
+        return ids;
+    }
+}
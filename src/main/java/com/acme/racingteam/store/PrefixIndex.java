@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jspecify.annotations.Nullable;
+
+/// Sortierter Index für Präfix-Abfragen, z.B. über Postleitzahlen oder Nachnamen.
+/// ```
+/// SELECT id
+/// FROM   ...
+/// WHERE  ... LIKE '...%'
+/// ```
+///
+/// Die Schlüssel sind zusätzlich in einer [ConcurrentSkipListSet] sortiert. Sie wird innerhalb von `compute` der
+/// [ConcurrentHashMap] gepflegt, d.h. serialisiert pro Schlüssel: ein Schlüssel ist genau dann enthalten, wenn es
+/// mindestens eine ID dazu gibt.
+public final class PrefixIndex {
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final NavigableSet<String> keys = new ConcurrentSkipListSet<>();
+
+    /// Eine ID unter einem Schlüssel eintragen.
+    ///
+    /// @param key Der Schlüssel.
+    /// @param id Die ID des Datensatzes.
+    public void add(final String key, final UUID id) {
+        postings.compute(key, (_, ids) -> {
+            final Postings result;
+            if (ids == null) {
+                result = new Postings();
+                keys.add(key);
+            } else {
+                result = ids;
+            }
+            result.add(id);
+            return result;
+        });
+    }
+
+    /// Eine ID unter einem Schlüssel austragen.
+    ///
+    /// @param key Der Schlüssel.
+    /// @param id Die ID des Datensatzes.
+    public void remove(final String key, final UUID id) {
+        postings.computeIfPresent(key, (_, ids) -> {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                keys.remove(key);
+                return null;
+            }
+            return ids;
+        });
+    }
+
+    /// Die vorhandenen Schlüssel mit einem Präfix in aufsteigender Reihenfolge ermitteln.
+    ///
+    /// @param prefix Das Präfix.
+    /// @return Die passenden Schlüssel.
+    public Stream<String> keys(final String prefix) {
+        return keys.tailSet(prefix, true)
+            .stream()
+            .takeWhile(key -> key.startsWith(prefix));
+    }
+
+    /// Anzahl der IDs zu einem Schlüssel in O(1) ermitteln.
+    ///
+    /// @param key Der Schlüssel.
+    /// @return Die Anzahl der IDs.
+    public int count(final String key) {
+        final var ids = postings.get(key);
+        return ids == null ? 0 : ids.count();
+    }
+
+    /// Anzahl der IDs zu allen Schlüsseln mit einem Präfix ermitteln, z.B. zur Abschätzung der Selektivität. Der
+    /// Aufwand ist linear in der Anzahl der passenden Schlüssel, nicht in der Anzahl der IDs.
+    ///
+    /// @param prefix Das Präfix.
+    /// @return Die Anzahl der IDs.
+    public int countByPrefix(final String prefix) {
+        return keys(prefix).mapToInt(this::count).sum();
+    }
+
+    /// Die IDs zu allen Schlüsseln mit einem Präfix ermitteln. Die sortierten Listen der einzelnen Schlüssel werden
+    /// dabei schrittweise zusammengeführt, so dass das Ergebnis ohne Zwischenspeicherung sortiert ist. Mit `after`
+    /// beginnt jede Liste direkt nach dieser ID.
+    ///
+    /// @param prefix Das Präfix.
+    /// @param after Die ID, nach der begonnen wird, oder null für den Anfang.
+    /// @return Die IDs in aufsteigender Reihenfolge.
+    public Stream<UUID> search(final String prefix, final @Nullable UUID after) {
+        final var iterators = keys(prefix)
+            .map(postings::get)
+            .filter(ids -> ids != null && !ids.isEmpty())
+            .map(ids -> after == null ? ids.ids().iterator() : ids.ids().tailSet(after, false).iterator())
+            .toList();
+        if (iterators.size() == 1) {
+            return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterators.getFirst(), Spliterator.ORDERED), false);
+        }
+        return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(new MergingIterator(iterators), Spliterator.ORDERED), false);
+    }
+
+    private static final class MergingIterator implements Iterator<UUID> {
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::id));
+
+        MergingIterator(final Iterable<Iterator<UUID>> iterators) {
+            iterators.forEach(this::advance);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public UUID next() {
+            final var head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.rest());
+            return head.id();
+        }
+
+        private void advance(final Iterator<UUID> iterator) {
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+
+        private record Head(UUID id, Iterator<UUID> rest) {
+        }
+    }
+}
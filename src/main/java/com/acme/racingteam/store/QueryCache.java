@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+
+/// Cache für Seiten mit Suchergebnissen, z.B. für Dashboards mit immer gleichen Query-Parametern. Schlüssel sind die
+/// normalisierten Query-Parameter zusammen mit Cursor und Seitengröße.
+///
+/// - Verdrängt wird über _Caffeine_ nach W-TinyLFU, begrenzt durch das Gewicht, d.h. die Anzahl der Elemente aller
+///   Seiten, und durch eine TTL ab dem Schreiben.
+/// - Als [StoreListener] wird bei einer Änderung nur eine Seite entfernt, deren Inhalt oder Cursor sich dadurch ändern
+///   kann. Die Seiten sind dazu nach den normalisierten Query-Parametern gruppiert, und das Suchkriterium wird pro
+///   Gruppe einmal auf den alten und neuen Wert angewendet. Nur die Seiten einer Gruppe mit Treffer werden geprüft,
+///   so dass der Aufwand im Schreib-Lock nicht mit der Anzahl aller gespeicherten Seiten wächst. Die Werte der
+///   Datenhaltung werden dafür direkt geprüft, ohne daraus die Elemente der Seiten zu erzeugen.
+/// - Das Suchkriterium wird erst bei einem Fehlschlag für eine neue Gruppe ermittelt, so dass ein Treffer nur die
+///   Query-Parameter normalisiert.
+/// - Treffer, Fehlschläge und Verdrängungen werden über [CaffeineCacheMetrics] als Metriken bereitgestellt.
+///
+/// @param <T> Der Typ der Elemente in den Seiten.
+/// @param <V> Der Typ der Werte in der Datenhaltung, auf die das Suchkriterium angewendet wird.
+public final class QueryCache<T, V> implements StoreListener<V>, MeterBinder {
+    private final String name;
+    private final Cache<Key, Result<T>> cache;
+    // Schluessel der evtl. gespeicherten Seiten pro Query; Aenderungen serialisiert durch compute pro Query
+    private final Map<String, Query<V>> queries = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+
+    /// Konstruktor für einen leeren Cache.
+    ///
+    /// @param name Der Name für die Metriken, z.B. `teams.query`.
+    /// @param maxWeight Die maximale Anzahl an Elementen aller gespeicherten Seiten.
+    /// @param ttl Die Lebensdauer einer Seite ab dem Schreiben.
+    public QueryCache(final String name, final long maxWeight, final Duration ttl) {
+        this.name = name;
+        cache = Caffeine.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((Key _, Result<T> result) -> 1 + result.page().content().size())
+            .expireAfterWrite(ttl)
+            .recordStats()
+            // asynchron und damit ausserhalb der Locks von Caffeine, die bei put() innerhalb von compute gehalten werden
+            .removalListener((@Nullable Key key, @Nullable Result<T> _, RemovalCause cause) -> {
+                if (key != null && cause.wasEvicted()) {
+                    prune(key.query());
+                }
+            })
+            .build();
+    }
+
+    /// Eine Seite aus dem Cache lesen oder ermitteln und speichern.
+    ///
+    /// @param params Die Query-Parameter; die Reihenfolge der Parameter und ihrer Werte ist unerheblich.
+    /// @param after Der Cursor oder null für die erste Seite.
+    /// @param size Die Seitengröße.
+    /// @param filter Funktion für das Suchkriterium der Query-Parameter, angewendet auf einen einzelnen Wert. Sie wird
+    ///        nur bei einem Fehlschlag aufgerufen; liefert sie null, wird die Seite ohne Cache ermittelt.
+    /// @param loader Funktion, um die Seite bei einem Fehlschlag zu ermitteln. Eine Exception wird nicht gespeichert.
+    /// @return Die Seite.
+    public Page<T> get(
+        final Map<String, ? extends Collection<String>> params,
+        final @Nullable UUID after,
+        final int size,
+        final Supplier<? extends @Nullable Predicate<? super V>> filter,
+        final Supplier<Page<T>> loader
+    ) {
+        final var key = new Key(normalize(params), after, size);
+        final var cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.page();
+        }
+
+        // eine bestehende Gruppe hat ihr Suchkriterium bereits
+        final var group = queries.get(key.query());
+        final Predicate<? super V> predicate = group == null ? filter.get() : group.filter();
+        if (predicate == null) {
+            return loader.get();
+        }
+
+        final var start = writes.get();
+        final var page = loader.get();
+        // Eintragen in die Gruppe und Speichern atomar, damit prune() keine gespeicherte Seite austraegt
+        queries.compute(key.query(), (_, query) -> {
+            final var result = query == null ? new Query<V>(predicate, ConcurrentHashMap.newKeySet()) : query;
+            result.keys().add(key);
+            cache.put(key, new Result<>(page, after));
+            return result;
+        });
+        // eine Aenderung waehrend des Ladens wurde evtl. nicht mehr fuer diese Seite geprueft
+        if (writes.get() != start) {
+            cache.invalidate(key);
+        }
+        return page;
+    }
+
+    @Override
+    public void changed(final UUID id, final @Nullable V previous, final @Nullable V current) {
+        writes.incrementAndGet();
+        if (queries.isEmpty()) {
+            return;
+        }
+        queries.forEach((name, query) -> {
+            final var matches = current != null && query.filter().test(current);
+            if (!matches && (previous == null || !query.filter().test(previous))) {
+                return;
+            }
+            var stale = false;
+            for (final var key : query.keys()) {
+                // ueber asMap(), damit die Pruefung nicht als Treffer oder Fehlschlag in die Statistik eingeht
+                final var result = cache.asMap().get(key);
+                if (result == null) {
+                    stale = true;
+                } else if (result.affectedBy(id, matches)) {
+                    cache.invalidate(key);
+                }
+            }
+            if (stale) {
+                prune(name);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        new CaffeineCacheMetrics<>(cache, name, Tags.empty()).bindTo(registry);
+    }
+
+    // Parameter und Werte sortiert, z.B. "interesse=L,S&nachname=a"
+    private static String normalize(final Map<String, ? extends Collection<String>> params) {
+        return new TreeMap<>(params).entrySet()
+            .stream()
+            .map(entry -> entry.getKey() + '=' + entry.getValue().stream().sorted().collect(Collectors.joining(",")))
+            .collect(Collectors.joining("&"));
+    }
+
+    // Schluessel nicht mehr gespeicherter Seiten austragen und eine leere Gruppe entfernen
+    private void prune(final String name) {
+        queries.computeIfPresent(name, (_, query) -> {
+            query.keys().removeIf(key -> !cache.asMap().containsKey(key));
+            return query.keys().isEmpty() ? null : query;
+        });
+    }
+
+    private record Key(String query, @Nullable UUID after, int size) {
+    }
+
+    /// Die Seiten zu denselben Query-Parametern mit ihrem gemeinsamen Suchkriterium.
+    private record Query<V>(Predicate<? super V> filter, Set<Key> keys) {
+    }
+
+    /// Eine gespeicherte Seite mit ihrem Cursor.
+    private record Result<T>(Page<T> page, @Nullable UUID after) {
+        // Das geaenderte Element hat vorher oder nachher zur Suche gepasst. Eine Aenderung hinter einer vollen Seite
+        // aendert weder den Inhalt noch den Cursor, solange das Element danach weiterhin passt, denn dann gibt es
+        // weiterhin eine Folgeseite.
+        boolean affectedBy(final UUID id, final boolean matches) {
+            if (after != null && id.compareTo(after) <= 0) {
+                return false;
+            }
+            final var next = page.next();
+            return next == null || id.compareTo(next) <= 0 || !matches;
+        }
+    }
+}
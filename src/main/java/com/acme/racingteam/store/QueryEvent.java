@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/// Ereignis für _Java Flight Recorder_ bei einer Suche in einem Repository. Die Dauer wird von JFR erfasst.
+///
+/// Ohne laufende Aufzeichnung ist [#isEnabled()] false: [#scan] gibt den Stream dann unverändert zurück und
+/// [#end] verwirft das Ereignis, so dass im Normalbetrieb praktisch keine Kosten entstehen.
+///
+/// Auswertung z.B. mit `jfr print --events com.acme.racingteam.Query recording.jfr` oder mit _JDK Mission Control_.
+@Name("com.acme.racingteam.Query")
+@Label("Repository Query")
+@Category({"Racingteam", "Repository"})
+@Description("Suche in der In-Memory-Datenhaltung")
+@StackTrace(false)
+public final class QueryEvent extends Event {
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Query Kind")
+    @Description("Sortierte Namen der Suchparameter, z.B. nachname+plz, oder id bzw. findAll")
+    private String shape;
+
+    @Label("Parameter Count")
+    private int parameterCount;
+
+    @Label("Rows Scanned")
+    @Description("Anzahl der gelesenen Kandidaten vor dem Filtern")
+    private long scanned;
+
+    @Label("Rows Returned")
+    private int returned;
+
+    private QueryEvent(final String repository, final String method, final String shape, final int parameterCount) {
+        this.repository = repository;
+        this.method = method;
+        this.shape = shape;
+        this.parameterCount = parameterCount;
+    }
+
+    /// Ein Ereignis beginnen.
+    ///
+    /// @param repository Einfacher Name des Repositorys.
+    /// @param method Name der Methode.
+    /// @param shape Art der Suche, siehe [MethodMetrics#shape].
+    /// @param parameterCount Anzahl der Suchparameter.
+    /// @return Das begonnene Ereignis.
+    public static QueryEvent begin(
+        final String repository,
+        final String method,
+        final String shape,
+        final int parameterCount
+    ) {
+        final var event = new QueryEvent(repository, method, shape, parameterCount);
+        event.begin();
+        return event;
+    }
+
+    /// Die gelesenen Kandidaten zählen, während der Stream verarbeitet wird.
+    ///
+    /// @param candidates Die Kandidaten vor dem Filtern.
+    /// @param <T> Typ der Kandidaten.
+    /// @return Der Stream, ggf. mit Zähler.
+    public <T> Stream<T> scan(final Stream<T> candidates) {
+        return isEnabled() ? candidates.peek(_ -> scanned++) : candidates;
+    }
+
+    /// Die gelesenen Zeilen zählen, während der Stream verarbeitet wird.
+    ///
+    /// @param rows Die Zeilen vor dem Filtern.
+    /// @return Der Stream, ggf. mit Zähler.
+    public IntStream scan(final IntStream rows) {
+        return isEnabled() ? rows.peek(_ -> scanned++) : rows;
+    }
+
+    /// Das Ereignis beenden und aufzeichnen.
+    ///
+    /// @param rows Anzahl der zurückgelieferten Elemente.
+    public void end(final int rows) {
+        returned = rows;
+        commit();
+    }
+
+    /// Ein Ereignis für einen Zugriff über einen Schlüssel beenden und aufzeichnen.
+    ///
+    /// @param found true, falls es zum Schlüssel ein Element gibt.
+    public void endLookup(final boolean found) {
+        scanned = 1;
+        end(found ? 1 : 0);
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/// Callback für Änderungen im [VersionedStore], z.B. um Sekundärindexe zu pflegen. Der Aufruf erfolgt, während der
+/// Schreib-Lock für die ID gehalten wird. Damit sind alle Änderungen zu derselben ID serialisiert.
+///
+/// @param <T> Der Typ der gespeicherten Werte.
+@FunctionalInterface
+public interface StoreListener<T> {
+    /// Eine Änderung verarbeiten.
+    ///
+    /// @param id Die ID des geänderten Datensatzes.
+    /// @param previous Der bisherige Wert oder null beim Neuanlegen.
+    /// @param current Der neue Wert oder null beim Löschen.
+    void changed(UUID id, @Nullable T previous, @Nullable T current);
+}
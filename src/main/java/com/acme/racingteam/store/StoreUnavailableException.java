@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.io.Serial;
+
+/// Exception, falls eine [VersionedStore] keine Änderungen mehr annimmt, z.B. weil das Write-Ahead-Log des
+/// [Journal] nicht mehr geschrieben werden kann. Lesende Zugriffe sind weiterhin möglich.
+public final class StoreUnavailableException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 2739614809213487061L;
+
+    /// Konstruktor mit der Ursache, aufgrund derer keine Änderungen mehr angenommen werden.
+    ///
+    /// @param cause Die Ursache.
+    StoreUnavailableException(final Throwable cause) {
+        super("Keine Aenderungen moeglich: " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jspecify.annotations.Nullable;
+
+/// Thread-sicheres Wörterbuch, das Strings auf Codes vom Typ `int` abbildet. Ein Wert, der sich in vielen
+/// Datensätzen wiederholt, wird dadurch nur einmal gespeichert.
+///
+/// Die Referenzen auf einen Code werden gezählt: jeder Aufruf von [#encode] zählt eine Referenz, die mit [#release]
+/// wieder freigegeben wird, z.B. wenn ein Datensatz ersetzt oder gelöscht wird. Ein Code ohne Referenzen wird
+/// frühestens nach der Karenzzeit für einen neuen String wiederverwendet. Ein Leser, der einen gerade ersetzten
+/// Datensatz noch dekodiert, erhält deshalb weiterhin den bisherigen String. Die Anzahl der Codes ist dadurch durch
+/// die höchste Anzahl gleichzeitig verwendeter Strings begrenzt statt durch alle jemals kodierten Strings.
+public final class StringDictionary {
+    /// Der Code für null.
+    public static final int NULL = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<String, Entry> codes = new ConcurrentHashMap<>();
+    private final long graceNanos;
+    // Codes ohne Referenzen in der Reihenfolge der Freigabe, geschuetzt durch den Monitor
+    private final Deque<Released> released = new ArrayDeque<>();
+    private volatile String[] values = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /// Konstruktor für ein leeres Wörterbuch.
+    ///
+    /// @param grace Die Karenzzeit, nach der ein Code ohne Referenzen wiederverwendet werden darf.
+    public StringDictionary(final Duration grace) {
+        graceNanos = grace.toNanos();
+    }
+
+    /// Den Code zu einem String ermitteln und ggf. neu vergeben. Dabei wird eine Referenz auf den Code gezählt.
+    ///
+    /// @param value Der String oder null.
+    /// @return Der Code oder [#NULL].
+    public int encode(final @Nullable String value) {
+        if (value == null) {
+            return NULL;
+        }
+        // Zaehlen atomar pro String, d.h. nicht gleichzeitig mit dem Entfernen in reclaim()
+        final var entry = codes.computeIfPresent(value, (_, existing) -> existing.retain());
+        return entry == null ? add(value) : entry.code;
+    }
+
+    /// Den String zu einem Code ermitteln.
+    ///
+    /// @param code Ein Code aus [#encode] oder [#NULL].
+    /// @return Der String oder null.
+    public @Nullable String decode(final int code) {
+        return code == NULL ? null : values[code];
+    }
+
+    /// Eine Referenz auf einen Code freigeben.
+    ///
+    /// @param code Ein Code aus [#encode] oder [#NULL].
+    public void release(final int code) {
+        if (code == NULL) {
+            return;
+        }
+        final var value = values[code];
+        final var unused = new boolean[1];
+        codes.computeIfPresent(value, (_, entry) -> {
+            if (entry.code == code && --entry.references == 0) {
+                unused[0] = true;
+            }
+            return entry;
+        });
+        // ausserhalb von computeIfPresent, weil add() unter dem Monitor computeIfPresent aufruft
+        if (unused[0]) {
+            synchronized (this) {
+                released.addLast(new Released(code, value, System.nanoTime()));
+            }
+        }
+    }
+
+    /// Die Anzahl der verschiedenen Strings, einschließlich der Strings ohne Referenzen, deren Code noch nicht
+    /// wiederverwendet wurde.
+    ///
+    /// @return Die Anzahl.
+    public int size() {
+        return codes.size();
+    }
+
+    // Der Eintrag im Array wird vor dem Code veroeffentlicht, so dass ein gelesener Code immer aufgeloest werden kann
+    private synchronized int add(final String value) {
+        final var existing = codes.computeIfPresent(value, (_, entry) -> entry.retain());
+        if (existing != null) {
+            return existing.code;
+        }
+        var code = reclaim();
+        var current = values;
+        if (code == NULL) {
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size << 1);
+            }
+            code = size++;
+        }
+        current[code] = value;
+        values = current;
+        codes.put(value, new Entry(code));
+        return code;
+    }
+
+    // Einen seit der Karenzzeit freigegebenen Code, der seitdem nicht erneut kodiert wurde, oder NULL
+    private int reclaim() {
+        final var now = System.nanoTime();
+        while (!released.isEmpty() && now - released.getFirst().nanos() >= graceNanos) {
+            final var candidate = released.removeFirst();
+            final var removed = new boolean[1];
+            codes.computeIfPresent(candidate.value(), (_, entry) -> {
+                if (entry.code != candidate.code() || entry.references > 0) {
+                    return entry;
+                }
+                removed[0] = true;
+                return null;
+            });
+            if (removed[0]) {
+                return candidate.code();
+            }
+        }
+        return NULL;
+    }
+
+    /// Code und Anzahl der Referenzen zu einem String. Die Anzahl wird nur innerhalb von `compute` geändert.
+    private static final class Entry {
+        private final int code;
+        private int references = 1;
+
+        Entry(final int code) {
+            this.code = code;
+        }
+
+        Entry retain() {
+            references++;
+            return this;
+        }
+    }
+
+    /// Ein Code ohne Referenzen mit dem Zeitpunkt der Freigabe.
+    private record Released(int code, String value, long nanos) {
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/// Hilfsfunktionen für synthetische Testdaten.
+///
+/// Jeder Datensatz erhält einen eigenen Zufallsgenerator aus Seed und laufender Nummer. Damit hängen die Daten nur
+/// von Seed und Nummer ab, aber nicht von der Reihenfolge der Erzeugung, und können parallel erzeugt werden.
+public final class Synthetic {
+    private static final long GOLDEN_GAMMA = 0x9E37_79B9_7F4A_7C15L;
+
+    private Synthetic() {
+    }
+
+    /// Den Zufallsgenerator für einen Datensatz ermitteln.
+    ///
+    /// @param seed Der Seed für alle Datensätze.
+    /// @param index Die laufende Nummer des Datensatzes.
+    /// @return Der Zufallsgenerator.
+    public static RandomGenerator random(final long seed, final long index) {
+        return new SplittableRandom(seed ^ (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /// Eine zufällige UUID der Version 4 erzeugen.
+    ///
+    /// @param random Der Zufallsgenerator.
+    /// @return Die UUID.
+    @SuppressWarnings("MagicNumber")
+    public static UUID uuid(final RandomGenerator random) {
+        final var msb = random.nextLong() & ~0xF000L | 0x4000L;
+        final var lsb = random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    /// Eine Zahl nach der Normalverteilung erzeugen und auf ein Intervall begrenzen.
+    ///
+    /// @param random Der Zufallsgenerator.
+    /// @param mean Der Erwartungswert.
+    /// @param stddev Die Standardabweichung.
+    /// @param min Die Untergrenze.
+    /// @param max Die Obergrenze.
+    /// @return Die Zahl zwischen `min` und `max`.
+    public static int gaussian(
+        final RandomGenerator random,
+        final double mean,
+        final double stddev,
+        final int min,
+        final int max
+    ) {
+        return Math.clamp(Math.round(random.nextGaussian(mean, stddev)), min, max);
+    }
+
+    /// Auswahl von Werten mit unterschiedlicher Häufigkeit. Die kumulierten Gewichte werden binär durchsucht.
+    ///
+    /// @param <T> Der Typ der Werte.
+    public static final class Choice<T> {
+        private final List<T> values;
+        private final double[] cumulative;
+
+        private Choice(final List<T> values, final double[] weights) {
+            if (values.isEmpty() || values.size() != weights.length) {
+                throw new IllegalArgumentException("Anzahl der Werte und Gewichte stimmt nicht ueberein");
+            }
+            this.values = List.copyOf(values);
+            cumulative = new double[weights.length];
+            var sum = 0.0;
+            for (var i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+        }
+
+        /// Auswahl mit expliziten Gewichten, z.B. Häufigkeiten in Prozent.
+        ///
+        /// @param values Die Werte.
+        /// @param weights Die Gewichte in derselben Reihenfolge.
+        /// @param <T> Der Typ der Werte.
+        /// @return Die Auswahl.
+        public static <T> Choice<T> weighted(final List<T> values, final double... weights) {
+            return new Choice<>(values, weights.clone());
+        }
+
+        /// Auswahl nach dem Zipf-Gesetz: der Wert an Position `k` hat das Gewicht `1 / k^exponent`. Damit sind z.B.
+        /// Nachnamen verteilt, die nach ihrer Häufigkeit sortiert sind.
+        ///
+        /// @param values Die Werte absteigend nach Häufigkeit.
+        /// @param exponent Der Exponent, typischerweise um 1.
+        /// @param <T> Der Typ der Werte.
+        /// @return Die Auswahl.
+        public static <T> Choice<T> zipf(final List<T> values, final double exponent) {
+            final var weights = new double[values.size()];
+            Arrays.setAll(weights, i -> 1.0 / Math.pow(i + 1.0, exponent));
+            return new Choice<>(values, weights);
+        }
+
+        /// Die Werte in der ursprünglichen Reihenfolge.
+        ///
+        /// @return Die unveränderliche Liste der Werte.
+        public List<T> values() {
+            return values;
+        }
+
+        /// Einen Wert auswählen.
+        ///
+        /// @param random Der Zufallsgenerator.
+        /// @return Der ausgewählte Wert.
+        public T next(final RandomGenerator random) {
+            final var target = random.nextDouble(cumulative[cumulative.length - 1]);
+            final var pos = Arrays.binarySearch(cumulative, target);
+            final var index = pos >= 0 ? pos + 1 : -pos - 1;
+            return values.get(Math.min(index, values.size() - 1));
+        }
+    }
+}
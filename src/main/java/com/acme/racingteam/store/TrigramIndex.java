@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+import static java.util.Locale.ROOT;
+
+/// Invertierter n-Gramm-Index für die Teilstring-Suche ohne Berücksichtigung der Groß-/Kleinschreibung.
+/// ```
+/// SELECT id
+/// FROM   ...
+/// WHERE  lower(...) LIKE '%...%'
+/// ```
+///
+/// Jeder Wert wird einmalig beim Schreiben in Kleinbuchstaben umgewandelt und mit allen Teilstrings der Länge 1 bis 3
+/// indexiert. Ein Suchbegriff mit bis zu 3 Zeichen ist damit ein einzelner Index-Zugriff; bei längeren Suchbegriffen
+/// werden die Trigramme geschnitten, beginnend mit der kürzesten Liste, und die Kandidaten abschließend verifiziert.
+/// Die IDs werden aufsteigend sortiert geliefert; mit einer ID als Cursor beginnt die Suche direkt nach dieser ID.
+public final class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<UUID, String> values = new ConcurrentSkipListMap<>();
+    // size() der ConcurrentSkipListMap durchlaeuft alle Eintraege
+    private final AtomicInteger size = new AtomicInteger();
+
+    /// Einen Wert für die Suche normalisieren.
+    ///
+    /// @param value Der Wert.
+    /// @return Der Wert in Kleinbuchstaben.
+    public static String fold(final String value) {
+        return value.toLowerCase(ROOT);
+    }
+
+    /// Einen Wert für eine ID indexieren. Ein evtl. vorhandener Wert zur ID wird vorher entfernt.
+    ///
+    /// @param id Die ID des Datensatzes.
+    /// @param value Der zu indexierende Wert.
+    public void add(final UUID id, final String value) {
+        final var folded = fold(value);
+        final var previous = values.put(id, folded);
+        if (previous == null) {
+            size.incrementAndGet();
+        } else {
+            grams(previous).forEach(gram -> unlink(gram, id));
+        }
+        grams(folded).forEach(gram -> postings.compute(gram, (_, ids) -> {
+            final var result = ids == null ? new Postings() : ids;
+            result.add(id);
+            return result;
+        }));
+    }
+
+    /// Den Wert zu einer ID aus dem Index entfernen.
+    ///
+    /// @param id Die ID des Datensatzes.
+    public void remove(final UUID id) {
+        final var previous = values.remove(id);
+        if (previous != null) {
+            size.decrementAndGet();
+            grams(previous).forEach(gram -> unlink(gram, id));
+        }
+    }
+
+    /// Obere Schranke für die Anzahl der Treffer ermitteln, z.B. zur Abschätzung der Selektivität.
+    ///
+    /// @param needle Der Suchbegriff.
+    /// @return Die Größe der kürzesten Liste zu den n-Grammen des Suchbegriffs.
+    public int estimate(final String needle) {
+        final var folded = fold(needle);
+        if (folded.isEmpty()) {
+            return size.get();
+        }
+        return grams(folded, Math.min(folded.length(), GRAM_LENGTH))
+            .mapToInt(gram -> {
+                final var ids = postings.get(gram);
+                return ids == null ? 0 : ids.count();
+            })
+            .min()
+            .orElse(0);
+    }
+
+    /// IDs der Datensätze ermitteln, deren Wert den Suchbegriff enthält.
+    ///
+    /// @param needle Der Suchbegriff.
+    /// @param after Die ID, nach der begonnen wird, oder null für den Anfang.
+    /// @return Die IDs in aufsteigender Reihenfolge.
+    public Stream<UUID> search(final String needle, final @Nullable UUID after) {
+        final var folded = fold(needle);
+        if (folded.isEmpty()) {
+            return (after == null ? values : values.tailMap(after, false)).keySet().stream();
+        }
+
+        final var lists = grams(folded, Math.min(folded.length(), GRAM_LENGTH))
+            .map(postings::get)
+            .toList();
+        if (lists.contains(null)) {
+            return Stream.empty();
+        }
+        final var sorted = lists.stream()
+            .sorted(Comparator.comparingInt(Postings::count))
+            .toList();
+        final var smallest = sorted.getFirst();
+        final var others = sorted.subList(1, sorted.size());
+
+        var ids = after == null ? smallest.ids().stream() : smallest.ids().tailSet(after, false).stream();
+        if (!others.isEmpty()) {
+            ids = ids.filter(id -> others.stream().allMatch(other -> other.ids().contains(id)));
+        }
+        if (folded.length() > GRAM_LENGTH) {
+            ids = ids.filter(id -> {
+                final var value = values.get(id);
+                return value != null && value.contains(folded);
+            });
+        }
+        return ids;
+    }
+
+    private void unlink(final String gram, final UUID id) {
+        postings.computeIfPresent(gram, (_, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Stream<String> grams(final String folded) {
+        return Stream.iterate(1, length -> length <= GRAM_LENGTH, length -> length + 1)
+            .flatMap(length -> grams(folded, length))
+            .distinct();
+    }
+
+    private static Stream<String> grams(final String folded, final int length) {
+        final Set<String> result = new LinkedHashSet<>();
+        for (var i = 0; i + length <= folded.length(); i++) {
+            result.add(folded.substring(i, i + length));
+        }
+        return result.stream();
+    }
+}
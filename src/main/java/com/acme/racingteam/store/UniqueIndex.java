@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.text.Normalizer;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jspecify.annotations.Nullable;
+import static java.text.Normalizer.Form.NFKC;
+import static java.util.Locale.ROOT;
+
+/// Eindeutiger Index über einen normalisierten Schlüssel, z.B. Teamname oder Emailadresse.
+/// ```
+/// CREATE UNIQUE INDEX ... ON ... (lower(...))
+/// ```
+///
+/// Das Reservieren eines Schlüssels erfolgt atomar mit `putIfAbsent`, so dass bei nebenläufigen
+/// Schreibzugriffen höchstens ein Aufrufer den Schlüssel erhält.
+public final class UniqueIndex {
+    private final Map<String, UUID> ids = new ConcurrentHashMap<>();
+
+    /// Einen Schlüssel unabhängig von der Default-Locale normalisieren: Unicode-Normalform NFKC, ohne führende und
+    /// abschließende Leerzeichen und in Kleinbuchstaben.
+    ///
+    /// @param key Der Schlüssel.
+    /// @return Der normalisierte Schlüssel.
+    public static String normalize(final String key) {
+        return Normalizer.normalize(key.strip(), NFKC).toUpperCase(ROOT).toLowerCase(ROOT);
+    }
+
+    /// Einen Schlüssel für eine ID reservieren.
+    ///
+    /// @param key Der (nicht normalisierte) Schlüssel.
+    /// @param id Die ID des Datensatzes.
+    /// @return true, falls der Schlüssel jetzt der ID zugeordnet ist, false, falls er einer anderen ID gehört.
+    public boolean claim(final String key, final UUID id) {
+        final var previous = ids.putIfAbsent(normalize(key), id);
+        return previous == null || previous.equals(id);
+    }
+
+    /// Den Schlüssel eines Datensatzes ändern: der neue Schlüssel wird reserviert und erst danach der alte
+    /// freigegeben.
+    ///
+    /// @param oldKey Der bisherige Schlüssel.
+    /// @param newKey Der neue Schlüssel.
+    /// @param id Die ID des Datensatzes.
+    /// @return true, falls der neue Schlüssel der ID zugeordnet ist, false, falls er einer anderen ID gehört.
+    public boolean move(final String oldKey, final String newKey, final UUID id) {
+        final var oldNormalized = normalize(oldKey);
+        final var newNormalized = normalize(newKey);
+        final var previous = ids.putIfAbsent(newNormalized, id);
+        if (previous != null && !previous.equals(id)) {
+            return false;
+        }
+        if (!oldNormalized.equals(newNormalized)) {
+            ids.remove(oldNormalized, id);
+        }
+        return true;
+    }
+
+    /// Einen Schlüssel freigeben, sofern er noch der ID zugeordnet ist.
+    ///
+    /// @param key Der (nicht normalisierte) Schlüssel.
+    /// @param id Die ID des Datensatzes.
+    public void release(final String key, final UUID id) {
+        ids.remove(normalize(key), id);
+    }
+
+    /// Die ID zu einem Schlüssel ermitteln.
+    ///
+    /// @param key Der (nicht normalisierte) Schlüssel.
+    /// @return Die zugeordnete ID oder null.
+    public @Nullable UUID get(final String key) {
+        return ids.get(normalize(key));
+    }
+
+    /// Abfrage, ob ein Schlüssel vergeben ist.
+    ///
+    /// @param key Der (nicht normalisierte) Schlüssel.
+    /// @return true, falls der Schlüssel vergeben ist.
+    public boolean contains(final String key) {
+        return ids.containsKey(normalize(key));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+
+/// Nicht-eindeutiger Index für Gleichheitsabfragen, z.B. über ein Enum oder eine Kategorie.
+/// ```
+/// SELECT id
+/// FROM   ...
+/// WHERE  ... = ...
+/// ```
+///
+/// Zu jedem Schlüssel werden die IDs aufsteigend sortiert und mit ihrer Anzahl verwaltet. Einfügen und Entfernen
+/// erfolgen mit `compute`, d.h. atomar pro Schlüssel, so dass eine leer gewordene Liste nicht mit einem parallelen
+/// Einfügen kollidiert.
+///
+/// @param <K> Der Typ der Schlüssel.
+public final class ValueIndex<K> {
+    private final Map<K, Postings> postings = new ConcurrentHashMap<>();
+
+    /// Eine ID unter einem Schlüssel eintragen.
+    ///
+    /// @param key Der Schlüssel.
+    /// @param id Die ID des Datensatzes.
+    public void add(final K key, final UUID id) {
+        postings.compute(key, (_, ids) -> {
+            final var result = ids == null ? new Postings() : ids;
+            result.add(id);
+            return result;
+        });
+    }
+
+    /// Eine ID unter einem Schlüssel austragen.
+    ///
+    /// @param key Der Schlüssel.
+    /// @param id Die ID des Datensatzes.
+    public void remove(final K key, final UUID id) {
+        postings.computeIfPresent(key, (_, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /// Die IDs zu einem Schlüssel ermitteln.
+    ///
+    /// @param key Der Schlüssel.
+    /// @return Unveränderliche Sicht auf die aufsteigend sortierten IDs.
+    public NavigableSet<UUID> get(final K key) {
+        final var ids = postings.get(key);
+        return ids == null ? Collections.emptyNavigableSet() : Collections.unmodifiableNavigableSet(ids.ids());
+    }
+
+    /// Die IDs zu einem Schlüssel ab einer ID ermitteln, z.B. für _Keyset Pagination_. Der Einstieg erfolgt in
+    /// O(log n) direkt in der sortierten Liste, ohne die vorherigen IDs zu lesen.
+    ///
+    /// @param key Der Schlüssel.
+    /// @param after Die ID, nach der begonnen wird, oder null für den Anfang.
+    /// @return Die IDs in aufsteigender Reihenfolge.
+    public Stream<UUID> search(final K key, final @Nullable UUID after) {
+        final var ids = postings.get(key);
+        if (ids == null) {
+            return Stream.empty();
+        }
+        return after == null ? ids.ids().stream() : ids.ids().tailSet(after, false).stream();
+    }
+
+    /// Anzahl der IDs zu einem Schlüssel in O(1) ermitteln, z.B. zur Abschätzung der Selektivität.
+    ///
+    /// @param key Der Schlüssel.
+    /// @return Die Anzahl der IDs.
+    public int count(final K key) {
+        final var ids = postings.get(key);
+        return ids == null ? 0 : ids.count();
+    }
+}
@@ -0,0 +1,20 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+/// Unveränderlicher Eintrag im [VersionedStore]: Wert zusammen mit seiner Versionsnummer.
+///
+/// @param value Der gespeicherte Wert.
+/// @param version Die Versionsnummer, beginnend mit `0` beim Neuanlegen.
+/// @param <T> Der Typ des Werts.
+public record Versioned<T>(T value, long version) {
+    /// Erwartete Version für eine Änderung ohne Prüfung der aktuellen Version.
+    public static final long ANY = -1L;
+
+    /// Erwartete Version, die mit keiner Version übereinstimmt, z.B. für ein ungültiges `If-Match`.
+    public static final long NONE = -2L;
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.jspecify.annotations.Nullable;
+
+/// Thread-sichere In-Memory-Datenhaltung mit versionierten Einträgen, sortiert nach der ID.
+///
+/// - Lesen ist lock-frei: ein Eintrag ist ein unveränderliches Paar aus Wert und Version, das atomar in einer
+///   [ConcurrentSkipListMap] ersetzt wird. Iterationen sind _weakly consistent_.
+/// - Für das Lesen anhand der ID wird derselbe Eintrag zusätzlich in einer [ConcurrentHashMap] gehalten, so dass der
+///   Zugriff in O(1) statt O(log n) erfolgt. Beide Maps werden unter dem Schreib-Lock der ID aktualisiert; die
+///   sortierte Map wird nur noch für Iterationen und _Keyset Pagination_ verwendet.
+/// - Schreiben wird pro ID serialisiert: die IDs sind auf eine feste Anzahl von [ReentrantLock]s verteilt
+///   ("Lock Striping"). Der Lock ist reentrant, so dass mit [#withLock] mehrere Schritte zu einer ID atomar
+///   zusammengefasst werden können.
+/// - Registrierte [StoreListener] werden innerhalb des Locks aufgerufen, z.B. für Sekundärindexe.
+/// - Registrierte [ChangeLog]s erhalten jede Änderung mit der neuen Version, ebenfalls innerhalb des Locks.
+/// - Nach [#fail] werden alle weiteren Änderungen mit [StoreUnavailableException] abgelehnt, z.B. wenn das
+///   Write-Ahead-Log nicht mehr geschrieben werden kann.
+///
+/// @param <T> Der Typ der gespeicherten Werte.
+public final class VersionedStore<T> {
+    private static final int STRIPES = 64;
+
+    private final ConcurrentNavigableMap<UUID, Versioned<T>> entries = new ConcurrentSkipListMap<>();
+    // dieselben Eintraege fuer get() und contains() in O(1)
+    private final ConcurrentMap<UUID, Versioned<T>> byId = new ConcurrentHashMap<>();
+    // size() der ConcurrentSkipListMap durchlaeuft alle Eintraege, z.B. bei jedem Abruf der Metriken
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final List<StoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final List<ChangeLog> changeLogs = new CopyOnWriteArrayList<>();
+    private volatile @Nullable Throwable failure;
+
+    /// Konstruktor für eine leere Datenhaltung.
+    public VersionedStore() {
+        for (var i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /// Einen Listener für Änderungen registrieren.
+    ///
+    /// @param listener Der Listener.
+    public void addListener(final StoreListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    /// Einen Ringpuffer registrieren, in den jede Änderung mit ID und Version eingetragen wird.
+    ///
+    /// @param changeLog Der Ringpuffer.
+    public void addChangeLog(final ChangeLog changeLog) {
+        changeLogs.add(changeLog);
+    }
+
+    /// Ab jetzt keine Änderungen mehr annehmen, z.B. weil sie nicht mehr dauerhaft gespeichert werden können. Die
+    /// Änderung, bei der der Fehler aufgetreten ist, bleibt im Speicher erhalten.
+    ///
+    /// @param cause Die Ursache, die bei jeder weiteren Änderung in [StoreUnavailableException] gemeldet wird.
+    public void fail(final Throwable cause) {
+        if (failure == null) {
+            failure = cause;
+        }
+    }
+
+    /// Einen Wert anhand der ID ermitteln.
+    ///
+    /// @param id Die ID.
+    /// @return Der Wert oder null.
+    public @Nullable T get(final UUID id) {
+        final var entry = byId.get(id);
+        return entry == null ? null : entry.value();
+    }
+
+    /// Einen Wert zusammen mit seiner Version anhand der ID ermitteln.
+    ///
+    /// @param id Die ID.
+    /// @return Der versionierte Eintrag oder null.
+    public @Nullable Versioned<T> getVersioned(final UUID id) {
+        return byId.get(id);
+    }
+
+    /// Abfrage, ob es einen Eintrag zur ID gibt.
+    ///
+    /// @param id Die ID.
+    /// @return true, falls es einen Eintrag gibt.
+    public boolean contains(final UUID id) {
+        return byId.containsKey(id);
+    }
+
+    /// Anzahl der Einträge in O(1) ermitteln. Die Anzahl wird beim Neuanlegen und Löschen gezählt.
+    ///
+    /// @return Die Anzahl der Einträge.
+    public int size() {
+        return size.get();
+    }
+
+    /// Alle Werte als unveränderliche Sicht, aufsteigend sortiert nach der ID.
+    ///
+    /// @return Die Werte.
+    public Collection<T> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<T> iterator() {
+                final var iterator = entries.values().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public T next() {
+                        return iterator.next().value();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size.get();
+            }
+        };
+    }
+
+    /// Alle Werte als Stream, aufsteigend sortiert nach der ID.
+    ///
+    /// @return Die Werte.
+    public Stream<T> stream() {
+        return entries.values().stream().map(Versioned::value);
+    }
+
+    /// Alle Einträge mit ID und Wert aufsteigend sortiert nach der ID verarbeiten, z.B. für einen Snapshot.
+    ///
+    /// @param action Die Verarbeitung für ID und Wert.
+    public void forEach(final BiConsumer<? super UUID, ? super T> action) {
+        entries.forEach((id, entry) -> action.accept(id, entry.value()));
+    }
+
+    /// Alle Einträge mit ID, Wert und Version aufsteigend sortiert nach der ID verarbeiten, z.B. für einen Snapshot
+    /// mit den Versionen für `ETag`.
+    ///
+    /// @param action Die Verarbeitung für ID und Eintrag.
+    public void forEachVersioned(final BiConsumer<? super UUID, ? super Versioned<T>> action) {
+        entries.forEach(action);
+    }
+
+    /// Die Werte mit einer ID größer als `after` als Stream, aufsteigend sortiert nach der ID, z.B. für _Keyset
+    /// Pagination_.
+    ///
+    /// @param after Die ID, nach der begonnen wird, oder null für den Anfang.
+    /// @return Die Werte.
+    public Stream<T> stream(final @Nullable UUID after) {
+        final var tail = after == null ? entries : entries.tailMap(after, false);
+        return tail.values().stream().map(Versioned::value);
+    }
+
+    /// Einen Wert neu anlegen oder überschreiben. Die Version wird dabei hochgezählt.
+    ///
+    /// @param id Die ID.
+    /// @param value Der neue Wert.
+    /// @return Der neue Eintrag.
+    /// @throws StoreUnavailableException Falls nach [#fail] keine Änderungen mehr angenommen werden.
+    public Versioned<T> put(final UUID id, final T value) {
+        return withLock(id, () -> {
+            checkWritable();
+            final var previous = byId.get(id);
+            return write(id, previous, new Versioned<>(value, previous == null ? 0L : previous.version() + 1));
+        });
+    }
+
+    /// Einen gespeicherten Eintrag mit seiner bisherigen Version wiederherstellen, z.B. aus einem Snapshot, damit ein
+    /// `ETag` von vor einem Neustart gültig bleibt.
+    ///
+    /// @param id Die ID.
+    /// @param entry Der Wert mit seiner gespeicherten Version.
+    /// @return Der wiederhergestellte Eintrag.
+    /// @throws StoreUnavailableException Falls nach [#fail] keine Änderungen mehr angenommen werden.
+    public Versioned<T> restore(final UUID id, final Versioned<T> entry) {
+        return withLock(id, () -> {
+            checkWritable();
+            return write(id, byId.get(id), entry);
+        });
+    }
+
+    /// Einen vorhandenen Wert überschreiben. Die Version wird dabei hochgezählt.
+    ///
+    /// @param id Die ID.
+    /// @param value Der neue Wert.
+    /// @return Der neue Eintrag oder null, falls es keinen Eintrag zur ID gibt.
+    public @Nullable Versioned<T> replace(final UUID id, final T value) {
+        return withLock(id, () -> byId.containsKey(id) ? put(id, value) : null);
+    }
+
+    /// Einen Eintrag löschen.
+    ///
+    /// @param id Die ID.
+    /// @return Der gelöschte Wert oder null, falls es keinen Eintrag zur ID gibt.
+    /// @throws StoreUnavailableException Falls nach [#fail] keine Änderungen mehr angenommen werden.
+    public @Nullable T remove(final UUID id) {
+        return withLock(id, () -> {
+            checkWritable();
+            final var previous = byId.remove(id);
+            if (previous == null) {
+                return null;
+            }
+            entries.remove(id);
+            size.decrementAndGet();
+            notifyListeners(id, previous, null);
+            appendChange(ChangeEvent.Type.DELETED, id, previous.version());
+            return previous.value();
+        });
+    }
+
+    /// Mehrere Werte in einem Schritt neu anlegen oder überschreiben. Dazu werden die Locks aller betroffenen IDs in
+    /// aufsteigender Reihenfolge gesperrt, so dass nebenläufige Aufrufe nicht verklemmen können. Schreibzugriffe auf
+    /// diese IDs warten, bis alle Werte eingetragen sind; lesende Zugriffe können Zwischenstände sehen.
+    ///
+    /// Innerhalb von [#withLock] darf diese Methode nicht aufgerufen werden, weil die Reihenfolge der Locks sonst
+    /// nicht eingehalten wird.
+    ///
+    /// @param values Die neuen Werte zu den IDs.
+    public void putAll(final Map<UUID, ? extends T> values) {
+        final var stripes = lockAll(values.keySet());
+        try {
+            values.forEach(this::put);
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    /// Mehrere Schritte zu einer ID atomar ausführen, d.h. unter dem Schreib-Lock der ID.
+    ///
+    /// @param id Die ID.
+    /// @param action Die auszuführenden Schritte.
+    /// @param <R> Der Typ des Ergebnisses.
+    /// @return Das Ergebnis von `action`.
+    public <R extends @Nullable Object> R withLock(final UUID id, final Supplier<R> action) {
+        final var lock = lockFor(id);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// Mehrere Schritte zu mehreren IDs atomar ausführen, d.h. unter den Schreib-Locks aller IDs. Wie bei [#putAll]
+    /// werden die Locks in aufsteigender Reihenfolge gesperrt, und der Aufruf darf nicht innerhalb von [#withLock]
+    /// erfolgen.
+    ///
+    /// @param ids Die IDs.
+    /// @param action Die auszuführenden Schritte.
+    /// @param <R> Der Typ des Ergebnisses.
+    /// @return Das Ergebnis von `action`.
+    public <R extends @Nullable Object> R withLocks(final Collection<UUID> ids, final Supplier<R> action) {
+        final var stripes = lockAll(ids);
+        try {
+            return action.get();
+        } finally {
+            unlockAll(stripes);
+        }
+    }
+
+    private int[] lockAll(final Collection<UUID> ids) {
+        final var stripes = ids.stream()
+            .mapToInt(VersionedStore::stripe)
+            .distinct()
+            .sorted()
+            .toArray();
+        for (final var stripe : stripes) {
+            locks[stripe].lock();
+        }
+        return stripes;
+    }
+
+    private void unlockAll(final int[] stripes) {
+        for (var i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(final UUID id) {
+        return locks[stripe(id)];
+    }
+
+    private static int stripe(final UUID id) {
+        final var hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private Versioned<T> write(final UUID id, final @Nullable Versioned<T> previous, final Versioned<T> current) {
+        byId.put(id, current);
+        entries.put(id, current);
+        if (previous == null) {
+            size.incrementAndGet();
+        }
+        notifyListeners(id, previous, current.value());
+        appendChange(previous == null ? ChangeEvent.Type.CREATED : ChangeEvent.Type.UPDATED, id, current.version());
+        return current;
+    }
+
+    private void checkWritable() {
+        final var cause = failure;
+        if (cause != null) {
+            throw new StoreUnavailableException(cause);
+        }
+    }
+
+    private void notifyListeners(final UUID id, @Nullable final Versioned<T> previous, @Nullable final T current) {
+        final var previousValue = previous == null ? null : previous.value();
+        listeners.forEach(listener -> listener.changed(id, previousValue, current));
+    }
+
+    private void appendChange(final ChangeEvent.Type type, final UUID id, final long version) {
+        for (final var changeLog : changeLogs) {
+            changeLog.append(type, id, version);
+        }
+    }
+}
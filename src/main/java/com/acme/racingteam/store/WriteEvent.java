@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+package com.acme.racingteam.store;
+
+import java.util.UUID;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.jspecify.annotations.Nullable;
+
+/// Ereignis für _Java Flight Recorder_ beim Schreiben in einem Repository. Die Gesamtdauer wird von JFR erfasst,
+/// zusätzlich die Anteile für den eindeutigen Index, z.B. Teamname oder Emailadresse, und für die Datenhaltung
+/// einschließlich der Sekundärindexe, die von den [StoreListener]n im selben Aufruf nachgeführt werden.
+///
+/// Die Zeitmessung mit [#mark()] erfolgt nur während einer laufenden Aufzeichnung.
+@Name("com.acme.racingteam.Write")
+@Label("Repository Write")
+@Category({"Racingteam", "Repository"})
+@Description("Schreiben in die In-Memory-Datenhaltung")
+@StackTrace(false)
+public final class WriteEvent extends Event {
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Entity Id")
+    private @Nullable String id;
+
+    @Label("Entities")
+    @Description("Anzahl der Datensätze, bei einem Batch größer als 1")
+    private int count;
+
+    @Label("Result")
+    private @Nullable String result;
+
+    @Label("Unique Index Time")
+    @Description("Reservieren, Umtragen oder Freigeben im eindeutigen Index")
+    @Timespan(Timespan.NANOSECONDS)
+    private long indexTime;
+
+    @Label("Store Time")
+    @Description("Schreiben in die Datenhaltung einschließlich der Sekundärindexe")
+    @Timespan(Timespan.NANOSECONDS)
+    private long storeTime;
+
+    private WriteEvent(final String repository, final String method) {
+        this.repository = repository;
+        this.method = method;
+    }
+
+    /// Ein Ereignis beginnen.
+    ///
+    /// @param repository Einfacher Name des Repositorys.
+    /// @param method Name der Methode.
+    /// @return Das begonnene Ereignis.
+    public static WriteEvent begin(final String repository, final String method) {
+        final var event = new WriteEvent(repository, method);
+        event.begin();
+        return event;
+    }
+
+    /// Startzeitpunkt für [#indexed] oder [#stored] ermitteln.
+    ///
+    /// @return Der Zeitpunkt in Nanosekunden oder 0 ohne laufende Aufzeichnung.
+    public long mark() {
+        return isEnabled() ? System.nanoTime() : 0L;
+    }
+
+    /// Die Zeit seit einem Startzeitpunkt dem eindeutigen Index zurechnen.
+    ///
+    /// @param mark Der Startzeitpunkt von [#mark()].
+    public void indexed(final long mark) {
+        if (mark != 0L) {
+            indexTime += System.nanoTime() - mark;
+        }
+    }
+
+    /// Die Zeit seit einem Startzeitpunkt der Datenhaltung zurechnen.
+    ///
+    /// @param mark Der Startzeitpunkt von [#mark()].
+    public void stored(final long mark) {
+        if (mark != 0L) {
+            storeTime += System.nanoTime() - mark;
+        }
+    }
+
+    /// Das Ereignis für einen einzelnen Datensatz beenden und aufzeichnen.
+    ///
+    /// @param entityId Die ID des Datensatzes oder null, falls keine ID vergeben wurde.
+    /// @param outcome Das Ergebnis, z.B. `UPDATED` oder `EMAIL_EXISTS`.
+    public void end(final @Nullable UUID entityId, final Object outcome) {
+        if (shouldCommit()) {
+            id = entityId == null ? null : entityId.toString();
+            count = 1;
+            result = outcome.toString();
+            commit();
+        }
+    }
+
+    /// Das Ereignis für einen Batch beenden und aufzeichnen.
+    ///
+    /// @param entities Anzahl der Datensätze im Batch.
+    public void endBatch(final int entities) {
+        if (shouldCommit()) {
+            count = entities;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (C) 2025 - present
+ * Hochschule Karlsruhe
+ *
+ * Licensed under the GNU General Public License, Version 3 (GPLv3).
+ */
+
+/// Gemeinsame Bausteine für die In-Memory-Datenhaltung, z.B. Indexe.
+@NullMarked
+package com.acme.racingteam.store;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,216 @@
+package com.acme.racingteam.kunde.repository;
+
+import com.acme.racingteam.kunde.entity.FamilienstandType;
+import com.acme.racingteam.kunde.entity.GeschlechtType;
+import com.acme.racingteam.kunde.entity.InteresseType;
+import com.acme.racingteam.kunde.entity.Kunde;
+import com.acme.racingteam.store.Page;
+import com.acme.racingteam.store.QueryEvent;
+import com.acme.racingteam.store.VersionedStore;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+// Die Suche ueber die spaltenorientierte Kopie muss dieselben Seiten liefern wie die Suche ueber die Indexe
+@Tag("unit")
+@Tag("repository")
+@DisplayName("Spaltenorientierte Kopie der Kunden testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class KundeColumnsTest {
+
+    private static final int KUNDEN = 500;
+    private static final int PAGE_SIZE = 7;
+    private static final long SEED = 42L;
+    private static final int NO_REWRITE = Integer.MAX_VALUE;
+    private static final List<String> NACHNAMEN = List.of("Müller", "Schmidt", "Schneider", "Fischer", "Weber");
+    private static final List<String> ORTE = List.of("Berlin", "Bremen", "Bonn", "Köln", "Karlsruhe");
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    private static final List<Map<String, List<String>>> QUERIES = List.of(
+        Map.of(),
+        Map.of("nachname", List.of("Sch")),
+        Map.of("nachname", List.of("er"), "kategorie", List.of("3")),
+        Map.of("plz", List.of("1")),
+        Map.of("ort", List.of("B"), "geschlecht", List.of("W")),
+        Map.of("familienstand", List.of("L")),
+        Map.of("interesse", List.of("S", "R")),
+        Map.of("ort", List.of("K"), "interesse", List.of("L"), "kategorie", List.of("2"))
+    );
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @TempDir
+    @SuppressWarnings("NullAway.Init")
+    private Path directory;
+
+    private final Random random = new Random(SEED);
+    private final VersionedStore<Kunde> store = new VersionedStore<>();
+    private final KundeIndex index = new KundeIndex();
+    private final KundeColumnStore columns = new KundeColumnStore();
+    private final List<UUID> ids = new ArrayList<>(KUNDEN);
+
+    @SuppressWarnings("NullAway.Init")
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store.addListener(index);
+        store.addListener(columns);
+        for (var i = 0; i < KUNDEN; i++) {
+            final var id = new UUID(random.nextLong(), random.nextLong());
+            ids.add(id);
+            store.put(id, kunde(id, i));
+        }
+        file = directory.resolve("kunden.columns");
+        columns.refresh(store, file, NO_REWRITE);
+    }
+
+    @Test
+    @DisplayName("Kopie und Heap liefern dieselben Seiten")
+    void samePages() {
+        for (final var query : QUERIES) {
+            // when
+            final var fromColumns = pages(query, true);
+            final var fromHeap = pages(query, false);
+
+            // then
+            softly.assertThat(fromColumns).isEqualTo(fromHeap);
+        }
+        softly.assertThat(columns.changes()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Geaenderte Kunden werden bis zum Neuschreiben vom Heap gelesen")
+    void changesFromHeap() throws IOException {
+        // given
+        final var modified = Files.getLastModifiedTime(file);
+        for (var i = 0; i < 40; i++) {
+            final var id = ids.get(i * 11);
+            store.put(id, kunde(id, KUNDEN + i));
+        }
+        for (var i = 0; i < 10; i++) {
+            store.remove(ids.get(i * 13 + 2));
+        }
+        for (var i = 0; i < 20; i++) {
+            final var id = new UUID(random.nextLong(), random.nextLong());
+            store.put(id, kunde(id, 2 * KUNDEN + i));
+        }
+        final var changes = columns.changes();
+        columns.refresh(store, file, NO_REWRITE);
+
+        for (final var query : QUERIES) {
+            // when
+            final var fromColumns = pages(query, true);
+            final var fromHeap = pages(query, false);
+
+            // then
+            softly.assertThat(fromColumns).isEqualTo(fromHeap);
+        }
+        softly.assertThat(changes).isEqualTo(70);
+        softly.assertThat(Files.getLastModifiedTime(file)).isEqualTo(modified);
+    }
+
+    @Test
+    @DisplayName("Neuschreiben ab der Schwelle fuer Aenderungen")
+    void rewrite() throws IOException {
+        // given
+        final var id = ids.getFirst();
+        store.put(id, kunde(id, KUNDEN));
+        columns.refresh(store, file, 2);
+        final var before = columns.changes();
+
+        // when
+        final var other = ids.getLast();
+        store.put(other, kunde(other, KUNDEN + 1));
+        columns.refresh(store, file, 2);
+
+        // then
+        softly.assertThat(before).isEqualTo(1);
+        softly.assertThat(columns.changes()).isEqualTo(0);
+        softly.assertThat(pages(Map.of(), true)).isEqualTo(pages(Map.of(), false));
+    }
+
+    // alle Seiten einer Suche ueber den Cursor; die Kunden vollstaendig kodiert, weil equals() nur die ID vergleicht
+    private List<List<ByteBuffer>> pages(final Map<String, List<String>> query, final boolean fromColumns) {
+        final var plan = requireNonNull(KundeQuery.of(query, index));
+        final var codec = new KundeCodec();
+        final List<List<ByteBuffer>> pages = new ArrayList<>();
+        @Nullable UUID after = null;
+        do {
+            final var event = QueryEvent.begin("KundeColumnsTest", "find", "test", query.size());
+            final var kunden = fromColumns
+                ? requireNonNull(columns.find(store, plan, query, after, event))
+                : plan.execute(store, after, event);
+            final var page = Page.of(kunden, Kunde::getId, PAGE_SIZE);
+            pages.add(page.content().stream().map(kunde -> {
+                final var buffer = ByteBuffer.allocate(4096);
+                codec.encode(kunde, buffer);
+                return buffer.flip();
+            }).toList());
+            after = page.next();
+        } while (after != null);
+        return pages;
+    }
+
+    // optionale Attribute abhaengig von n nicht gesetzt, die uebrigen zufaellig
+    private Kunde kunde(final UUID id, final int n) {
+        final var builder = KundeBuilder.getBuilder()
+            .setId(id)
+            .setNachname(NACHNAMEN.get(random.nextInt(NACHNAMEN.size())) + (n % 3 == 0 ? "-Weber" : ""))
+            .setEmail("kunde" + n + "@acme.de")
+            .setKategorie(random.nextInt(10))
+            .setHasNewsletter(random.nextBoolean())
+            .setFamilienstand(FamilienstandType.values()[random.nextInt(FamilienstandType.values().length)]);
+        if (n % 7 != 0) {
+            builder.setGeburtsdatum(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20_000)));
+        }
+        if (n % 11 != 0) {
+            builder.setGeschlecht(GeschlechtType.values()[random.nextInt(GeschlechtType.values().length)]);
+        }
+        if (n % 13 != 0) {
+            builder.setInteressen(new ArrayList<>(
+                Arrays.stream(InteresseType.values()).filter(_ -> random.nextBoolean()).toList()
+            ));
+        }
+        if (n % 17 != 0) {
+            builder.setAdresse(AdresseBuilder.getBuilder()
+                .setPlz("%05d".formatted(random.nextInt(100_000)))
+                .setOrt(ORTE.get(random.nextInt(ORTE.size())))
+                .build());
+        }
+        if (n % 5 != 0) {
+            builder.setRechnungen(new ArrayList<>(random.ints(random.nextInt(4), 1, 1_000)
+                .mapToObj(betrag -> RechnungBuilder.getBuilder()
+                    .setBetrag(BigDecimal.valueOf(betrag, 2))
+                    .setWaehrung(EUR)
+                    .build())
+                .toList()));
+        }
+        return builder.build();
+    }
+}
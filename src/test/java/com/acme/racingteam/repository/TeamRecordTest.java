@@ -0,0 +1,103 @@
+package com.acme.racingteam.repository;
+
+import com.acme.racingteam.entity.Team;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openjdk.jol.info.GraphLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@Tag("unit")
+@Tag("repository")
+@DisplayName("Kompakte Darstellung TeamRecord testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class TeamRecordTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TeamRecordTest.class);
+
+    private static final int TEAMS = 10_000;
+    private static final List<String> LOCATIONS = List.of("Milton Keynes", "Maranello", "Brackley", "Woking");
+    private static final List<String> COUNTRIES = List.of("UK", "Italien");
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    // TEST 1: toTeam() liefert dieselben Daten wie das urspruengliche Team
+    @Test
+    @DisplayName("Team nach TeamRecord und zurueck")
+    void roundTrip() {
+        // given
+        final var team = buildTeam(0);
+
+        // when
+        final var result = TeamRecord.of(team).toTeam();
+
+        // then
+        softly.assertThat(result.getId()).isEqualTo(team.getId());
+        softly.assertThat(result.getName()).isEqualTo(team.getName());
+        softly.assertThat(result.getTeamPrincipal()).isEqualTo(team.getTeamPrincipal());
+        softly.assertThat(result.getHomebase().getLocation()).isEqualTo(team.getHomebase().getLocation());
+        softly.assertThat(result.getHomebase().getCountry()).isEqualTo(team.getHomebase().getCountry());
+        softly.assertThat(result.getDrivers()).hasSize(2);
+        softly.assertThat(result.getDrivers().get(1).getName()).isEqualTo(team.getDrivers().get(1).getName());
+        softly.assertThat(result.getDrivers().get(1).getAge()).isEqualTo(team.getDrivers().get(1).getAge());
+    }
+
+    // TEST 2: Speicherbedarf mit JOL messen, das Woerterbuch wird bei den TeamRecords mitgezaehlt
+    @Test
+    @DisplayName("TeamRecord belegt weniger Heap als Team")
+    void footprint() {
+        // given
+        final var teams = IntStream.range(0, TEAMS)
+            .mapToObj(TeamRecordTest::buildTeam)
+            .toArray(Team[]::new);
+
+        // when
+        final var records = new Object[] {
+            Arrays.stream(teams).map(TeamRecord::of).toArray(TeamRecord[]::new),
+            TeamRecord.PLACES
+        };
+        final var teamLayout = GraphLayout.parseInstance((Object) teams);
+        final var recordLayout = GraphLayout.parseInstance(records);
+        LOGGER.info("Team:\n{}", teamLayout.toFootprint());
+        LOGGER.info("TeamRecord:\n{}", recordLayout.toFootprint());
+        final var teamBytes = teamLayout.totalSize() / TEAMS;
+        final var recordBytes = recordLayout.totalSize() / TEAMS;
+        LOGGER.info("Bytes pro Team: Team={}, TeamRecord={}", teamBytes, recordBytes);
+
+        // then
+        softly.assertThat(recordBytes).isLessThan(teamBytes * 4 / 5);
+    }
+
+    // location und country als eigene String-Objekte wie nach dem Deserialisieren eines Requests
+    private static Team buildTeam(final int i) {
+        final var location = LOCATIONS.get(i % LOCATIONS.size());
+        final var country = COUNTRIES.get(i % COUNTRIES.size());
+        return TeamBuilder
+            .getBuilder()
+            .setId(UUID.randomUUID())
+            .setName("Team " + i)
+            .setTeamPrincipal("Principal " + i)
+            .setHomebase(HomebaseBuilder
+                .getBuilder()
+                .setLocation(String.copyValueOf(location.toCharArray()))
+                .setCountry(String.copyValueOf(country.toCharArray()))
+                .build())
+            .setDrivers(List.of(
+                DriverBuilder.getBuilder().setName("Fahrer " + (2 * i)).setAge(20 + i % 20).build(),
+                DriverBuilder.getBuilder().setName("Fahrer " + (2 * i + 1)).setAge(30 + i % 10).build()
+            ))
+            .build();
+    }
+}
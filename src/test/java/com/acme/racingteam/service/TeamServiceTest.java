@@ -25,6 +25,7 @@ class TeamServiceTest {
     // Testdaten aus der MockDB
     private static final String ID_VORHANDEN = "00000000-0000-0000-0000-000000000001";
     private static final String NAME_VORHANDEN = "Oracle Red Bull Racing";
+    private static final String NAME_NICHT_VORHANDEN = "Kein Team";
 
     private final TeamService service;
 
@@ -88,4 +89,20 @@ class TeamServiceTest {
                         .as("Gefundener Teamname sollte den Suchbegriff enthalten")
                         .contains(NAME_VORHANDEN));
     }
+
+    // TEST 3: Suche ohne Treffer liefert eine leere Seite statt 404
+    @ParameterizedTest(name = "[{index}] Suche mit nicht vorhandenem Teamnamen: name={0}")
+    @ValueSource(strings = NAME_NICHT_VORHANDEN)
+    @DisplayName("Suche Team mit nicht vorhandenem Namen")
+    void findPageEmpty(final String name) {
+        // given
+        final var params = Map.of("name", name);
+
+        // when
+        final var page = service.find(params, null, 20);
+
+        // then
+        softly.assertThat(page.content()).isEmpty();
+        softly.assertThat(page.next()).isNull();
+    }
 }
@@ -2,12 +2,14 @@ package com.acme.racingteam.service;
 
 import com.acme.racingteam.entity.Team;
 import com.acme.racingteam.repository.*;
+import com.acme.racingteam.repository.TeamRepository.UpsertResult;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.assertj.core.api.SoftAssertions;
 import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
 import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledForJreRange;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.parallel.Execution;
@@ -17,8 +19,10 @@ import org.junit.jupiter.params.aggregator.ArgumentsAccessor;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
+import java.util.Locale;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.junit.jupiter.api.condition.JRE.JAVA_25;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
@@ -35,6 +39,9 @@ class TeamWriteServiceTest {
     private static final String NEUER_PRINCIPAL = "Test Principal";
     private static final String NEUE_LOCATION = "Testort";
     private static final String NEUES_LAND = "Deutschland";
+    private static final String UPSERT_NAME = "Upsert Team";
+    private static final String VERSION_NAME = "Version Team";
+    private static final String BATCH_NAME = "Batch Team";
 
     private final TeamWriteService service;
     private final TeamRepository repo;
@@ -99,4 +106,83 @@ class TeamWriteServiceTest {
         softly.assertThat(teamCreated.getDrivers()).hasSize(1);
         softly.assertThat(teamCreated.getDrivers().get(0).getName()).isEqualTo("Max Test");
     }
+
+    @Test
+    @DisplayName("Upsert mehrerer Teams ueber den Namen")
+    void upsertAll() {
+        // given
+        final var neu = buildTeam(UPSERT_NAME, NEUER_PRINCIPAL);
+        final var geaendert = buildTeam(UPSERT_NAME.toUpperCase(Locale.ROOT), "Neuer Principal");
+
+        // when
+        final var created = service.upsertAll(List.of(neu));
+        final var updated = service.upsertAll(List.of(geaendert));
+
+        // then
+        softly.assertThat(created).containsExactly(UpsertResult.CREATED);
+        softly.assertThat(updated).containsExactly(UpsertResult.UPDATED);
+        softly.assertThat(geaendert.getId()).isEqualTo(neu.getId());
+        softly.assertThat(repo.findById(neu.getId()))
+            .isNotNull()
+            .extracting(Team::getTeamPrincipal)
+            .isEqualTo("Neuer Principal");
+    }
+
+    @Test
+    @DisplayName("Upsert mit demselben Namen mehrfach in einem Batch")
+    void upsertAllSameName() {
+        // given
+        final var erstes = buildTeam(BATCH_NAME, "Erster Principal");
+        final var zweites = buildTeam(BATCH_NAME.toLowerCase(Locale.ROOT), "Zweiter Principal");
+
+        // when
+        final var results = service.upsertAll(List.of(erstes, zweites));
+
+        // then
+        softly.assertThat(results).containsExactly(UpsertResult.CREATED, UpsertResult.UPDATED);
+        softly.assertThat(zweites.getId()).isEqualTo(erstes.getId());
+        softly.assertThat(repo.findById(erstes.getId()))
+            .isNotNull()
+            .extracting(Team::getTeamPrincipal)
+            .isEqualTo("Zweiter Principal");
+    }
+
+    @Test
+    @DisplayName("Aktualisieren mit veralteter Version aus If-Match")
+    void updateVersionOutdated() {
+        // given
+        final var team = buildTeam(VERSION_NAME, NEUER_PRINCIPAL);
+        service.create(team);
+        final var id = team.getId();
+        final var version = repo.findVersionById(id);
+        assertThat(version).isNotNull();
+        service.update(buildTeam(VERSION_NAME, "Erster Principal"), id, version);
+
+        // when
+        final var zweitesUpdate = buildTeam(VERSION_NAME, "Zweiter Principal");
+        final var thrown = catchThrowable(() -> service.update(zweitesUpdate, id, version));
+
+        // then
+        softly.assertThat(thrown).isInstanceOf(VersionOutdatedException.class);
+        softly.assertThat(repo.findVersionById(id)).isEqualTo(version + 1);
+        softly.assertThat(repo.findById(id))
+            .isNotNull()
+            .extracting(Team::getTeamPrincipal)
+            .isEqualTo("Erster Principal");
+    }
+
+    private static Team buildTeam(final String name, final String teamPrincipal) {
+        final var homebase = HomebaseBuilder
+            .getBuilder()
+            .setLocation(NEUE_LOCATION)
+            .setCountry(NEUES_LAND)
+            .build();
+        return TeamBuilder
+            .getBuilder()
+            .setName(name)
+            .setTeamPrincipal(teamPrincipal)
+            .setHomebase(homebase)
+            .setDrivers(List.of())
+            .build();
+    }
 }
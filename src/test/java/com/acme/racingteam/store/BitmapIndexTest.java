@@ -0,0 +1,68 @@
+package com.acme.racingteam.store;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@Tag("unit")
+@Tag("store")
+@DisplayName("Bitmap-Index mit gezaehlten Bitmasken testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class BitmapIndexTest {
+    private static final int ROWS = 1_000;
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @Test
+    @DisplayName("Anzahl und Suche nach Ersetzen und Loeschen")
+    void count() {
+        // given
+        final var index = new BitmapIndex(3);
+        final var ids = IntStream.range(0, ROWS).mapToObj(i -> new UUID(0L, i)).toList();
+        ids.forEach(id -> index.put(id, 0b011));
+
+        // when
+        index.put(ids.get(0), 0b100);
+        index.put(ids.get(1), 0b111);
+        index.remove(ids.get(2));
+
+        // then
+        softly.assertThat(index.count(0)).isEqualTo(ROWS - 1);
+        softly.assertThat(index.count(0b001)).isEqualTo(ROWS - 2);
+        softly.assertThat(index.count(0b100)).isEqualTo(2);
+        softly.assertThat(index.count(0b101)).isEqualTo(1);
+        softly.assertThat(index.search(0b100, null).toList()).containsExactly(ids.get(0), ids.get(1));
+        softly.assertThat(index.search(0b100, ids.get(0)).toList()).containsExactly(ids.get(1));
+        softly.assertThat(index.search(0b011, null).count()).isEqualTo((long) ROWS - 2);
+        softly.assertThat(index.mask(ids.get(1))).isEqualTo(0b111);
+        softly.assertThat(index.mask(ids.get(2))).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Freigegebene Zeile fuer eine neue ID")
+    void reuse() {
+        // given
+        final var index = new BitmapIndex(2);
+        final var removed = new UUID(0L, 1L);
+        final var added = new UUID(0L, 2L);
+        index.put(removed, 0b01);
+        index.remove(removed);
+
+        // when
+        index.put(added, 0b10);
+
+        // then
+        softly.assertThat(index.count(0b01)).isEqualTo(0);
+        softly.assertThat(index.count(0b10)).isEqualTo(1);
+        softly.assertThat(index.search(0b10, null).toList()).containsExactly(added);
+    }
+}
@@ -0,0 +1,151 @@
+package com.acme.racingteam.store;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.acme.racingteam.store.ChangeEvent.Type.CREATED;
+import static com.acme.racingteam.store.ChangeEvent.Type.DELETED;
+import static com.acme.racingteam.store.ChangeEvent.Type.UPDATED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("unit")
+@Tag("store")
+@DisplayName("Ringpuffer und Event-Stream fuer Aenderungen testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class ChangeLogTest {
+
+    private static final Duration SHORT = Duration.ofMillis(50);
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @Test
+    @DisplayName("Aenderungen im VersionedStore mit Art und Version in Reihenfolge")
+    void changesFromStore() {
+        // given
+        final var store = new VersionedStore<String>();
+        final var changeLog = new ChangeLog(16);
+        store.addChangeLog(changeLog);
+        final var start = changeLog.head();
+        final var id = UUID.randomUUID();
+
+        // when
+        store.put(id, "a");
+        store.put(id, "b");
+        store.remove(id);
+        store.remove(id);
+
+        // then
+        final var events = changeLog.read(start, 10);
+        assertThat(events).hasSize(3);
+        softly.assertThat(events).extracting(ChangeEvent::type).containsExactly(CREATED, UPDATED, DELETED);
+        softly.assertThat(events).extracting(ChangeEvent::version).containsExactly(0L, 1L, 1L);
+        softly.assertThat(events).extracting(ChangeEvent::id).containsOnly(id);
+        softly.assertThat(events).extracting(ChangeEvent::sequence).containsExactly(start + 1, start + 2, start + 3);
+    }
+
+    @Test
+    @DisplayName("Ueberschriebene Aenderungen sind nicht mehr verfuegbar")
+    void overrun() {
+        // given
+        final var changeLog = new ChangeLog(3);
+        final var start = changeLog.head();
+
+        // when
+        for (var i = 0; i < 10; i++) {
+            changeLog.append(CREATED, UUID.randomUUID(), 0L);
+        }
+
+        // then
+        softly.assertThat(changeLog.capacity()).isEqualTo(4);
+        softly.assertThat(changeLog.isAvailable(start)).isFalse();
+        softly.assertThat(changeLog.isAvailable(changeLog.head() - 4)).isTrue();
+        softly.assertThat(changeLog.read(changeLog.head() - 4, 10)).hasSize(4);
+        softly.assertThat(changeLog.isAvailable(changeLog.head() + 1)).isFalse();
+        softly.assertThat(changeLog.isAvailable(0L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Wartende Leser werden beim Anhaengen geweckt")
+    void await() throws InterruptedException {
+        // given
+        final var changeLog = new ChangeLog(16);
+        final var start = changeLog.head();
+        final var timedOut = changeLog.await(start, SHORT);
+
+        // when
+        final var writer = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(SHORT);
+            } catch (final InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+            changeLog.append(UPDATED, UUID.randomUUID(), 1L);
+        });
+        final var woken = changeLog.await(start, Duration.ofSeconds(10));
+        writer.join();
+
+        // then
+        softly.assertThat(timedOut).isFalse();
+        softly.assertThat(woken).isTrue();
+        softly.assertThat(changeLog.read(start, 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Event-Stream ab Last-Event-ID mit Heartbeat")
+    void feed() {
+        // given
+        final var changeLog = new ChangeLog(16);
+        final var id = UUID.randomUUID();
+        changeLog.append(CREATED, UUID.randomUUID(), 0L);
+        final var lastEventId = changeLog.head();
+        changeLog.append(UPDATED, id, 2L);
+        final var out = new ByteArrayOutputStream();
+
+        // when
+        ChangeFeed.write(changeLog, lastEventId, out, Duration.ofMillis(10), SHORT);
+
+        // then
+        final var body = out.toString(StandardCharsets.UTF_8);
+        softly.assertThat(body).startsWith("retry: ");
+        softly.assertThat(body).containsOnlyOnce("id: ");
+        softly.assertThat(body).contains(
+            "id: " + changeLog.head() + "\nevent: updated\ndata: {\"id\":\"" + id + "\",\"version\":2}\n\n"
+        );
+        softly.assertThat(body).contains(":\n\n");
+        softly.assertThat(body).doesNotContain("reset");
+    }
+
+    @Test
+    @DisplayName("Event-Stream mit Reset bei ueberschriebener Last-Event-ID")
+    void feedReset() {
+        // given
+        final var changeLog = new ChangeLog(2);
+        final var lastEventId = changeLog.head();
+        for (var i = 0; i < 5; i++) {
+            changeLog.append(CREATED, UUID.randomUUID(), 0L);
+        }
+        final var out = new ByteArrayOutputStream();
+
+        // when
+        ChangeFeed.write(changeLog, lastEventId, out, SHORT, Duration.ofSeconds(10));
+
+        // then
+        final var body = out.toString(StandardCharsets.UTF_8);
+        softly.assertThat(body).contains("event: reset\ndata: {\"head\":" + changeLog.head() + "}");
+        softly.assertThat(body).doesNotContain("id: ");
+        softly.assertThat(ChangeFeed.decode(" 42 ")).isEqualTo(42L);
+        softly.assertThat(ChangeFeed.decode("abc")).isNull();
+    }
+}
@@ -0,0 +1,65 @@
+package com.acme.racingteam.store;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@Tag("unit")
+@Tag("store")
+@DisplayName("ETags fuer unkomprimierte und komprimierte Darstellung testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class ETagsTest {
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @Test
+    @DisplayName("Eigenes starkes ETag fuer die gzip-Darstellung")
+    void of() {
+        // when
+        final var identity = ETags.of(3L);
+        final var gzip = ETags.of(3L, true);
+
+        // then
+        softly.assertThat(identity).isEqualTo("\"3\"");
+        softly.assertThat(gzip).isEqualTo("\"3-gzip\"");
+        softly.assertThat(gzip).isNotEqualTo(identity);
+    }
+
+    @Test
+    @DisplayName("If-None-Match passt mit beiden Darstellungen zur Version")
+    void match() {
+        // when
+        final var identity = ETags.match("\"3\"", 3L);
+        final var gzip = ETags.match("W/\"3-gzip\"", 3L);
+        final var list = ETags.match("\"2\", \"3-gzip\"", 3L);
+        final var wildcard = ETags.match("*", 3L);
+        final var outdated = ETags.match("\"2-gzip\"", 3L);
+
+        // then
+        softly.assertThat(identity).isEqualTo("\"3\"");
+        softly.assertThat(gzip).isEqualTo("\"3-gzip\"");
+        softly.assertThat(list).isEqualTo("\"3-gzip\"");
+        softly.assertThat(wildcard).isEqualTo("\"3\"");
+        softly.assertThat(outdated).isNull();
+        softly.assertThat(ETags.match(null, 3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Version aus If-Match mit beiden Darstellungen")
+    void version() {
+        // when / then
+        softly.assertThat(ETags.version("\"3\"")).isEqualTo(3L);
+        softly.assertThat(ETags.version("\"3-gzip\"")).isEqualTo(3L);
+        softly.assertThat(ETags.version("*")).isEqualTo(Versioned.ANY);
+        softly.assertThat(ETags.version(null)).isEqualTo(Versioned.ANY);
+        softly.assertThat(ETags.version("W/\"3\"")).isEqualTo(Versioned.NONE);
+        softly.assertThat(ETags.version("\"-gzip\"")).isEqualTo(Versioned.NONE);
+        softly.assertThat(ETags.version("\"abc\"")).isEqualTo(Versioned.NONE);
+    }
+}
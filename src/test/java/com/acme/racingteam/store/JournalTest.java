@@ -0,0 +1,295 @@
+package com.acme.racingteam.store;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Wiederherstellung aus Snapshot und WAL: entscheidet, ob Daten einen Absturz ueberstehen
+@Tag("unit")
+@Tag("store")
+@DisplayName("Journal mit Snapshot und Write-Ahead-Log testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class JournalTest {
+
+    private static final String NAME = "test";
+    private static final String FAIL = "fail";
+    // keine Hintergrundaktionen waehrend eines Tests
+    private static final Duration NEVER = Duration.ofHours(1);
+    private static final int WRITERS = 4;
+    private static final int SNAPSHOTS = 5;
+    private static final int RECORDS = 100;
+    // kleiner als ein Datensatz mit Header, d.h. jeder Abschnitt wird fuer einen Datensatz vergroessert
+    private static final int CHUNK = 16;
+
+    private static final Codec<String> CODEC = new Codec<>() {
+        @Override
+        public void encode(final String value, final ByteBuffer buffer) {
+            if (FAIL.equals(value)) {
+                throw new IllegalStateException("Nicht kodierbar: " + value);
+            }
+            Codec.putString(buffer, value);
+        }
+
+        @Override
+        public String decode(final UUID id, final ByteBuffer buffer) {
+            return requireNonNull(Codec.getString(buffer));
+        }
+    };
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @TempDir
+    @SuppressWarnings("NullAway.Init")
+    private Path directory;
+
+    @Test
+    @DisplayName("Snapshot und danach geschriebene WAL-Segmente werden wiederhergestellt")
+    void snapshotAndWal() throws IOException {
+        // given
+        final var store = new VersionedStore<String>();
+        final var a = new UUID(0, 1);
+        final var b = new UUID(0, 2);
+        final var c = new UUID(0, 3);
+        store.put(a, "a0");
+        store.put(b, "b0");
+        try (var journal = start(store)) {
+            store.put(c, "c0");
+            journal.snapshot();
+            store.put(a, "a1");
+            store.remove(b);
+        }
+
+        // when
+        final var recovered = new VersionedStore<String>();
+        final var count = recover(recovered);
+
+        // then
+        softly.assertThat(contents(recovered))
+            .isEqualTo(Map.of(a, new Versioned<>("a1", 1L), c, new Versioned<>("c0", 0L)));
+        softly.assertThat(count).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Versionen fuer ETag werden nach einem Neustart fortgesetzt")
+    void versionAfterRestart() throws IOException {
+        // given
+        final var store = new VersionedStore<String>();
+        final var id = new UUID(0, 1);
+        try (var journal = start(store)) {
+            store.put(id, "x0");
+            journal.snapshot();
+            store.put(id, "x1");
+            store.put(id, "x2");
+        }
+        final var recovered = new VersionedStore<String>();
+        recover(recovered);
+
+        // when
+        final var updated = recovered.put(id, "x3");
+
+        // then
+        softly.assertThat(updated.version()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Unvollstaendiger Datensatz am Ende des WAL wird abgeschnitten")
+    void tornTail() throws IOException {
+        // given
+        final var store = new VersionedStore<String>();
+        final var id = new UUID(0, 1);
+        try (var ignored = start(store)) {
+            store.put(id, "x");
+        }
+        final var wal = lastWal();
+        final var size = Files.size(wal);
+        // Laenge und CRC eines Datensatzes mit 100 Bytes, von dem nur 3 Bytes geschrieben wurden
+        try (var channel = FileChannel.open(wal, APPEND)) {
+            channel.write(ByteBuffer.allocate(11).putInt(100).putInt(0).put(new byte[3]).flip());
+        }
+
+        // when
+        final var recovered = new VersionedStore<String>();
+        recover(recovered);
+
+        // then
+        softly.assertThat(contents(recovered)).isEqualTo(Map.of(id, new Versioned<>("x", 0L)));
+        softly.assertThat(Files.size(wal)).isEqualTo(size);
+    }
+
+    @Test
+    @DisplayName("Datensatz mit falscher CRC beendet das Einlesen des WAL")
+    void corruptTail() throws IOException {
+        // given
+        final var store = new VersionedStore<String>();
+        final var first = new UUID(0, 1);
+        final var second = new UUID(0, 2);
+        try (var ignored = start(store)) {
+            store.put(first, "x");
+            store.put(second, "y");
+        }
+        final var wal = lastWal();
+        try (var channel = FileChannel.open(wal, READ, WRITE)) {
+            // letztes Byte des zweiten Datensatzes, d.h. ein Zeichen von "y"
+            final var position = channel.size() - 1;
+            final var buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) (buffer.get(0) ^ 0xFF)}), position);
+        }
+
+        // when
+        final var recovered = new VersionedStore<String>();
+        recover(recovered);
+
+        // then
+        softly.assertThat(contents(recovered)).isEqualTo(Map.of(first, new Versioned<>("x", 0L)));
+    }
+
+    @Test
+    @DisplayName("Snapshots mit Wechsel des WAL-Segments waehrend paralleler Aenderungen")
+    void snapshotDuringWrites() throws IOException, InterruptedException {
+        // given
+        final var store = new VersionedStore<String>();
+        final var running = new AtomicBoolean(true);
+        final List<Thread> writers = new ArrayList<>(WRITERS);
+
+        // when
+        try (var journal = start(store)) {
+            for (var w = 0; w < WRITERS; w++) {
+                final var writer = w;
+                writers.add(Thread.ofPlatform().start(() -> {
+                    for (var i = 0; running.get(); i++) {
+                        final var id = new UUID(writer, i % 100);
+                        if (i % 7 == 0) {
+                            store.remove(id);
+                        } else {
+                            store.put(id, writer + "-" + i);
+                        }
+                    }
+                }));
+            }
+            for (var i = 0; i < SNAPSHOTS; i++) {
+                journal.snapshot();
+            }
+            running.set(false);
+            for (final var writer : writers) {
+                writer.join();
+            }
+        }
+        final var recovered = new VersionedStore<String>();
+        recover(recovered);
+
+        // then
+        softly.assertThat(contents(recovered)).isEqualTo(contents(store));
+        try (var files = Files.list(directory)) {
+            softly.assertThat(files.filter(path -> path.toString().endsWith(".snapshot"))).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot und WAL in kleinen Abschnitten einblenden, Datensaetze ueber Abschnittsgrenzen hinweg")
+    void smallChunks() throws IOException {
+        // given
+        final var store = new VersionedStore<String>();
+        try (var journal = start(store)) {
+            for (var i = 0; i < RECORDS; i++) {
+                store.put(new UUID(0, i), "s" + i);
+            }
+            journal.snapshot();
+            for (var i = 0; i < RECORDS; i++) {
+                store.put(new UUID(1, i), "w" + i);
+            }
+        }
+        final var recovered = new VersionedStore<String>();
+
+        // when
+        final var count = new Journal<>(recovered, CODEC, directory, NAME, CHUNK).recover(
+            (final UUID id, final @Nullable Versioned<String> entry) -> recovered.restore(id, requireNonNull(entry))
+        );
+
+        // then
+        softly.assertThat(count).isEqualTo(2L * RECORDS);
+        softly.assertThat(contents(recovered)).isEqualTo(contents(store));
+    }
+
+    @Test
+    @DisplayName("Fehler beim Schreiben des WAL: Aenderung bleibt, weitere Aenderungen werden abgelehnt")
+    void walFailure() throws IOException {
+        // given
+        final var store = new VersionedStore<String>();
+        final var id = new UUID(0, 1);
+        final var seen = new AtomicBoolean();
+
+        try (var journal = start(store)) {
+            // nach dem Journal registriert, z.B. ein Index
+            store.addListener((_, _, current) -> seen.set(FAIL.equals(current)));
+
+            // when
+            store.put(id, FAIL);
+
+            // then
+            softly.assertThat(store.get(id)).isEqualTo(FAIL);
+            softly.assertThat(seen).isTrue();
+            softly.assertThat(journal.isFailed()).isTrue();
+            assertThatThrownBy(() -> store.put(id, "x")).isInstanceOf(StoreUnavailableException.class);
+            assertThatThrownBy(() -> store.remove(id)).isInstanceOf(StoreUnavailableException.class);
+        }
+    }
+
+    private Journal<String> start(final VersionedStore<String> store) throws IOException {
+        final var journal = new Journal<>(store, CODEC, directory, NAME);
+        journal.start(NEVER, NEVER);
+        return journal;
+    }
+
+    private long recover(final VersionedStore<String> store) throws IOException {
+        final var journal = new Journal<>(store, CODEC, directory, NAME);
+        assertThat(journal.exists()).isTrue();
+        return journal.recover((final UUID id, final @Nullable Versioned<String> entry) -> {
+            if (entry == null) {
+                store.remove(id);
+            } else {
+                store.restore(id, entry);
+            }
+        });
+    }
+
+    private Path lastWal() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).sorted().toList().getLast();
+        }
+    }
+
+    private static Map<UUID, Versioned<String>> contents(final VersionedStore<String> store) {
+        final Map<UUID, Versioned<String>> result = new TreeMap<>();
+        store.forEachVersioned(result::put);
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package com.acme.racingteam.store;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("unit")
+@Tag("store")
+@DisplayName("Cache fuer serialisiertes JSON testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class JsonCacheTest {
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @Test
+    @DisplayName("Eintrag nur zur passenden Version")
+    void getVersion() {
+        // given
+        final var cache = new JsonCache("test", 10, JsonCache.NO_GZIP);
+        final var id = UUID.randomUUID();
+        final var json = "{\"name\":\"Alpha\"}".getBytes(UTF_8);
+        cache.put(id, 1L, json);
+
+        // when
+        final var hit = cache.get(id, 1L);
+        final var outdated = cache.get(id, 2L);
+        cache.invalidate(id);
+        final var invalidated = cache.get(id, 1L);
+
+        // then
+        assertThat(hit).isNotNull();
+        softly.assertThat(hit.body(true)).isEqualTo(json);
+        softly.assertThat(hit.isGzip(true)).isFalse();
+        softly.assertThat(outdated).isNull();
+        softly.assertThat(invalidated).isNull();
+    }
+
+    @Test
+    @DisplayName("gzip-Fassung ab der Mindestgroesse")
+    void gzip() throws IOException {
+        // given
+        final var cache = new JsonCache("test", 10, 64);
+        final var id = UUID.randomUUID();
+        final var json = ("{\"name\":\"" + "x".repeat(200) + "\"}").getBytes(UTF_8);
+
+        // when
+        final var entry = cache.put(id, 1L, json);
+
+        // then
+        softly.assertThat(entry.isGzip(true)).isTrue();
+        softly.assertThat(entry.body(false)).isEqualTo(json);
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(entry.body(true)))) {
+            softly.assertThat(in.readAllBytes()).isEqualTo(json);
+        }
+    }
+
+    @Test
+    @DisplayName("Verdraengung: referenzierte Eintraege bleiben erhalten")
+    void evict() {
+        // given
+        final var max = 100;
+        final var cache = new JsonCache("test", max, JsonCache.NO_GZIP);
+        final var hot = UUID.randomUUID();
+        final var json = "{}".getBytes(UTF_8);
+        cache.put(hot, 1L, json);
+
+        // when
+        IntStream.range(0, 10 * max).forEach(_ -> {
+            cache.get(hot, 1L);
+            cache.put(UUID.randomUUID(), 1L, json);
+        });
+
+        // then
+        softly.assertThat(cache.get(hot, 1L)).isNotNull();
+        softly.assertThat(cache.size()).isLessThanOrEqualTo(max);
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding auswerten")
+    void acceptsGzip() {
+        softly.assertThat(JsonCache.acceptsGzip(null)).isFalse();
+        softly.assertThat(JsonCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        softly.assertThat(JsonCache.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        softly.assertThat(JsonCache.acceptsGzip("gzip;q=0")).isFalse();
+        softly.assertThat(JsonCache.acceptsGzip("identity")).isFalse();
+    }
+}
@@ -0,0 +1,112 @@
+package com.acme.racingteam.store;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+@Tag("store")
+@DisplayName("Metriken fuer Repositorys und Services testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class MethodMetricsTest {
+
+    private static final Set<String> KNOWN = Set.of("nachname", "plz", "email");
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @Test
+    @DisplayName("Form der Suche aus den sortierten Suchparametern")
+    void shape() {
+        // when
+        final var findAll = MethodMetrics.shape(Map.of(), KNOWN);
+        final var single = MethodMetrics.shape(Map.of("nachname", "a"), KNOWN);
+        final var sorted = MethodMetrics.shape(Map.of("plz", "7", "nachname", "a"), KNOWN);
+        final var invalid = MethodMetrics.shape(Map.of("nachname", "a", "unbekannt", "x"), KNOWN);
+
+        // then
+        softly.assertThat(findAll).isEqualTo(MethodMetrics.FIND_ALL);
+        softly.assertThat(single).isEqualTo("nachname");
+        softly.assertThat(sorted).isEqualTo("nachname+plz");
+        softly.assertThat(invalid).isEqualTo(MethodMetrics.INVALID);
+    }
+
+    @Test
+    @DisplayName("Timer pro Methode und Form, Ergebnisgroesse als Verteilung")
+    void timed() {
+        // given
+        final var registry = new SimpleMeterRegistry();
+        final var metrics = new MethodMetrics(registry, "repository", MethodMetricsTest.class);
+
+        // when
+        metrics.timed("find", "nachname", () -> List.of(1, 2, 3), List::size);
+        metrics.timed("find", "nachname", () -> List.of(1), List::size);
+        metrics.timed("findById", MethodMetrics.ID, () -> "x");
+
+        // then
+        final var find = registry.get("repository.invocations")
+            .tags("class", "MethodMetricsTest", "method", "find", "shape", "nachname", "exception", "none")
+            .timer();
+        final var results = registry.get("repository.results")
+            .tags("method", "find", "shape", "nachname")
+            .summary();
+        final var findById = registry.get("repository.invocations")
+            .tags("method", "findById", "shape", MethodMetrics.ID)
+            .timer();
+        softly.assertThat(find.count()).isEqualTo(2L);
+        softly.assertThat(results.count()).isEqualTo(2L);
+        softly.assertThat(results.totalAmount()).isEqualTo(4.0);
+        softly.assertThat(findById.count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Exception als Tag und unveraendert weitergeworfen")
+    void exception() {
+        // given
+        final var registry = new SimpleMeterRegistry();
+        final var metrics = new MethodMetrics(registry, "service", MethodMetricsTest.class);
+
+        // when
+        assertThatThrownBy(() -> metrics.timed("findById", MethodMetrics.ID, () -> {
+            throw new IllegalStateException("nicht gefunden");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // then
+        final var timer = registry.find("service.invocations")
+            .tags("method", "findById", "exception", "IllegalStateException")
+            .timer();
+        assertThat(timer).isNotNull();
+        softly.assertThat(timer.count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Anzahl der Eintraege als Gauge")
+    void gauge() {
+        // given
+        final var registry = new SimpleMeterRegistry();
+        final var metrics = new MethodMetrics(registry, "repository", MethodMetricsTest.class);
+        final var store = new VersionedStore<String>();
+        metrics.gauge("test", store);
+
+        // when
+        store.put(new UUID(0, 1), "a");
+        store.put(new UUID(0, 2), "b");
+
+        // then
+        assertThat(registry.get("store.size").tag("store", "test").gauge().value()).isEqualTo(2.0);
+    }
+}
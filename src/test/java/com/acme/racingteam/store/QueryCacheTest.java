@@ -0,0 +1,189 @@
+package com.acme.racingteam.store;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@Tag("unit")
+@Tag("store")
+@DisplayName("Cache fuer Suchergebnisse testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class QueryCacheTest {
+
+    private static final int SIZE = 2;
+    private static final Map<String, List<String>> QUERY = Map.of("name", List.of("a"));
+    private static final Predicate<Item> FILTER = item -> item.name().contains("a");
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @SuppressWarnings("NullAway.Init")
+    private VersionedStore<Item> store;
+
+    @SuppressWarnings("NullAway.Init")
+    private QueryCache<Item, Item> cache;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        store = new VersionedStore<>();
+        cache = new QueryCache<>("test", 1_000, Duration.ofMinutes(1));
+        store.addListener(cache);
+        put(1, "alpha");
+        put(2, "beta");
+        put(3, "gamma");
+    }
+
+    @Test
+    @DisplayName("Gleiche Suche mit anderer Reihenfolge der Parameter aus dem Cache")
+    void hit() {
+        // given
+        final Map<String, List<String>> query = Map.of("name", List.of("a"), "x", List.of("2", "1"));
+        final Map<String, List<String>> reordered = Map.of("x", List.of("1", "2"), "name", List.of("a"));
+
+        // when
+        final var page = get(query);
+        final var cached = get(reordered);
+
+        // then
+        softly.assertThat(cached).isSameAs(page);
+        softly.assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Aenderung ohne Treffer invalidiert nicht")
+    void unrelatedWrite() {
+        // given
+        get(QUERY);
+
+        // when
+        put(4, "xyz");
+        get(QUERY);
+
+        // then
+        softly.assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Neuer Treffer hinter einer vollen Seite invalidiert nicht")
+    void writeBehindFullPage() {
+        // given
+        final var page = get(QUERY);
+
+        // when
+        put(9, "delta");
+        final var cached = get(QUERY);
+
+        // then
+        softly.assertThat(page.next()).isNotNull();
+        softly.assertThat(cached).isSameAs(page);
+        softly.assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Aenderung eines Treffers auf der Seite invalidiert")
+    void writeOnPage() {
+        // given
+        get(QUERY);
+
+        // when
+        put(2, "bet");
+        final var page = get(QUERY);
+
+        // then
+        softly.assertThat(loads).hasValue(2);
+        softly.assertThat(page.content()).extracting(Item::name).containsExactly("alpha", "gamma");
+        softly.assertThat(page.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Aenderung prueft das Suchkriterium einmal pro Suche, nicht pro Seite")
+    void filterPerQuery() {
+        // given
+        final var tests = new AtomicInteger();
+        final Predicate<Item> counting = item -> {
+            tests.incrementAndGet();
+            return item.name().startsWith("g");
+        };
+        final Map<String, List<String>> query = Map.of("name", List.of("g"));
+        for (var size = 1; size <= 10; size++) {
+            final Supplier<Page<Item>> loader = () -> Page.of(store.stream().filter(counting), Item::id, SIZE);
+            cache.get(query, null, size, () -> counting, loader);
+        }
+        get(QUERY);
+        tests.set(0);
+
+        // when
+        put(2, "bet");
+        get(QUERY);
+
+        // then
+        softly.assertThat(tests).hasValue(2);
+        softly.assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Suchkriterium nur bei einem Fehlschlag fuer eine neue Suche ermitteln")
+    void filterOnMiss() {
+        // given
+        final var plans = new AtomicInteger();
+        final Supplier<Predicate<Item>> planner = () -> {
+            plans.incrementAndGet();
+            return FILTER;
+        };
+        final Supplier<Page<Item>> loader = () -> Page.of(store.stream().filter(FILTER), Item::id, SIZE);
+
+        // when
+        cache.get(QUERY, null, SIZE, planner, loader);
+        cache.get(QUERY, null, SIZE, planner, loader);
+        cache.get(QUERY, null, SIZE + 1, planner, loader);
+
+        // then
+        softly.assertThat(plans).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Ohne Suchkriterium wird die Seite nicht gespeichert")
+    void noFilter() {
+        // when
+        for (var i = 0; i < 2; i++) {
+            cache.get(QUERY, null, SIZE, () -> null, () -> {
+                loads.incrementAndGet();
+                return Page.of(store.stream(), Item::id, SIZE);
+            });
+        }
+
+        // then
+        softly.assertThat(loads).hasValue(2);
+    }
+
+    private Page<Item> get(final Map<String, List<String>> query) {
+        return cache.get(query, null, SIZE, () -> FILTER, () -> {
+            loads.incrementAndGet();
+            return Page.of(store.stream().filter(FILTER), Item::id, SIZE);
+        });
+    }
+
+    private void put(final int n, final String name) {
+        final var id = new UUID(0, n);
+        store.put(id, new Item(id, name));
+    }
+
+    private record Item(UUID id, String name) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.acme.racingteam.store;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.time.Duration;
+
+@Tag("unit")
+@Tag("store")
+@DisplayName("Woerterbuch mit gezaehlten Referenzen testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class StringDictionaryTest {
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    @Test
+    @DisplayName("Gleicher String, gleicher Code")
+    void encode() {
+        // given
+        final var dictionary = new StringDictionary(Duration.ZERO);
+
+        // when
+        final var first = dictionary.encode("Milton Keynes");
+        final var second = dictionary.encode("Milton Keynes");
+        final var other = dictionary.encode("Maranello");
+
+        // then
+        softly.assertThat(second).isEqualTo(first);
+        softly.assertThat(other).isNotEqualTo(first);
+        softly.assertThat(dictionary.decode(first)).isEqualTo("Milton Keynes");
+        softly.assertThat(dictionary.encode(null)).isEqualTo(StringDictionary.NULL);
+        softly.assertThat(dictionary.decode(StringDictionary.NULL)).isNull();
+    }
+
+    @Test
+    @DisplayName("Code ohne Referenzen wird wiederverwendet")
+    void reuse() {
+        // given
+        final var dictionary = new StringDictionary(Duration.ZERO);
+        final var code = dictionary.encode("Milton Keynes");
+        dictionary.release(code);
+
+        // when
+        final var reused = dictionary.encode("Maranello");
+
+        // then
+        softly.assertThat(reused).isEqualTo(code);
+        softly.assertThat(dictionary.decode(reused)).isEqualTo("Maranello");
+        softly.assertThat(dictionary.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Code mit Referenzen wird nicht wiederverwendet")
+    void retained() {
+        // given
+        final var dictionary = new StringDictionary(Duration.ZERO);
+        final var code = dictionary.encode("Milton Keynes");
+        dictionary.encode("Milton Keynes");
+        dictionary.release(code);
+
+        // when
+        final var other = dictionary.encode("Maranello");
+
+        // then
+        softly.assertThat(other).isNotEqualTo(code);
+        softly.assertThat(dictionary.decode(code)).isEqualTo("Milton Keynes");
+    }
+
+    @Test
+    @DisplayName("Erneut kodierter String behaelt seinen Code")
+    void reencode() {
+        // given
+        final var dictionary = new StringDictionary(Duration.ZERO);
+        final var code = dictionary.encode("Milton Keynes");
+        dictionary.release(code);
+
+        // when
+        final var again = dictionary.encode("Milton Keynes");
+        final var other = dictionary.encode("Maranello");
+
+        // then
+        softly.assertThat(again).isEqualTo(code);
+        softly.assertThat(other).isNotEqualTo(code);
+        softly.assertThat(dictionary.decode(code)).isEqualTo("Milton Keynes");
+    }
+
+    @Test
+    @DisplayName("Innerhalb der Karenzzeit kein Wiederverwenden")
+    void grace() {
+        // given
+        final var dictionary = new StringDictionary(Duration.ofHours(1));
+        final var code = dictionary.encode("Milton Keynes");
+        dictionary.release(code);
+
+        // when
+        final var other = dictionary.encode("Maranello");
+
+        // then
+        softly.assertThat(other).isNotEqualTo(code);
+        softly.assertThat(dictionary.decode(code)).isEqualTo("Milton Keynes");
+    }
+}
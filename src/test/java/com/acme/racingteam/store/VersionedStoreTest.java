@@ -0,0 +1,153 @@
+package com.acme.racingteam.store;
+
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.api.junit.jupiter.InjectSoftAssertions;
+import org.assertj.core.api.junit.jupiter.SoftAssertionsExtension;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Stresstests mit Virtual Threads: jede Operation muss so wirken, als waere sie zu einem Zeitpunkt
+// zwischen Aufruf und Rueckkehr atomar ausgefuehrt worden (Linearisierbarkeit pro ID)
+@Tag("unit")
+@Tag("store")
+@DisplayName("VersionedStore unter nebenlaeufiger Last testen")
+@ExtendWith(SoftAssertionsExtension.class)
+class VersionedStoreTest {
+
+    private static final int THREADS = 1_000;
+    private static final int WRITES_PER_THREAD = 100;
+    private static final int READERS = 4;
+
+    @InjectSoftAssertions
+    @SuppressWarnings("NullAway.Init")
+    private SoftAssertions softly;
+
+    // TEST 1: Read-Modify-Write unter dem Lock einer ID darf keine Aktualisierung verlieren
+    @Test
+    @DisplayName("Keine verlorenen Aktualisierungen bei Read-Modify-Write")
+    void noLostUpdates() throws InterruptedException {
+        // given
+        final var store = new VersionedStore<Integer>();
+        final var id = UUID.randomUUID();
+        store.put(id, 0);
+
+        // when
+        runConcurrently(THREADS, _ -> {
+            for (var i = 0; i < WRITES_PER_THREAD; i++) {
+                store.withLock(id, () -> store.put(id, requireNonNull(store.get(id)) + 1));
+            }
+        });
+
+        // then
+        final var entry = store.getVersioned(id);
+        assertThat(entry).isNotNull();
+        softly.assertThat(entry.value()).isEqualTo(THREADS * WRITES_PER_THREAD);
+        softly.assertThat(entry.version()).isEqualTo((long) THREADS * WRITES_PER_THREAD);
+    }
+
+    // TEST 2: Leser sehen Wert und Version immer als zusammengehoeriges Paar und nie eine aeltere Version
+    @Test
+    @DisplayName("Lesen ist atomar und monoton")
+    void readsAreAtomicAndMonotonic() throws InterruptedException {
+        // given
+        final var store = new VersionedStore<Long>();
+        final var id = UUID.randomUUID();
+        store.put(id, 0L);
+        final var running = new AtomicBoolean(true);
+        final var violations = new AtomicInteger();
+
+        // when: Leser als Plattform-Threads, weil Virtual Threads beim aktiven Warten nicht verdraengt werden
+        final var readers = IntStream.range(0, READERS)
+            .mapToObj(_ -> Thread.ofPlatform().start(() -> {
+                var lastVersion = -1L;
+                while (running.get()) {
+                    final var entry = store.getVersioned(id);
+                    if (entry == null || entry.value() != entry.version() || entry.version() < lastVersion) {
+                        violations.incrementAndGet();
+                        return;
+                    }
+                    lastVersion = entry.version();
+                }
+            }))
+            .toList();
+        runConcurrently(THREADS, _ -> {
+            for (var i = 0; i < WRITES_PER_THREAD; i++) {
+                store.withLock(id, () -> store.put(id, requireNonNull(store.get(id)) + 1));
+            }
+        });
+        running.set(false);
+        for (final var reader : readers) {
+            reader.join();
+        }
+
+        // then
+        assertThat(violations).hasValue(0);
+    }
+
+    // TEST 3: Paralleles Anlegen und Loeschen verschiedener IDs; Listener und Datenhaltung bleiben konsistent
+    @Test
+    @DisplayName("Listener sehen jede Aenderung genau einmal")
+    void listenersStayConsistent() throws InterruptedException {
+        // given
+        final var store = new VersionedStore<String>();
+        final Map<UUID, String> mirror = new ConcurrentHashMap<>();
+        store.addListener((id, _, current) -> {
+            if (current == null) {
+                mirror.remove(id);
+            } else {
+                mirror.put(id, current);
+            }
+        });
+        final Map<UUID, Boolean> kept = new ConcurrentHashMap<>();
+
+        // when
+        runConcurrently(THREADS, thread -> {
+            for (var i = 0; i < WRITES_PER_THREAD; i++) {
+                final var id = UUID.randomUUID();
+                store.put(id, thread + "-" + i);
+                if (i % 2 == 0) {
+                    store.remove(id);
+                } else {
+                    kept.put(id, true);
+                }
+            }
+        });
+
+        // then
+        softly.assertThat(store.size()).isEqualTo(THREADS * WRITES_PER_THREAD / 2);
+        softly.assertThat(mirror).hasSize(store.size());
+        softly.assertThat(mirror.keySet()).isEqualTo(kept.keySet());
+        softly.assertThat(store.values()).hasSize(store.size());
+    }
+
+    private static void runConcurrently(final int threads, final IntConsumerTask task) throws InterruptedException {
+        final var start = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, threads).forEach(thread -> executor.submit(() -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+            start.countDown();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntConsumerTask {
+        void run(int thread);
+    }
+}